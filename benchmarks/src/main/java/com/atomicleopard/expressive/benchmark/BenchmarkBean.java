@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+/**
+ * A javabean used as the element type for the benchmarks. It has eight readable properties so that predicates, comparators and transformers can be measured against beans of increasing
+ * 'width', i.e. the number of properties which must be read per element.
+ */
+public class BenchmarkBean {
+	public enum Status {
+		Pending, Active, Suspended, Closed
+	}
+
+	private String category;
+	private boolean active;
+	private Integer rank;
+	private String code;
+	private long count;
+	private double score;
+	private int id;
+	private String name;
+	private Status status;
+
+	public BenchmarkBean(int id, String category, boolean active, Integer rank, String code, long count, double score, String name, Status status) {
+		super();
+		this.id = id;
+		this.category = category;
+		this.active = active;
+		this.rank = rank;
+		this.code = code;
+		this.count = count;
+		this.score = score;
+		this.name = name;
+		this.status = status;
+	}
+
+	public String getCategory() {
+		return category;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public Integer getRank() {
+		return rank;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Entry point for the benchmarks jar. Accepts the regular JMH command line options, and in addition always attaches the {@link GCProfiler} so that allocation rate (gc.alloc.rate.norm, bytes per
+ * operation) is reported alongside throughput, and writes the results as JSON to {@value #ResultFile} so that runs can be compared between releases.
+ * </p>
+ * <p>
+ * For example, to run only the {@link EListBenchmark} suite for lists of 100000 elements:
+ * 
+ * <pre>
+ * java -jar target/benchmarks.jar EListBenchmark -p size=100000
+ * </pre>
+ * 
+ * </p>
+ */
+public class BenchmarkRunner {
+	static final String ResultFile = "jmh-result.json";
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		Options options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).resultFormat(ResultFormatType.JSON).result(ResultFile).build();
+		new Runner(options).run();
+	}
+}
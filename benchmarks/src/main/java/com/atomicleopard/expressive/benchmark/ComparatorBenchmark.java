@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.Expressive;
+
+/**
+ * Benchmarks sorting with the comparators created by {@link Expressive.Comparators}, other than {@link Expressive.Comparators#compare(Class)} which is covered by
+ * {@link ComparatorBuilderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ComparatorBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	private String[] names;
+	private Comparator<String> natural;
+	private Comparator<String> nullSafe;
+	private Comparator<String> caseInsensitive;
+	private Comparator<String> all;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() {
+		names = new String[size];
+		int i = 0;
+		for (BenchmarkBean bean : Fixtures.beans(size, 0.5)) {
+			names[i++] = i % 100 == 0 ? null : bean.getCode() + bean.getName();
+		}
+		natural = Expressive.Comparators.as(String.class);
+		nullSafe = Expressive.Comparators.nullSafe(natural);
+		caseInsensitive = Expressive.Comparators.nullSafe(Expressive.Comparators.caseInsensitive());
+		all = Expressive.Comparators.all(Expressive.Comparators.nullSafe(Expressive.Comparators.caseInsensitive()), nullSafe);
+	}
+
+	@Benchmark
+	public String[] nullSafe() {
+		return sort(nullSafe);
+	}
+
+	@Benchmark
+	public String[] caseInsensitive() {
+		return sort(caseInsensitive);
+	}
+
+	@Benchmark
+	public String[] all() {
+		return sort(all);
+	}
+
+	private String[] sort(Comparator<String> comparator) {
+		String[] copy = names.clone();
+		Arrays.sort(copy, comparator);
+		return copy;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.comparator.CompiledComparator;
+import com.atomicleopard.expressive.comparator.ComparatorBuilder;
+
+/**
+ * Benchmarks {@link ComparatorBuilder#compare(Object, Object)} when sorting beans on an increasing number of properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ComparatorBuilderBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "1", "2", "4", "8" })
+	public int width;
+
+	private List<BenchmarkBean> source;
+	private EList<BenchmarkBean> list;
+	private ComparatorBuilder<BenchmarkBean> comparator;
+	private CompiledComparator<BenchmarkBean> compiled;
+
+	@Setup
+	public void setup() {
+		source = Fixtures.beans(size, 0.5);
+		Collections.shuffle(source, new Random(Fixtures.Seed));
+		list = Expressive.list(source);
+		comparator = Fixtures.comparator(width);
+		compiled = comparator.compile();
+	}
+
+	@Benchmark
+	public List<BenchmarkBean> collectionsSort() {
+		List<BenchmarkBean> copy = new ArrayList<BenchmarkBean>(source);
+		Collections.sort(copy, comparator);
+		return copy;
+	}
+
+	@Benchmark
+	public List<BenchmarkBean> collectionsSortCompiled() {
+		List<BenchmarkBean> copy = new ArrayList<BenchmarkBean>(source);
+		Collections.sort(copy, compiled);
+		return copy;
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> elistSort() {
+		return list.duplicate().sort(comparator);
+	}
+
+	@Benchmark
+	public ComparatorBuilder<BenchmarkBean> build() {
+		return Fixtures.comparator(width);
+	}
+}
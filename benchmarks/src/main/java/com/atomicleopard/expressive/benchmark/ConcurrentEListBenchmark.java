@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.ConcurrentEList;
+import com.atomicleopard.expressive.CopyOnWriteEList;
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * Benchmarks the thread safe {@link EList} implementations with three threads filtering the list while a fourth appends and removes an element, keeping the size of the list constant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentEListBenchmark {
+	@Param({ "10", "1000", "100000" })
+	public int size;
+
+	@Param({ "0.5" })
+	public double hitRatio;
+
+	private EList<BenchmarkBean> synchronizedList;
+	private CopyOnWriteEList<BenchmarkBean> copyOnWriteList;
+	private ConcurrentEList<BenchmarkBean> concurrentList;
+	private EPredicate<BenchmarkBean> hit;
+	private BenchmarkBean bean;
+
+	@Setup
+	public void setup() {
+		synchronizedList = Expressive.list(Fixtures.beans(size, hitRatio));
+		copyOnWriteList = Expressive.copyOnWriteList(synchronizedList);
+		concurrentList = Expressive.concurrentList(synchronizedList);
+		hit = Fixtures.hit();
+		bean = synchronizedList.first();
+	}
+
+	/**
+	 * The baseline, an {@link EList} shared by locking it around every operation.
+	 */
+	@Benchmark
+	@Group("synchronized")
+	@GroupThreads(3)
+	public EList<BenchmarkBean> synchronizedRead() {
+		synchronized (synchronizedList) {
+			return synchronizedList.getItems(hit);
+		}
+	}
+
+	@Benchmark
+	@Group("synchronized")
+	@GroupThreads(1)
+	public void synchronizedWrite() {
+		synchronized (synchronizedList) {
+			synchronizedList.add(bean);
+			synchronizedList.remove(synchronizedList.size() - 1);
+		}
+	}
+
+	@Benchmark
+	@Group("copyOnWrite")
+	@GroupThreads(3)
+	public EList<BenchmarkBean> copyOnWriteRead() {
+		return copyOnWriteList.getItems(hit);
+	}
+
+	@Benchmark
+	@Group("copyOnWrite")
+	@GroupThreads(1)
+	public void copyOnWriteWrite() {
+		copyOnWriteList.add(bean);
+		copyOnWriteList.remove(copyOnWriteList.size() - 1);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(3)
+	public EList<BenchmarkBean> concurrentRead() {
+		return concurrentList.getItems(hit);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public void concurrentWrite() {
+		concurrentList.add(bean);
+		concurrentList.remove(concurrentList.size() - 1);
+	}
+}
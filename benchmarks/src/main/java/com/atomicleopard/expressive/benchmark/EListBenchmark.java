@@ -0,0 +1,295 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.IndexedEList;
+import com.atomicleopard.expressive.PersistentEList;
+import com.atomicleopard.expressive.SortedEList;
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+import com.atomicleopard.expressive.transform.CollectionTransformer;
+
+/**
+ * Benchmarks for the {@link EList} bulk operations.
+ * <p>
+ * Mutating operations are applied to a {@link EList#duplicate()} of the source list so that every invocation sees the same data, {@link #duplicate()} is measured on its own as the baseline to
+ * subtract.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EListBenchmark {
+	private static final int ValueCount = 16;
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "0.01", "0.5", "0.99" })
+	public double hitRatio;
+
+	private EList<BenchmarkBean> source;
+	private EPredicate<BenchmarkBean> hit;
+	private BenchmarkBean[] values;
+	private List<BenchmarkBean> valueList;
+	private List<BenchmarkBean> largeValueList;
+	private Comparator<BenchmarkBean> comparator;
+	private SortedEList<BenchmarkBean> sortedSource;
+	private IndexedEList<BenchmarkBean> indexedSource;
+	private PersistentEList<BenchmarkBean> persistentSource;
+	private EPredicate<BenchmarkBean> notNull = Expressive.Predicate.notNull();
+	private ETransformer<BenchmarkBean, String> toName = new ETransformer<BenchmarkBean, String>() {
+		@Override
+		public String from(BenchmarkBean from) {
+			return from.getName();
+		}
+	};
+
+	@Setup
+	public void setup() {
+		source = Expressive.list(Fixtures.beans(size, hitRatio));
+		hit = Fixtures.hit();
+		values = source.getItems(hit).getItems(0, ValueCount).toArray(new BenchmarkBean[0]);
+		valueList = Expressive.list(values);
+		largeValueList = new ArrayList<BenchmarkBean>();
+		for (int i = 0; i < size; i += 20) {
+			largeValueList.add(source.get(i));
+		}
+		comparator = Fixtures.comparator(2);
+		// every property, so that elements are distinct under the comparator and lookups are not dominated by scanning equal elements
+		sortedSource = Expressive.sortedList(Fixtures.comparator(Fixtures.ComparatorProperties.length), source);
+		indexedSource = Expressive.indexedList(source);
+		persistentSource = Expressive.persistentList(source);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> duplicate() {
+		return source.duplicate();
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> removeItemsPredicate() {
+		return source.duplicate().removeItems(hit);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> retainItemsPredicate() {
+		return source.duplicate().retainItems(hit);
+	}
+
+	/**
+	 * The removal path {@link EList#removeItems(EPredicate)} used before compacting in place, removing each element through the iterator of an {@link ArrayList}. This is quadratic in the number
+	 * of removed elements, expect the larger sizes to be very slow.
+	 */
+	@Benchmark
+	public List<BenchmarkBean> removeItemsPredicateIterator() {
+		List<BenchmarkBean> list = new ArrayList<BenchmarkBean>(source);
+		Iterator<BenchmarkBean> iterator = list.iterator();
+		while (iterator.hasNext()) {
+			if (hit.pass(iterator.next())) {
+				iterator.remove();
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * The removal path {@link EList#removeItems(Object...)} used before compacting in place, delegating to {@link ArrayList#removeAll(java.util.Collection)}.
+	 */
+	@Benchmark
+	public List<BenchmarkBean> removeItemsValuesRemoveAll() {
+		List<BenchmarkBean> list = new ArrayList<BenchmarkBean>(source);
+		list.removeAll(Arrays.asList(values));
+		return list;
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> removeItemsValues() {
+		return source.duplicate().removeItems(values);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> retainItemsValues() {
+		return source.duplicate().retainItems(values);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> removeItemsCollection() {
+		return source.duplicate().removeItems(valueList);
+	}
+
+	/**
+	 * Removes every 20th element, given as a {@link List}.
+	 */
+	@Benchmark
+	public EList<BenchmarkBean> removeItemsLargeCollection() {
+		return source.duplicate().removeItems(largeValueList);
+	}
+
+	/**
+	 * The removal path {@link EList#removeItems(java.util.Collection)} used before hashing large arguments, which scans the argument list for every element. This is O(n * m), expect the larger
+	 * sizes to be very slow.
+	 */
+	@Benchmark
+	public List<BenchmarkBean> removeItemsLargeCollectionRemoveAll() {
+		List<BenchmarkBean> list = new ArrayList<BenchmarkBean>(source);
+		list.removeAll(largeValueList);
+		return list;
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> retainItemsCollection() {
+		return source.duplicate().retainItems(valueList);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> getItemsPredicate() {
+		return source.getItems(hit);
+	}
+
+	@Benchmark
+	public EList<String> chainedGetItems() {
+		return new CollectionTransformer<BenchmarkBean, String>(toName).from(source.getItems(hit).getItems(notNull));
+	}
+
+	@Benchmark
+	public EList<String> chainedView() {
+		return source.view().filter(hit).filter(notNull).transform(toName).toList();
+	}
+
+	@Benchmark
+	public EList<String> limitedView() {
+		return source.view().filter(hit).transform(toName).limit(100).toList();
+	}
+
+	@Benchmark
+	public Pair<EList<BenchmarkBean>, EList<BenchmarkBean>> split() {
+		return source.split(hit);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> getItemsPage() {
+		return source.getItems(size / 2, 100);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> subList() {
+		return source.subList(0, size / 2);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> getItemsPageView() {
+		return source.getItemsView(size / 2, 100);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> subListView() {
+		return source.subListView(0, size / 2);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> addItems() {
+		return source.duplicate().addItems(values);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> insertItems() {
+		return source.duplicate().insertItems(0, values);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> sort() {
+		return source.duplicate().sort(comparator);
+	}
+
+	@Benchmark
+	public boolean contains() {
+		return source.contains(source.last());
+	}
+
+	@Benchmark
+	public int indexOf() {
+		return source.indexOf(source.last());
+	}
+
+	@Benchmark
+	public boolean sortedContains() {
+		return sortedSource.contains(sortedSource.last());
+	}
+
+	@Benchmark
+	public int sortedIndexOf() {
+		return sortedSource.indexOf(sortedSource.last());
+	}
+
+	@Benchmark
+	public int indexedIndexOf() {
+		return indexedSource.indexOf(indexedSource.last());
+	}
+
+	/**
+	 * Compare with {@link #addItems()}, which must copy the whole list to leave the source unchanged.
+	 */
+	@Benchmark
+	public EList<BenchmarkBean> persistentAddItems() {
+		return persistentSource.addItems(values);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> persistentWith() {
+		return persistentSource.with(size / 2, values[0]);
+	}
+
+	@Benchmark
+	public BenchmarkBean persistentGet() {
+		return persistentSource.get(size / 2);
+	}
+
+	@Benchmark
+	public BenchmarkBean get() {
+		return source.get(size / 2);
+	}
+}
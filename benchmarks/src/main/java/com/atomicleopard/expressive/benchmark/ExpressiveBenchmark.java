@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.Expressive;
+
+/**
+ * Benchmarks the collection creation and manipulation methods on {@link Expressive}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExpressiveBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	private BenchmarkBean[] array;
+	private List<BenchmarkBean> list;
+	private List<List<BenchmarkBean>> halves;
+	private Object[] keyValues;
+	private Map<Integer, String> map;
+
+	@Setup
+	public void setup() {
+		list = Fixtures.beans(size, 0.5);
+		array = list.toArray(new BenchmarkBean[0]);
+		halves = new ArrayList<List<BenchmarkBean>>();
+		halves.add(list.subList(0, size / 2));
+		halves.add(list.subList(size / 2, size));
+		keyValues = new Object[size * 2];
+		map = new HashMap<Integer, String>(size * 2);
+		for (int i = 0; i < size; i++) {
+			BenchmarkBean bean = array[i];
+			keyValues[i * 2] = bean.getId();
+			keyValues[i * 2 + 1] = bean.getCode();
+			map.put(bean.getId(), bean.getCode());
+		}
+	}
+
+	@Benchmark
+	public BenchmarkBean[] arrayFromCollection() {
+		return Expressive.array(list);
+	}
+
+	@Benchmark
+	public Collection<BenchmarkBean> collection() {
+		return Expressive.collection(array);
+	}
+
+	@Benchmark
+	public Set<BenchmarkBean> set() {
+		return Expressive.set(array);
+	}
+
+	@Benchmark
+	public Map<Integer, String> map() {
+		return Expressive.map(keyValues);
+	}
+
+	@Benchmark
+	public Map<BenchmarkBean, BenchmarkBean> mapKeys() {
+		return Expressive.mapKeys(array).to(list);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> flattenArrays() {
+		return Expressive.flatten(array, array);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> flattenCollections() {
+		return Expressive.flatten(halves);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> listFromArray() {
+		return Expressive.list(array);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> listFromCollection() {
+		return Expressive.list(list);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> listFromIterable() {
+		return Expressive.list((Iterable<BenchmarkBean>) list);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> listFromIterator() {
+		return Expressive.list(list.iterator());
+	}
+
+	@Benchmark
+	public Map<String, Set<Integer>> reverse() {
+		return Expressive.reverse(map);
+	}
+
+	@Benchmark
+	public Map<String, Integer> reverseUnique() {
+		return Expressive.reverseUnique(map);
+	}
+}
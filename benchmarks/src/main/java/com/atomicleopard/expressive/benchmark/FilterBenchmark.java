@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * Benchmarks {@link Expressive.Filter} and {@link Expressive.Parallel}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilterBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "0.01", "0.5", "0.99" })
+	public double hitRatio;
+
+	private List<BenchmarkBean> beans;
+	private EPredicate<BenchmarkBean> hit;
+
+	@Setup
+	public void setup() {
+		beans = Fixtures.beans(size, hitRatio);
+		hit = Fixtures.hit();
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> retain() {
+		return Expressive.Filter.retain(beans, hit);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> remove() {
+		return Expressive.Filter.remove(beans, hit);
+	}
+
+	@Benchmark
+	public Pair<EList<BenchmarkBean>, EList<BenchmarkBean>> split() {
+		return Expressive.Filter.split(beans, hit);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> parallelRetain() {
+		return Expressive.Parallel.retain(beans, hit);
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> parallelRemove() {
+		return Expressive.Parallel.remove(beans, hit);
+	}
+
+	@Benchmark
+	public Pair<EList<BenchmarkBean>, EList<BenchmarkBean>> parallelSplit() {
+		return Expressive.Parallel.split(beans, hit);
+	}
+}
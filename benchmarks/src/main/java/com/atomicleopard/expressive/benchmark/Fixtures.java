@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.comparator.ComparatorBuilder;
+import com.atomicleopard.expressive.predicate.EPredicate;
+import com.atomicleopard.expressive.predicate.PredicateBuilder;
+
+/**
+ * Builds the data sets, predicates and comparators shared by the benchmarks. All data is generated from a fixed seed so that runs are comparable between releases.
+ */
+final class Fixtures {
+	static final String Hit = "hit";
+	static final String Miss = "miss";
+	static final long Seed = 20121118L;
+
+	/**
+	 * Properties in the order a predicate of a given width will read them. The hit/miss decision is always made on the last property read, so every element pays for the full width.
+	 */
+	static final String[] PredicateProperties = { "name", "code", "rank", "status", "count", "score", "id" };
+
+	/**
+	 * Properties in the order a comparator of a given width will compare them, lowest cardinality first so that wider comparators actually consult their later properties.
+	 */
+	static final String[] ComparatorProperties = { "category", "active", "rank", "code", "status", "count", "score", "id" };
+
+	private Fixtures() {
+	}
+
+	static List<BenchmarkBean> beans(int size, double hitRatio) {
+		Random random = new Random(Seed);
+		BenchmarkBean.Status[] statuses = BenchmarkBean.Status.values();
+		List<BenchmarkBean> beans = new ArrayList<BenchmarkBean>(size);
+		for (int i = 0; i < size; i++) {
+			String category = random.nextDouble() < hitRatio ? Hit : Miss;
+			beans.add(new BenchmarkBean(i, category, random.nextBoolean(), random.nextInt(10), "C" + random.nextInt(100), random.nextInt(1000), random.nextDouble(), "name-" + i, statuses[random.nextInt(statuses.length)]));
+		}
+		return beans;
+	}
+
+	static EPredicate<BenchmarkBean> hit() {
+		return new EPredicate<BenchmarkBean>() {
+			@Override
+			public boolean pass(BenchmarkBean input) {
+				return Hit == input.getCategory();
+			}
+		};
+	}
+
+	static PredicateBuilder<BenchmarkBean> predicate(int width) {
+		PredicateBuilder<BenchmarkBean> builder = Expressive.Predicate.on(BenchmarkBean.class);
+		for (int i = 0; i < width - 1; i++) {
+			builder = builder.where(PredicateProperties[i]).passes(Expressive.Predicate.notNull());
+		}
+		return builder.where("category").is(Hit);
+	}
+
+	static ComparatorBuilder<BenchmarkBean> comparator(int width) {
+		ComparatorBuilder<BenchmarkBean> builder = Expressive.Comparators.compare(BenchmarkBean.class);
+		for (int i = 0; i < width; i++) {
+			builder = builder.on(ComparatorProperties[i]).naturally();
+		}
+		return builder;
+	}
+}
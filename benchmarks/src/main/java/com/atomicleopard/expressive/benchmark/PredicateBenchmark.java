@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * Benchmarks the predicates created by {@link Expressive.Predicate} over a list of integers drawn uniformly from [0, {@value #Range}). The value set predicates ({@code anyOf}, {@code noneOf}) match
+ * the first {@link #valueCount} integers, so their hit ratio is valueCount / {@value #Range}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PredicateBenchmark {
+	private static final int Range = 4096;
+
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "4", "64", "1024" })
+	public int valueCount;
+
+	private Integer[] input;
+	private EPredicate<Integer> is;
+	private EPredicate<Integer> not;
+	private EPredicate<Integer> anyOf;
+	private EPredicate<Integer> noneOf;
+	private EPredicate<Integer> allOf;
+	private EPredicate<Integer> isNull;
+	private EPredicate<Integer> notNull;
+	private EPredicate<Integer> any;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() {
+		Random random = new Random(Fixtures.Seed);
+		input = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			input[i] = random.nextInt(Range);
+		}
+		Integer[] values = new Integer[valueCount];
+		for (int i = 0; i < valueCount; i++) {
+			values[i] = i;
+		}
+		is = Expressive.Predicate.is(0);
+		not = Expressive.Predicate.not(0);
+		anyOf = Expressive.Predicate.anyOf(values);
+		noneOf = Expressive.Predicate.noneOf(values);
+		allOf = Expressive.Predicate.allOf(Expressive.Predicate.<Integer> notNull(), Expressive.Predicate.not(0));
+		isNull = Expressive.Predicate.isNull();
+		notNull = Expressive.Predicate.notNull();
+		any = Expressive.Predicate.any();
+	}
+
+	@Benchmark
+	public int is() {
+		return count(is);
+	}
+
+	@Benchmark
+	public int not() {
+		return count(not);
+	}
+
+	@Benchmark
+	public int anyOf() {
+		return count(anyOf);
+	}
+
+	@Benchmark
+	public int noneOf() {
+		return count(noneOf);
+	}
+
+	@Benchmark
+	public int allOf() {
+		return count(allOf);
+	}
+
+	@Benchmark
+	public int isNull() {
+		return count(isNull);
+	}
+
+	@Benchmark
+	public int notNull() {
+		return count(notNull);
+	}
+
+	@Benchmark
+	public int any() {
+		return count(any);
+	}
+
+	private int count(EPredicate<Integer> predicate) {
+		int count = 0;
+		for (Integer value : input) {
+			if (predicate.pass(value)) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.predicate.CompiledPredicate;
+import com.atomicleopard.expressive.predicate.PredicateBuilder;
+
+/**
+ * Benchmarks {@link PredicateBuilder#pass(Object)} over beans of increasing width, i.e. the number of bean properties the predicate must read per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PredicateBuilderBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	@Param({ "0.01", "0.5", "0.99" })
+	public double hitRatio;
+
+	@Param({ "1", "2", "4", "8" })
+	public int width;
+
+	private BenchmarkBean[] beans;
+	private EList<BenchmarkBean> list;
+	private PredicateBuilder<BenchmarkBean> predicate;
+	private CompiledPredicate<BenchmarkBean> compiled;
+
+	@Setup
+	public void setup() {
+		List<BenchmarkBean> source = Fixtures.beans(size, hitRatio);
+		beans = source.toArray(new BenchmarkBean[0]);
+		list = Expressive.list(source);
+		predicate = Fixtures.predicate(width);
+		compiled = predicate.compile();
+	}
+
+	@Benchmark
+	public int pass() {
+		int count = 0;
+		for (BenchmarkBean bean : beans) {
+			if (predicate.pass(bean)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int passCompiled() {
+		int count = 0;
+		for (BenchmarkBean bean : beans) {
+			if (compiled.pass(bean)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public EList<BenchmarkBean> getItems() {
+		return list.getItems(predicate);
+	}
+
+	@Benchmark
+	public PredicateBuilder<BenchmarkBean> build() {
+		return Fixtures.predicate(width);
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.benchmark;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.benchmark.BenchmarkBean.Status;
+import com.atomicleopard.expressive.collection.CompositeIndex;
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.transform.BeanPropertyLookupTransformer.Grouping;
+import com.atomicleopard.expressive.transform.CachingTransformer;
+import com.atomicleopard.expressive.transform.CollectionTransformer;
+
+/**
+ * Benchmarks the transformers created by {@link Expressive.Transformers}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx4g" })
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransformerBenchmark {
+	@Param({ "10", "1000", "100000", "10000000" })
+	public int size;
+
+	private List<BenchmarkBean> beans;
+	private Status[] statuses;
+	private ETransformer<BenchmarkBean, String> toPropertyTyped;
+	private ETransformer<BenchmarkBean, String> toPropertyUntyped;
+	private ETransformer<Collection<BenchmarkBean>, Map<String, List<BenchmarkBean>>> toBeanLookupTyped;
+	private ETransformer<Collection<BenchmarkBean>, Map<String, List<BenchmarkBean>>> toBeanLookupUntyped;
+	private ETransformer<Collection<BenchmarkBean>, Map<String, List<BenchmarkBean>>> toBeanLookupArray;
+	private ETransformer<Collection<BenchmarkBean>, Map<String, List<BenchmarkBean>>> toBeanLookupCounted;
+	private ETransformer<Collection<BenchmarkBean>, Map<Integer, BenchmarkBean>> toKeyBeanLookupTyped;
+	private ETransformer<Collection<BenchmarkBean>, Map<Integer, BenchmarkBean>> toKeyBeanLookupUntyped;
+	private ETransformer<Collection<BenchmarkBean>, CompositeIndex<BenchmarkBean>> toCompositeKeyBeanLookup;
+	private CompositeIndex<BenchmarkBean> compositeIndex;
+	private Map<Pair<String, Integer>, BenchmarkBean> pairLookup;
+	private ETransformer<Status, String> usingLookup;
+	private CollectionTransformer<BenchmarkBean, String> transformAllUsing;
+	private CollectionTransformer<BenchmarkBean, String> transformAllInParallelUsing;
+	private ETransformer<Status, String> fromEnum;
+	private ETransformer<Status, String> stringify;
+	private ETransformer<Object, BenchmarkBean> cast;
+
+	/**
+	 * Input for {@link TransformerBenchmark#toEnum(EnumInput, Blackhole)}, where the proportion of strings which name a valid enum constant is controlled by {@link #hitRatio}.
+	 */
+	@State(Scope.Benchmark)
+	public static class EnumInput {
+		@Param({ "0.01", "0.5", "0.99" })
+		public double hitRatio;
+
+		private String[] strings;
+		private ETransformer<String, Status> toEnum;
+		private ETransformer<String, Status> toEnumCached;
+
+		@Setup
+		public void setup(TransformerBenchmark benchmark) {
+			Random random = new Random(Fixtures.Seed);
+			strings = new String[benchmark.size];
+			for (int i = 0; i < strings.length; i++) {
+				Status status = benchmark.statuses[i];
+				strings[i] = random.nextDouble() < hitRatio ? status.name() : status.name().toLowerCase() + "-unknown";
+			}
+			toEnum = Expressive.Transformers.toEnum(Status.class);
+			toEnumCached = Expressive.Transformers.cached(toEnum, 64, CachingTransformer.Policy.LRU);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		beans = Fixtures.beans(size, 0.5);
+		statuses = new Status[size];
+		for (int i = 0; i < size; i++) {
+			statuses[i] = beans.get(i).getStatus();
+		}
+		toPropertyTyped = Expressive.Transformers.toProperty("code", BenchmarkBean.class);
+		toPropertyUntyped = Expressive.Transformers.toProperty("code");
+		toBeanLookupTyped = Expressive.Transformers.toBeanLookup("code", BenchmarkBean.class);
+		toBeanLookupUntyped = Expressive.Transformers.toBeanLookup("code");
+		toBeanLookupArray = Expressive.Transformers.toBeanLookup("code", BenchmarkBean.class, Grouping.Array);
+		toBeanLookupCounted = Expressive.Transformers.toBeanLookup("code", BenchmarkBean.class, Grouping.Counted);
+		toKeyBeanLookupTyped = Expressive.Transformers.toKeyBeanLookup("id", BenchmarkBean.class);
+		toKeyBeanLookupUntyped = Expressive.Transformers.toKeyBeanLookup("id");
+		toCompositeKeyBeanLookup = Expressive.Transformers.toKeyBeanLookup(BenchmarkBean.class, "category", "id");
+		compositeIndex = toCompositeKeyBeanLookup.from(beans);
+		pairLookup = new HashMap<Pair<String, Integer>, BenchmarkBean>();
+		for (BenchmarkBean bean : beans) {
+			pairLookup.put(new Pair<String, Integer>(bean.getCategory(), bean.getId()), bean);
+		}
+		Map<Status, String> lookup = new HashMap<Status, String>();
+		for (Status status : Status.values()) {
+			lookup.put(status, status.name().toUpperCase());
+		}
+		usingLookup = Expressive.Transformers.usingLookup(lookup);
+		transformAllUsing = Expressive.Transformers.transformAllUsing(toPropertyTyped);
+		transformAllInParallelUsing = Expressive.Transformers.transformAllInParallelUsing(toPropertyTyped);
+		fromEnum = Expressive.Transformers.fromEnum(Status.class);
+		stringify = Expressive.Transformers.stringify();
+		cast = Expressive.Transformers.cast(BenchmarkBean.class);
+	}
+
+	@Benchmark
+	public void toPropertyTyped(Blackhole blackhole) {
+		for (BenchmarkBean bean : beans) {
+			blackhole.consume(toPropertyTyped.from(bean));
+		}
+	}
+
+	@Benchmark
+	public void toPropertyUntyped(Blackhole blackhole) {
+		for (BenchmarkBean bean : beans) {
+			blackhole.consume(toPropertyUntyped.from(bean));
+		}
+	}
+
+	@Benchmark
+	public Map<String, List<BenchmarkBean>> toBeanLookupTyped() {
+		return toBeanLookupTyped.from(beans);
+	}
+
+	@Benchmark
+	public Map<String, List<BenchmarkBean>> toBeanLookupUntyped() {
+		return toBeanLookupUntyped.from(beans);
+	}
+
+	@Benchmark
+	public Map<String, List<BenchmarkBean>> toBeanLookupArray() {
+		return toBeanLookupArray.from(beans);
+	}
+
+	@Benchmark
+	public Map<String, List<BenchmarkBean>> toBeanLookupCounted() {
+		return toBeanLookupCounted.from(beans);
+	}
+
+	@Benchmark
+	public Map<Integer, BenchmarkBean> toKeyBeanLookupTyped() {
+		return toKeyBeanLookupTyped.from(beans);
+	}
+
+	@Benchmark
+	public Map<Integer, BenchmarkBean> toKeyBeanLookupUntyped() {
+		return toKeyBeanLookupUntyped.from(beans);
+	}
+
+	@Benchmark
+	public CompositeIndex<BenchmarkBean> toCompositeKeyBeanLookup() {
+		return toCompositeKeyBeanLookup.from(beans);
+	}
+
+	@Benchmark
+	public void compositeIndexGet(Blackhole blackhole) {
+		for (BenchmarkBean bean : beans) {
+			blackhole.consume(compositeIndex.get(bean.getCategory(), bean.getId()));
+		}
+	}
+
+	/**
+	 * Baseline for {@link #compositeIndexGet(Blackhole)}, allocating a {@link Pair} key for each lookup.
+	 */
+	@Benchmark
+	public void pairKeyedMapGet(Blackhole blackhole) {
+		for (BenchmarkBean bean : beans) {
+			blackhole.consume(pairLookup.get(new Pair<String, Integer>(bean.getCategory(), bean.getId())));
+		}
+	}
+
+	@Benchmark
+	public void usingLookup(Blackhole blackhole) {
+		for (Status status : statuses) {
+			blackhole.consume(usingLookup.from(status));
+		}
+	}
+
+	@Benchmark
+	public EList<String> transformAllUsing() {
+		return transformAllUsing.from(beans);
+	}
+
+	@Benchmark
+	public EList<String> transformAllInParallelUsing() {
+		return transformAllInParallelUsing.from(beans);
+	}
+
+	@Benchmark
+	public void toEnum(EnumInput input, Blackhole blackhole) {
+		for (String string : input.strings) {
+			blackhole.consume(input.toEnum.from(string));
+		}
+	}
+
+	@Benchmark
+	public void toEnumCached(EnumInput input, Blackhole blackhole) {
+		for (String string : input.strings) {
+			blackhole.consume(input.toEnumCached.from(string));
+		}
+	}
+
+	@Benchmark
+	public void fromEnum(Blackhole blackhole) {
+		for (Status status : statuses) {
+			blackhole.consume(fromEnum.from(status));
+		}
+	}
+
+	@Benchmark
+	public void stringify(Blackhole blackhole) {
+		for (Status status : statuses) {
+			blackhole.consume(stringify.from(status));
+		}
+	}
+
+	@Benchmark
+	public void cast(Blackhole blackhole) {
+		for (BenchmarkBean bean : beans) {
+			blackhole.consume(cast.from(bean));
+		}
+	}
+}
@@ -0,0 +1,693 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * <p>
+ * A thread safe {@link EList} for data which is modified frequently, in particular by appending.
+ * </p>
+ * <p>
+ * Each operation holds a {@link ReentrantReadWriteLock} for its duration, so reads such as {@link #getItems(EPredicate)} and {@link #split(EPredicate)} run concurrently with each other and
+ * modifications, including the fluent bulk operations such as {@link #removeItems(EPredicate)}, are applied atomically. The elements are stored in fixed size segments, so growing the list
+ * allocates a new segment rather than copying every existing element, and no append holds the write lock for time proportional to the size of the list.
+ * </p>
+ * <p>
+ * Iterators and {@link #view()} operate on a copy of the contents taken when they are created, and do not support modification. {@link #subListView(int, int)} and
+ * {@link #getItemsView(int, int)} return views which share the lock of this list. {@link #getItems(EPredicate)}, {@link #split(EPredicate)} and the other copying operations return
+ * {@link EListImpl}s owned by the caller, while {@link #duplicate()} returns a new {@link ConcurrentEList}.
+ * </p>
+ * 
+ * @param <T>
+ */
+public class ConcurrentEList<T> extends EListImpl<T> {
+	private final ReentrantReadWriteLock lock;
+
+	public ConcurrentEList() {
+		this(new ReentrantReadWriteLock(), new SegmentedList<T>());
+	}
+
+	public ConcurrentEList(Collection<? extends T> values) {
+		this();
+		if (values != null) {
+			delegate.addAll(values);
+		}
+	}
+
+	public ConcurrentEList(T... values) {
+		this(Arrays.asList(values));
+	}
+
+	private ConcurrentEList(ReentrantReadWriteLock lock, List<T> delegate) {
+		super(0);
+		this.lock = lock;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public T get(int index) {
+		lock.readLock().lock();
+		try {
+			return super.get(index);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return super.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		lock.readLock().lock();
+		try {
+			return super.isEmpty();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		lock.readLock().lock();
+		try {
+			return super.contains(o);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		lock.readLock().lock();
+		try {
+			return super.containsAll(c);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		lock.readLock().lock();
+		try {
+			return super.indexOf(o);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		lock.readLock().lock();
+		try {
+			return super.lastIndexOf(o);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		lock.readLock().lock();
+		try {
+			return super.toArray();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T at(int index) {
+		lock.readLock().lock();
+		try {
+			return super.at(index);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T first() {
+		lock.readLock().lock();
+		try {
+			return super.first();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public T last() {
+		lock.readLock().lock();
+		try {
+			return super.last();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public EList<T> subList(int fromIndex, int toIndex) {
+		lock.readLock().lock();
+		try {
+			return super.subList(fromIndex, toIndex);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public EList<T> getItems(int index, int size) {
+		lock.readLock().lock();
+		try {
+			return super.getItems(index, size);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public EList<T> getItems(EPredicate<T> predicate) {
+		lock.readLock().lock();
+		try {
+			return super.getItems(predicate);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public Pair<EList<T>, EList<T>> split(EPredicate<T> predicate) {
+		lock.readLock().lock();
+		try {
+			return super.split(predicate);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		lock.readLock().lock();
+		try {
+			return delegate.hashCode();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		lock.readLock().lock();
+		try {
+			return super.toString();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean add(T e) {
+		lock.writeLock().lock();
+		try {
+			return super.add(e);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		lock.writeLock().lock();
+		try {
+			super.add(index, element);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		lock.writeLock().lock();
+		try {
+			return super.addAll(c);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		lock.writeLock().lock();
+		try {
+			return super.addAll(index, c);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T set(int index, T element) {
+		lock.writeLock().lock();
+		try {
+			return super.set(index, element);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		lock.writeLock().lock();
+		try {
+			return super.remove(index);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		lock.writeLock().lock();
+		try {
+			return super.remove(o);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		lock.writeLock().lock();
+		try {
+			return super.removeAll(c);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		lock.writeLock().lock();
+		try {
+			return super.retainAll(c);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			super.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@Override
+	public ConcurrentEList<T> insertItems(int index, T... values) {
+		lock.writeLock().lock();
+		try {
+			super.insertItems(index, values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> insertItems(int index, Collection<? extends T> values) {
+		lock.writeLock().lock();
+		try {
+			super.insertItems(index, values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> addItems(T... values) {
+		lock.writeLock().lock();
+		try {
+			super.addItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> addItems(Collection<? extends T> values) {
+		lock.writeLock().lock();
+		try {
+			super.addItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> removeItems(T... values) {
+		lock.writeLock().lock();
+		try {
+			super.removeItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> removeItems(Collection<? extends T> values) {
+		lock.writeLock().lock();
+		try {
+			super.removeItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> removeItems(EPredicate<T> predicate) {
+		lock.writeLock().lock();
+		try {
+			super.removeItems(predicate);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> retainItems(T... values) {
+		lock.writeLock().lock();
+		try {
+			super.retainItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> retainItems(Collection<? extends T> values) {
+		lock.writeLock().lock();
+		try {
+			super.retainItems(values);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> retainItems(EPredicate<T> predicate) {
+		lock.writeLock().lock();
+		try {
+			super.retainItems(predicate);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public ConcurrentEList<T> sort(Comparator<T> comparator) {
+		lock.writeLock().lock();
+		try {
+			super.sort(comparator);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings("hiding")
+	public <T> T[] toArray(T[] a) {
+		lock.readLock().lock();
+		try {
+			return super.toArray(a);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		return o instanceof List<?> && snapshot().equals(o);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return snapshot().iterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return snapshot().listIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return snapshot().listIterator(index);
+	}
+
+	@Override
+	public EListView<T> view() {
+		return new EListView<T>(snapshot());
+	}
+
+	@Override
+	public ConcurrentEList<T> duplicate() {
+		lock.readLock().lock();
+		try {
+			return new ConcurrentEList<T>(this.delegate);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return a view of the given range of this list which shares the lock of this list. As for {@link List#subList(int, int)}, the view becomes invalid if this list is structurally modified
+	 *         other than through the view.
+	 */
+	@Override
+	public ConcurrentEList<T> subListView(int fromIndex, int toIndex) {
+		lock.readLock().lock();
+		try {
+			return new ConcurrentEList<T>(lock, delegate.subList(fromIndex, toIndex));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public ConcurrentEList<T> getItemsView(int index, int size) {
+		lock.readLock().lock();
+		try {
+			return (ConcurrentEList<T>) super.getItemsView(index, size);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return an unmodifiable copy of the current contents of this list
+	 */
+	private List<T> snapshot() {
+		lock.readLock().lock();
+		try {
+			return Collections.unmodifiableList(new ArrayList<T>(delegate));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * A random access list storing its elements in segments of a fixed size, so that growing the list allocates a new segment rather than copying the existing elements.
+	 */
+	static final class SegmentedList<T> extends AbstractList<T> implements RandomAccess {
+		private static final int SegmentBits = 10;
+		private static final int SegmentSize = 1 << SegmentBits;
+		private static final int SegmentMask = SegmentSize - 1;
+
+		private Object[][] segments = new Object[4][];
+		private int size;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			checkIndex(index, size);
+			return (T) segments[index >>> SegmentBits][index & SegmentMask];
+		}
+
+		@Override
+		public T set(int index, T element) {
+			T previous = get(index);
+			segments[index >>> SegmentBits][index & SegmentMask] = element;
+			return previous;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean add(T e) {
+			ensureCapacity(size + 1);
+			segments[size >>> SegmentBits][size & SegmentMask] = e;
+			size++;
+			modCount++;
+			return true;
+		}
+
+		@Override
+		public void add(int index, T element) {
+			checkIndex(index, size + 1);
+			ensureCapacity(size + 1);
+			move(index, index + 1, size - index);
+			segments[index >>> SegmentBits][index & SegmentMask] = element;
+			size++;
+			modCount++;
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends T> c) {
+			return addAll(size, c);
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends T> c) {
+			checkIndex(index, size + 1);
+			Object[] values = c.toArray();
+			if (values.length == 0) {
+				return false;
+			}
+			ensureCapacity(size + values.length);
+			move(index, index + values.length, size - index);
+			for (int i = 0; i < values.length; i++) {
+				int position = index + i;
+				segments[position >>> SegmentBits][position & SegmentMask] = values[i];
+			}
+			size += values.length;
+			modCount++;
+			return true;
+		}
+
+		@Override
+		public T remove(int index) {
+			T previous = get(index);
+			removeRange(index, index + 1);
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			segments = new Object[4][];
+			size = 0;
+			modCount++;
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			int removed = toIndex - fromIndex;
+			if (removed <= 0) {
+				return;
+			}
+			move(toIndex, fromIndex, size - toIndex);
+			for (int i = size - removed; i < size; i++) {
+				segments[i >>> SegmentBits][i & SegmentMask] = null;
+			}
+			size -= removed;
+			modCount++;
+		}
+
+		/**
+		 * Moves the given number of elements starting at the given index to the given destination, which may overlap the source.
+		 */
+		private void move(int from, int to, int length) {
+			if (length <= 0 || from == to) {
+				return;
+			}
+			if (to > from) {
+				for (int i = length - 1; i >= 0; i--) {
+					int source = from + i;
+					int destination = to + i;
+					segments[destination >>> SegmentBits][destination & SegmentMask] = segments[source >>> SegmentBits][source & SegmentMask];
+				}
+			} else {
+				for (int i = 0; i < length; i++) {
+					int source = from + i;
+					int destination = to + i;
+					segments[destination >>> SegmentBits][destination & SegmentMask] = segments[source >>> SegmentBits][source & SegmentMask];
+				}
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			int required = (capacity + SegmentMask) >>> SegmentBits;
+			if (required > segments.length) {
+				segments = Arrays.copyOf(segments, Math.max(required, segments.length * 2));
+			}
+			for (int i = required - 1; i >= 0 && segments[i] == null; i--) {
+				segments[i] = new Object[SegmentSize];
+			}
+		}
+
+		private static void checkIndex(int index, int size) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+			}
+		}
+	}
+}
@@ -0,0 +1,504 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * <p>
+ * A thread safe {@link EList} for read mostly data, such as registries of listeners or configuration shared between threads, in the manner of {@link java.util.concurrent.CopyOnWriteArrayList}.
+ * </p>
+ * <p>
+ * Every modification, including the fluent bulk operations such as {@link #removeItems(EPredicate)}, is applied to a private copy of the current contents which is then published as a whole, so each
+ * modification is atomic and readers never block or see a partially applied change. If a predicate or comparator throws an exception the list is left unchanged. Modifications are serialised with
+ * each other and cost a copy of the list, so this list suits data which is read far more often than it is changed.
+ * </p>
+ * <p>
+ * Reads operate on the contents current when they start: iterators, {@link #view()}, {@link #subListView(int, int)} and {@link #getItemsView(int, int)} see a snapshot which is unaffected by later
+ * modifications, and do not support modification. {@link #duplicate()} shares the current snapshot, so is constant time. {@link #getItems(EPredicate)}, {@link #split(EPredicate)} and the other
+ * copying operations return {@link EListImpl}s owned by the caller.
+ * </p>
+ * 
+ * @param <T>
+ */
+public class CopyOnWriteEList<T> extends AbstractList<T> implements EList<T>, RandomAccess {
+	private final ReentrantLock lock = new ReentrantLock();
+	/**
+	 * The published contents of this list, which are never modified once published
+	 */
+	private volatile EList<T> snapshot;
+
+	public CopyOnWriteEList() {
+		this.snapshot = new EListImpl<T>();
+	}
+
+	public CopyOnWriteEList(Collection<? extends T> values) {
+		this.snapshot = values == null ? new EListImpl<T>() : new EListImpl<T>(new ArrayList<T>(values), false);
+	}
+
+	public CopyOnWriteEList(T... values) {
+		this.snapshot = new EListImpl<T>(values);
+	}
+
+	private CopyOnWriteEList(EList<T> snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	@Override
+	public T get(int index) {
+		return snapshot.get(index);
+	}
+
+	@Override
+	public int size() {
+		return snapshot.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return snapshot.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return snapshot.contains(o);
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return snapshot.containsAll(c);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return snapshot.indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return snapshot.lastIndexOf(o);
+	}
+
+	@Override
+	public Object[] toArray() {
+		return snapshot.toArray();
+	}
+
+	@Override
+	@SuppressWarnings("hiding")
+	public <T> T[] toArray(T[] a) {
+		return snapshot.toArray(a);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return Collections.unmodifiableList(snapshot).listIterator();
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		return Collections.unmodifiableList(snapshot).listIterator(index);
+	}
+
+	@Override
+	public T at(int index) {
+		return snapshot.at(index);
+	}
+
+	@Override
+	public T first() {
+		return snapshot.first();
+	}
+
+	@Override
+	public T last() {
+		return snapshot.last();
+	}
+
+	@Override
+	public boolean add(T e) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.add(e);
+			snapshot = next;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void add(int index, T element) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.add(index, element);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			boolean changed = next.addAll(c);
+			snapshot = next;
+			return changed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			boolean changed = next.addAll(index, c);
+			snapshot = next;
+			return changed;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public T set(int index, T element) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			T previous = next.set(index, element);
+			snapshot = next;
+			return previous;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public T remove(int index) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			T previous = next.remove(index);
+			snapshot = next;
+			return previous;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		lock.lock();
+		try {
+			int index = snapshot.indexOf(o);
+			if (index < 0) {
+				return false;
+			}
+			EList<T> next = copy();
+			next.remove(index);
+			snapshot = next;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			return publishIfChanged(next, next.removeAll(c));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			return publishIfChanged(next, next.retainAll(c));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			snapshot = new EListImpl<T>();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public CopyOnWriteEList<T> insertItems(int index, T... values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.insertItems(index, values);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> insertItems(int index, Collection<? extends T> values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.insertItems(index, values);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> addItems(T... values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.addItems(values);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> addItems(Collection<? extends T> values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.addItems(values);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> removeItems(T... values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.removeItems(values).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> removeItems(Collection<? extends T> values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.removeItems(values).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> removeItems(EPredicate<T> predicate) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.removeItems(predicate).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> retainItems(T... values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.retainItems(values).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> retainItems(Collection<? extends T> values) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.retainItems(values).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public CopyOnWriteEList<T> retainItems(EPredicate<T> predicate) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			publishIfChanged(next, next.retainItems(predicate).size() != snapshot.size());
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * Sorts a copy of this list and publishes it, so readers see either the unsorted or the sorted contents.
+	 * 
+	 * @see EListImpl#sort(Comparator)
+	 */
+	@Override
+	public CopyOnWriteEList<T> sort(Comparator<T> comparator) {
+		lock.lock();
+		try {
+			EList<T> next = copy();
+			next.sort(comparator);
+			snapshot = next;
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * @return a new {@link CopyOnWriteEList} sharing the current contents of this list, which is constant time as neither list modifies the contents in place
+	 */
+	@Override
+	public CopyOnWriteEList<T> duplicate() {
+		return new CopyOnWriteEList<T>(snapshot);
+	}
+
+	@Override
+	public EList<T> subList(int fromIndex, int toIndex) {
+		return snapshot.subList(fromIndex, toIndex);
+	}
+
+	/**
+	 * @return an unmodifiable view of the given range of the current contents of this list, which is not affected by later modifications of this list
+	 */
+	@Override
+	public EList<T> subListView(int fromIndex, int toIndex) {
+		return readOnly(snapshot.subListView(fromIndex, toIndex));
+	}
+
+	@Override
+	public EList<T> getItems(int index, int size) {
+		return snapshot.getItems(index, size);
+	}
+
+	/**
+	 * @return an unmodifiable view of the given range of the current contents of this list, which is not affected by later modifications of this list
+	 */
+	@Override
+	public EList<T> getItemsView(int index, int size) {
+		return readOnly(snapshot.getItemsView(index, size));
+	}
+
+	@Override
+	public EList<T> getItems(EPredicate<T> predicate) {
+		return snapshot.getItems(predicate);
+	}
+
+	@Override
+	public Pair<EList<T>, EList<T>> split(EPredicate<T> predicate) {
+		return snapshot.split(predicate);
+	}
+
+	@Override
+	public EListView<T> view() {
+		return snapshot.view();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o == this || snapshot.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return snapshot.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return snapshot.toString();
+	}
+
+	/**
+	 * Must be called holding the lock.
+	 * 
+	 * @return a modifiable copy of the current contents of this list
+	 */
+	private EList<T> copy() {
+		return new EListImpl<T>(snapshot);
+	}
+
+	private boolean publishIfChanged(EList<T> next, boolean changed) {
+		if (changed) {
+			snapshot = next;
+		}
+		return changed;
+	}
+
+	private static <T> EList<T> readOnly(List<T> list) {
+		return new EListImpl<T>(Collections.unmodifiableList(list), false);
+	}
+}
@@ -200,12 +200,29 @@ public interface EList<T> extends List<T> {
 	public EList<T> duplicate();
 
 	/**
-	 * Redefines {@link List#subList(int, int)} to return an {@link EList}
+	 * Redefines {@link List#subList(int, int)} to return an {@link EList}. Unlike {@link List#subList(int, int)}, the returned list is a copy, use {@link #subListView(int, int)} for a view.
 	 * 
 	 * @see List#subList(int, int)
 	 */
 	public EList<T> subList(int fromIndex, int toIndex);
 
+	/**
+	 * <p>
+	 * Returns the elements of this list from fromIndex, inclusive, to toIndex, exclusive, as a view of this list. No elements are copied, so this is constant time regardless of the size of the
+	 * range.
+	 * </p>
+	 * <p>
+	 * As for {@link List#subList(int, int)}, changes to the view are reflected in this list and vice versa, but if this list is structurally modified (elements are added or removed) other than
+	 * through the view, the behaviour of the view is undefined. Call {@link #duplicate()} on the view to take an independent copy, which is equivalent to {@link #subList(int, int)}.
+	 * </p>
+	 * 
+	 * @param fromIndex
+	 * @param toIndex
+	 * @return a view of the given range of this list
+	 * @see List#subList(int, int)
+	 */
+	public EList<T> subListView(int fromIndex, int toIndex);
+
 	/**
 	 * Returns a list of the items from the given index for the given size. If the index + size is out of bounds, the returned list will be shorter
 	 * than the specified size, including only existing elements. If size if negative, an empty list is returned.
@@ -229,8 +246,29 @@ public interface EList<T> extends List<T> {
 	 */
 	public EList<T> getItems(int index, int size);
 
+	/**
+	 * As {@link #getItems(int, int)}, returning the items as a view of this list rather than a copy. This allows a large list to be paged through without copying each page.
+	 * The view has the same semantics as {@link #subListView(int, int)}, call {@link #duplicate()} on it to take an independent copy.
+	 * 
+	 * @param index
+	 * @param size
+	 * @return a view of 'size' items starting from the given index, or as many as can be provided based on the list contents.
+	 */
+	public EList<T> getItemsView(int index, int size);
+
 	public EList<T> getItems(EPredicate<T> predicate);
 
+	/**
+	 * <p>
+	 * Returns a lazy {@link EListView} over the elements of this list. Filter, transform and limit stages added to the view are applied together in a single pass when a terminal operation such
+	 * as {@link EListView#toList()} is invoked, without creating intermediate lists.
+	 * </p>
+	 * 
+	 * @return a view of this list
+	 * @see EListView
+	 */
+	public EListView<T> view();
+
 	/**
 	 * Sorts this {@link EList} in place using the given comparator.
 	 * 
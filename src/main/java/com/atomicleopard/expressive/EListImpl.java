@@ -25,13 +25,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Set;
 
 import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.comparator.CompiledComparator;
+import com.atomicleopard.expressive.comparator.ComparatorBuilder;
 import com.atomicleopard.expressive.predicate.EPredicate;
-import com.atomicleopard.expressive.predicate.NotPredicate;
 
 /**
  * <p>
@@ -41,7 +45,12 @@ import com.atomicleopard.expressive.predicate.NotPredicate;
  * @param <T>
  * @see EList
  */
-public class EListImpl<T> implements EList<T> {
+public class EListImpl<T> implements EList<T>, RandomAccess {
+	/**
+	 * The number of values above which {@link #removeItems(Collection)}, {@link #retainItems(Collection)} and their varargs equivalents test membership using a temporary hash set.
+	 */
+	static final int HashThreshold = 8;
+
 	protected List<T> delegate;
 
 	protected EListImpl(int initialCapacity) {
@@ -55,8 +64,17 @@ public class EListImpl<T> implements EList<T> {
 	}
 
 	public EListImpl(List<T> delegate) {
+		this(delegate, true);
+	}
+
+	/**
+	 * @param delegate
+	 * @param copy
+	 *            true to copy the given list, false to use it as the delegate of this list
+	 */
+	EListImpl(List<T> delegate, boolean copy) {
 		super();
-		this.delegate = new ArrayList<T>(delegate);
+		this.delegate = copy ? new ArrayList<T>(delegate) : delegate;
 	}
 
 	public EListImpl(EList<T> elist) {
@@ -120,16 +138,15 @@ public class EListImpl<T> implements EList<T> {
 
 	@Override
 	public EList<T> removeItems(T... values) {
-		// even with one element, we must invoke removeAll because remove only
-		// removes the first matching element, not all matching elements.
-		delegate.removeAll(Arrays.asList(values));
-		return this;
+		// even with one element, we must remove every matching element, not
+		// just the first as remove does.
+		return compact(EListImpl.<T> in(Arrays.asList(values)), false);
 	}
 
 	@Override
 	public EList<T> removeItems(Collection<? extends T> values) {
 		if (values != null) {
-			delegate.removeAll(values);
+			compact(EListImpl.<T> in(values), false);
 		}
 
 		return this;
@@ -137,14 +154,12 @@ public class EListImpl<T> implements EList<T> {
 
 	@Override
 	public EList<T> retainItems(Collection<? extends T> values) {
-		delegate.retainAll(values);
-		return this;
+		return compact(EListImpl.<T> in(values), true);
 	}
 
 	@Override
 	public EList<T> retainItems(T... values) {
-		delegate.retainAll(Arrays.asList(values));
-		return this;
+		return compact(EListImpl.<T> in(Arrays.asList(values)), true);
 	}
 
 	@Override
@@ -243,7 +258,12 @@ public class EListImpl<T> implements EList<T> {
 	}
 
 	public EList<T> subList(int fromIndex, int toIndex) {
-		return new EListImpl<T>(delegate.subList(fromIndex, toIndex));
+		return subListView(fromIndex, toIndex).duplicate();
+	}
+
+	@Override
+	public EList<T> subListView(int fromIndex, int toIndex) {
+		return new EListImpl<T>(delegate.subList(fromIndex, toIndex), false);
 	}
 
 	public Object[] toArray() {
@@ -257,12 +277,17 @@ public class EListImpl<T> implements EList<T> {
 
 	@Override
 	public EList<T> getItems(int index, int size) {
+		return getItemsView(index, size).duplicate();
+	}
+
+	@Override
+	public EList<T> getItemsView(int index, int size) {
 		// fit the start and end indexes within the bound of the list
 		int start = Math.min(Math.max(0, index), size());
 		size = Math.max(0, size);
 		size = index < 0 ? size + index : size;
-		int end = Math.min(delegate.size(), start + size);
-		return new EListImpl<T>(delegate.subList(start, end));
+		int end = Math.max(start, Math.min(delegate.size(), start + size));
+		return subListView(start, end);
 	}
 
 	@Override
@@ -276,31 +301,103 @@ public class EListImpl<T> implements EList<T> {
 		return list;
 	}
 
+	@Override
+	public EListView<T> view() {
+		return new EListView<T>(delegate);
+	}
+
 	@Override
 	public EList<T> retainItems(EPredicate<T> predicate) {
-		return removeItems(new NotPredicate<T>(predicate));
+		return compact(predicate, true);
 	}
 
 	@Override
 	public EList<T> removeItems(EPredicate<T> predicate) {
-		Iterator<T> iterator = delegate.iterator();
-		while (iterator.hasNext()) {
-			T value = iterator.next();
-			if (predicate.pass(value)) {
-				iterator.remove();
+		return compact(predicate, false);
+	}
+
+	/**
+	 * <p>
+	 * Removes the elements of this list for which the result of the given predicate does not match the given keep flag.
+	 * </p>
+	 * <p>
+	 * For a random access delegate this is performed in a single pass, moving each kept element down over the removed elements and then clearing the remaining tail once, rather than shifting the
+	 * tail of the list for every removed element. If the predicate throws an exception, the elements which have not yet been tested are retained and the list is left with only the elements removed
+	 * so far missing, as for removal through an {@link Iterator}.
+	 * </p>
+	 * 
+	 * @param predicate
+	 * @param keep
+	 *            true to retain the elements which pass the predicate, false to remove them
+	 * @return this list
+	 */
+	private EList<T> compact(EPredicate<T> predicate, boolean keep) {
+		if (!(delegate instanceof RandomAccess)) {
+			Iterator<T> iterator = delegate.iterator();
+			while (iterator.hasNext()) {
+				if (predicate.pass(iterator.next()) != keep) {
+					iterator.remove();
+				}
+			}
+			return this;
+		}
+		int size = delegate.size();
+		int read = 0;
+		int write = 0;
+		try {
+			for (; read < size; read++) {
+				T value = delegate.get(read);
+				if (predicate.pass(value) == keep) {
+					if (write != read) {
+						delegate.set(write, value);
+					}
+					write++;
+				}
+			}
+		} finally {
+			if (write != read) {
+				for (; read < size; read++) {
+					delegate.set(write++, delegate.get(read));
+				}
+				delegate.subList(write, size).clear();
 			}
 		}
 		return this;
 	}
 
 	/**
+	 * Creates a predicate passing elements contained in the given values. When there are more than {@link #HashThreshold} values and they are not already a {@link Set}, they are copied into a
+	 * {@link HashSet} so that each test is constant time rather than a linear scan of the values.
+	 */
+	static <T> EPredicate<T> in(Collection<?> values) {
+		final Collection<?> lookup = values.size() > HashThreshold && !(values instanceof Set) ? new HashSet<Object>(values) : values;
+		return new EPredicate<T>() {
+			@Override
+			public boolean pass(T input) {
+				return lookup.contains(input);
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * When the given comparator is a {@link ComparatorBuilder} or {@link CompiledComparator}, the bean properties of each element are read once and the elements are sorted on the extracted keys,
+	 * see {@link CompiledComparator#sort(List)}. Otherwise this is equivalent to {@link Collections#sort(List, Comparator)}.
+	 * </p>
+	 * 
 	 * @see Collections#sort(List)
 	 * @param comparator
 	 * @return
 	 */
 	@Override
 	public EList<T> sort(Comparator<T> comparator) {
-		Collections.sort(this.delegate, comparator);
+		if (comparator instanceof ComparatorBuilder) {
+			((ComparatorBuilder<T>) comparator).compile().sort(this.delegate);
+		} else if (comparator instanceof CompiledComparator) {
+			((CompiledComparator<T>) comparator).sort(this.delegate);
+		} else {
+			Collections.sort(this.delegate, comparator);
+		}
 		return this;
 	}
 
@@ -0,0 +1,261 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * <p>
+ * {@link EListView} is a lazy pipeline over the elements of a list, created using {@link EList#view()}.
+ * </p>
+ * <p>
+ * The {@link #filter(EPredicate)}, {@link #transform(ETransformer)} and {@link #limit(int)} stages do no work when they are added, they return a new view with the stage appended. When a
+ * terminal operation such as {@link #toList()} is invoked, all stages are applied to each element of the source in a single pass, so no intermediate lists are created. A {@link #limit(int)}
+ * stage ends the pass as soon as it has been reached, so remaining source elements are not visited.
+ * </p>
+ * <p>
+ * A view reads its source each time a terminal operation is invoked, and so reflects the current contents of the source list. As with an {@link Iterator}, the source must not be structurally
+ * modified while a terminal operation is in progress.
+ * </p>
+ * <p>
+ * Views are immutable and can be shared and reused, provided the predicates and transformers they contain are.
+ * </p>
+ * 
+ * <pre>
+ * <code>
+ * EList&lt;String&gt; names = people.view().filter(isAdult).transform(toName).limit(10).toList();
+ * </code>
+ * </pre>
+ * 
+ * @param <T>
+ * @see EList#view()
+ */
+public final class EListView<T> implements Iterable<T> {
+	private static final Object Skip = new Object();
+	private static final Stage[] NoStages = new Stage[0];
+
+	private final Iterable<?> source;
+	private final Stage[] stages;
+
+	EListView(Iterable<T> source) {
+		this(source, NoStages);
+	}
+
+	private EListView(Iterable<?> source, Stage[] stages) {
+		this.source = source;
+		this.stages = stages;
+	}
+
+	/**
+	 * @param predicate
+	 * @return a view containing only the elements of this view which pass the given predicate
+	 */
+	public EListView<T> filter(EPredicate<T> predicate) {
+		return append(new Stage(predicate, null, -1));
+	}
+
+	/**
+	 * @param transformer
+	 * @return a view containing the result of the given transformer for each element of this view
+	 */
+	public <To> EListView<To> transform(ETransformer<T, To> transformer) {
+		return append(new Stage(null, transformer, -1));
+	}
+
+	/**
+	 * @param size
+	 * @return a view containing at most the given number of elements from the start of this view
+	 */
+	public EListView<T> limit(int size) {
+		return append(new Stage(null, null, Math.max(0, size)));
+	}
+
+	/**
+	 * @return a new {@link EList} containing the elements of this view
+	 */
+	public EList<T> toList() {
+		return into(new EListImpl<T>(initialCapacity()));
+	}
+
+	/**
+	 * Adds the elements of this view to the given collection.
+	 * 
+	 * @param collection
+	 * @return the given collection
+	 */
+	@SuppressWarnings("unchecked")
+	public <C extends Collection<? super T>> C into(C collection) {
+		Pass pass = new Pass();
+		for (Object element : source) {
+			Object value = pass.apply(element);
+			if (value != Skip) {
+				collection.add((T) value);
+			}
+			if (pass.done) {
+				break;
+			}
+		}
+		return collection;
+	}
+
+	/**
+	 * @return the first element of this view, or null if this view is empty
+	 */
+	public T first() {
+		Iterator<T> iterator = iterator();
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	/**
+	 * @return the number of elements in this view
+	 */
+	public int count() {
+		Pass pass = new Pass();
+		int count = 0;
+		for (Object element : source) {
+			if (pass.apply(element) != Skip) {
+				count++;
+			}
+			if (pass.done) {
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return an iterator which lazily applies the stages of this view as it is advanced
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		final Iterator<?> iterator = source.iterator();
+		final Pass pass = new Pass();
+		return new Iterator<T>() {
+			private Object next = Skip;
+
+			@Override
+			public boolean hasNext() {
+				while (next == Skip && !pass.done && iterator.hasNext()) {
+					next = pass.apply(iterator.next());
+				}
+				return next != Skip;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				T value = (T) next;
+				next = Skip;
+				return value;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException("Elements cannot be removed through an EListView");
+			}
+		};
+	}
+
+	private <To> EListView<To> append(Stage stage) {
+		Stage[] stages = new Stage[this.stages.length + 1];
+		System.arraycopy(this.stages, 0, stages, 0, this.stages.length);
+		stages[this.stages.length] = stage;
+		return new EListView<To>(source, stages);
+	}
+
+	private int initialCapacity() {
+		if (source instanceof Collection) {
+			int size = ((Collection<?>) source).size();
+			for (Stage stage : stages) {
+				if (stage.predicate != null) {
+					return 10;
+				}
+				if (stage.limit > -1) {
+					size = Math.min(size, stage.limit);
+				}
+			}
+			return size;
+		}
+		return 10;
+	}
+
+	/**
+	 * A single stage of a view, exactly one of predicate, transformer or limit is set.
+	 */
+	private static final class Stage {
+		private final EPredicate<Object> predicate;
+		private final ETransformer<Object, Object> transformer;
+		private final int limit;
+
+		@SuppressWarnings("unchecked")
+		private Stage(EPredicate<?> predicate, ETransformer<?, ?> transformer, int limit) {
+			this.predicate = (EPredicate<Object>) predicate;
+			this.transformer = (ETransformer<Object, Object>) transformer;
+			this.limit = limit;
+		}
+	}
+
+	/**
+	 * The state of a single evaluation of a view, tracking the number of elements which have passed each limit stage.
+	 */
+	private final class Pass {
+		private final int[] counts = new int[stages.length];
+		private boolean done;
+
+		private Pass() {
+			for (int i = 0; i < stages.length; i++) {
+				if (stages[i].limit == 0) {
+					done = true;
+				}
+			}
+		}
+
+		/**
+		 * @return the result of applying each stage to the given element, or {@link EListView#Skip} if the element is excluded
+		 */
+		private Object apply(Object element) {
+			if (done) {
+				return Skip;
+			}
+			Object value = element;
+			for (int i = 0; i < stages.length; i++) {
+				Stage stage = stages[i];
+				if (stage.predicate != null) {
+					if (!stage.predicate.pass(value)) {
+						return Skip;
+					}
+				} else if (stage.transformer != null) {
+					value = stage.transformer.from(value);
+				} else if (++counts[i] == stage.limit) {
+					done = true;
+				}
+			}
+			return value;
+		}
+	}
+}
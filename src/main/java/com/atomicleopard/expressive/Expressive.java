@@ -20,6 +20,7 @@
  */
 package com.atomicleopard.expressive;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -38,7 +39,9 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
+import com.atomicleopard.expressive.collection.CompositeIndex;
 import com.atomicleopard.expressive.collection.Pair;
 import com.atomicleopard.expressive.comparator.CaseInsensitiveComparator;
 import com.atomicleopard.expressive.comparator.ComparableComparator;
@@ -53,15 +56,21 @@ import com.atomicleopard.expressive.predicate.EqualsPredicate;
 import com.atomicleopard.expressive.predicate.NotPredicate;
 import com.atomicleopard.expressive.predicate.NullPredicate;
 import com.atomicleopard.expressive.predicate.PredicateBuilder;
+import com.atomicleopard.expressive.transform.AsyncCollectionTransformer;
 import com.atomicleopard.expressive.transform.BeanPropertyLookupTransformer;
+import com.atomicleopard.expressive.transform.BeanPropertyLookupTransformer.Grouping;
 import com.atomicleopard.expressive.transform.BeanPropertyTransformer;
+import com.atomicleopard.expressive.transform.CachingTransformer;
 import com.atomicleopard.expressive.transform.CastTransformer;
 import com.atomicleopard.expressive.transform.CollectionTransformer;
+import com.atomicleopard.expressive.transform.CompositeBeanLookupTransformer;
+import com.atomicleopard.expressive.transform.CompositeKeyBeanLookupTransformer;
 import com.atomicleopard.expressive.transform.EnumFromStringTransformer;
 import com.atomicleopard.expressive.transform.EnumToStringTransformer;
 import com.atomicleopard.expressive.transform.KeyBeanPropertyLookupTransformer;
 import com.atomicleopard.expressive.transform.MappingTransformer;
 import com.atomicleopard.expressive.transform.ObjectToStringTransformer;
+import com.atomicleopard.expressive.transform.ParallelCollectionTransformer;
 
 /**
  * <p>
@@ -391,6 +400,248 @@ public class Expressive {
 		return list;
 	}
 
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link SortedEList}, which keeps its elements in the order defined by the given {@link Comparator} and uses binary search for lookups.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param comparator
+	 *            the comparator defining the order of the list
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link SortedEList} containing the given items in sorted order
+	 */
+	public static <T> SortedEList<T> sortedList(Comparator<T> comparator, T... values) {
+		return new SortedEList<T>(comparator, values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link SortedEList} from a {@link Collection}, which keeps its elements in the order defined by the given {@link Comparator} and uses binary search for
+	 * lookups.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param comparator
+	 *            the comparator defining the order of the list
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link SortedEList} containing the given items in sorted order
+	 */
+	public static <T> SortedEList<T> sortedList(Comparator<T> comparator, Collection<? extends T> values) {
+		return new SortedEList<T>(comparator, values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating an {@link IndexedEList} with an index of its elements, so that {@link EList#contains(Object)} and {@link EList#indexOf(Object)} are hash lookups. Further
+	 * indexes can be added using {@link IndexedEList#indexProperty(String)}.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return an {@link IndexedEList} containing the given items in the given order
+	 */
+	public static <T> IndexedEList<T> indexedList(T... values) {
+		return new IndexedEList<T>(values).indexElements();
+	}
+
+	/**
+	 * <p>
+	 * As {@link #indexedList(Object...)}, containing the elements of the given {@link Collection}.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return an {@link IndexedEList} containing the given items in the order defined by the supplied collection
+	 */
+	public static <T> IndexedEList<T> indexedList(Collection<? extends T> values) {
+		return new IndexedEList<T>(values).indexElements();
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link PersistentEList}, an immutable list whose modifying operations return a new list sharing structure with the original.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link PersistentEList} containing the given items in the given order
+	 */
+	public static <T> PersistentEList<T> persistentList(T... values) {
+		return PersistentEList.of(values);
+	}
+
+	/**
+	 * <p>
+	 * As {@link #persistentList(Object...)}, containing the elements of the given {@link Collection}.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link PersistentEList} containing the given items in the order defined by the supplied collection
+	 */
+	public static <T> PersistentEList<T> persistentList(Collection<? extends T> values) {
+		return PersistentEList.<T> of(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link CopyOnWriteEList}, a thread safe list for read mostly data whose modifications each copy the list.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link CopyOnWriteEList} containing the given items in the given order
+	 */
+	public static <T> CopyOnWriteEList<T> copyOnWriteList(T... values) {
+		return new CopyOnWriteEList<T>(values);
+	}
+
+	/**
+	 * <p>
+	 * As {@link #copyOnWriteList(Object...)}, containing the elements of the given {@link Collection}.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link CopyOnWriteEList} containing the given items in the order defined by the supplied collection
+	 */
+	public static <T> CopyOnWriteEList<T> copyOnWriteList(Collection<? extends T> values) {
+		return new CopyOnWriteEList<T>(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link ConcurrentEList}, a thread safe list guarded by a read write lock for frequently modified data.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link ConcurrentEList} containing the given items in the given order
+	 */
+	public static <T> ConcurrentEList<T> concurrentList(T... values) {
+		return new ConcurrentEList<T>(values);
+	}
+
+	/**
+	 * <p>
+	 * As {@link #concurrentList(Object...)}, containing the elements of the given {@link Collection}.
+	 * </p>
+	 * 
+	 * @param <T>
+	 * @param values
+	 *            the objects to be placed in the list
+	 * @return a {@link ConcurrentEList} containing the given items in the order defined by the supplied collection
+	 */
+	public static <T> ConcurrentEList<T> concurrentList(Collection<? extends T> values) {
+		return new ConcurrentEList<T>(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating an {@link IntEList}, a list of primitive int values which does not box its elements.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return an {@link IntEList} containing the given values in the given order
+	 */
+	public static IntEList intList(int... values) {
+		return new IntEList(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating an {@link IntEList} from a {@link Collection} of {@link Integer}s. Null elements are not permitted.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return an {@link IntEList} containing the given values in the order defined by the supplied collection
+	 */
+	public static IntEList intList(Collection<Integer> values) {
+		IntEList list = new IntEList(values == null ? 0 : values.size());
+		if (values != null) {
+			for (Integer value : values) {
+				list.add(value);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link LongEList}, a list of primitive long values which does not box its elements.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return a {@link LongEList} containing the given values in the given order
+	 */
+	public static LongEList longList(long... values) {
+		return new LongEList(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link LongEList} from a {@link Collection} of {@link Long}s. Null elements are not permitted.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return a {@link LongEList} containing the given values in the order defined by the supplied collection
+	 */
+	public static LongEList longList(Collection<Long> values) {
+		LongEList list = new LongEList(values == null ? 0 : values.size());
+		if (values != null) {
+			for (Long value : values) {
+				list.add(value);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link DoubleEList}, a list of primitive double values which does not box its elements.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return a {@link DoubleEList} containing the given values in the given order
+	 */
+	public static DoubleEList doubleList(double... values) {
+		return new DoubleEList(values);
+	}
+
+	/**
+	 * <p>
+	 * Convenience method for creating a {@link DoubleEList} from a {@link Collection} of {@link Double}s. Null elements are not permitted.
+	 * </p>
+	 * 
+	 * @param values
+	 *            the values to be placed in a list
+	 * @return a {@link DoubleEList} containing the given values in the order defined by the supplied collection
+	 */
+	public static DoubleEList doubleList(Collection<Double> values) {
+		DoubleEList list = new DoubleEList(values == null ? 0 : values.size());
+		if (values != null) {
+			for (Double value : values) {
+				list.add(value);
+			}
+		}
+		return list;
+	}
+
 	/**
 	 * Returns true if the given {@link Iterable} is empty or null
 	 * 
@@ -661,6 +912,137 @@ public class Expressive {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Parallel equivalents of the {@link Filter} operations, for use with large collections and predicates which are safe to evaluate concurrently.
+	 * </p>
+	 * <p>
+	 * The items are split into contiguous chunks which are filtered concurrently, and the results of each chunk are concatenated so that the resulting lists retain the order of the given items.
+	 * Collections smaller than {@link ParallelUtil#SequentialThreshold} are filtered sequentially on the calling thread. Unless an {@link ExecutorService} is given, chunks are processed using
+	 * {@link ParallelUtil#defaultExecutor()}.
+	 * </p>
+	 * <p>
+	 * If the predicate throws an exception for any item, the remaining chunks are cancelled and the exception is rethrown.
+	 * </p>
+	 * 
+	 * @see Filter
+	 * @see ParallelUtil
+	 */
+	public static class Parallel {
+		Parallel() {
+		}
+
+		/**
+		 * Return a new {@link EList} including only the items that pass the given {@link EPredicate}.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @return
+		 */
+		public static <T> EList<T> retain(Collection<T> items, EPredicate<T> predicate) {
+			return retain(items, predicate, ParallelUtil.defaultExecutor());
+		}
+
+		/**
+		 * Return a new {@link EList} including only the items that pass the given {@link EPredicate}, filtering chunks of the items on the given executor.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @param executor
+		 * @return
+		 */
+		public static <T> EList<T> retain(Collection<T> items, EPredicate<T> predicate, ExecutorService executor) {
+			return filter(items, predicate, executor, true, false).getA();
+		}
+
+		/**
+		 * Return a new {@link EList} removing the items that pass the given {@link EPredicate}.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @return
+		 */
+		public static <T> EList<T> remove(Collection<T> items, EPredicate<T> predicate) {
+			return remove(items, predicate, ParallelUtil.defaultExecutor());
+		}
+
+		/**
+		 * Return a new {@link EList} removing the items that pass the given {@link EPredicate}, filtering chunks of the items on the given executor.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @param executor
+		 * @return
+		 */
+		public static <T> EList<T> remove(Collection<T> items, EPredicate<T> predicate, ExecutorService executor) {
+			return filter(items, predicate, executor, false, true).getB();
+		}
+
+		/**
+		 * Returns a pair of lists split using the supplied {@link EPredicate}.
+		 * The first list contains all the items passing the given predicate, the second list the rest.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @return
+		 */
+		public static <T> Pair<EList<T>, EList<T>> split(Collection<T> items, EPredicate<T> predicate) {
+			return split(items, predicate, ParallelUtil.defaultExecutor());
+		}
+
+		/**
+		 * Returns a pair of lists split using the supplied {@link EPredicate}, filtering chunks of the items on the given executor.
+		 * The first list contains all the items passing the given predicate, the second list the rest.
+		 * 
+		 * @param items
+		 * @param predicate
+		 * @param executor
+		 * @return
+		 */
+		public static <T> Pair<EList<T>, EList<T>> split(Collection<T> items, EPredicate<T> predicate, ExecutorService executor) {
+			return filter(items, predicate, executor, true, true);
+		}
+
+		private static <T> Pair<EList<T>, EList<T>> filter(Collection<T> items, final EPredicate<T> predicate, ExecutorService executor, final boolean collectPass, final boolean collectFail) {
+			final List<T> source = ParallelUtil.randomAccess(items);
+			List<Pair<List<T>, List<T>>> chunks = ParallelUtil.invokeChunks(executor, source.size(), new ParallelUtil.Chunk<Pair<List<T>, List<T>>>() {
+				@Override
+				public Pair<List<T>, List<T>> process(int from, int to) {
+					List<T> pass = collectPass ? new ArrayList<T>() : null;
+					List<T> fail = collectFail ? new ArrayList<T>() : null;
+					for (int i = from; i < to; i++) {
+						T item = source.get(i);
+						if (predicate.pass(item)) {
+							if (collectPass) {
+								pass.add(item);
+							}
+						} else if (collectFail) {
+							fail.add(item);
+						}
+					}
+					return new Pair<List<T>, List<T>>(pass, fail);
+				}
+			});
+			int passSize = 0;
+			int failSize = 0;
+			for (Pair<List<T>, List<T>> chunk : chunks) {
+				passSize += collectPass ? chunk.getA().size() : 0;
+				failSize += collectFail ? chunk.getB().size() : 0;
+			}
+			EListImpl<T> pass = new EListImpl<T>(passSize);
+			EListImpl<T> fail = new EListImpl<T>(failSize);
+			for (Pair<List<T>, List<T>> chunk : chunks) {
+				if (collectPass) {
+					pass.addAll(chunk.getA());
+				}
+				if (collectFail) {
+					fail.addAll(chunk.getB());
+				}
+			}
+			return new Pair<EList<T>, EList<T>>(pass, fail);
+		}
+	}
+
 	/**
 	 * <p>
 	 * Provides common implementations of {@link EPredicate}.
@@ -802,6 +1184,7 @@ public class Expressive {
 	 * naturally expressed way of extracting values from standard java DTO.</li>
 	 * <li>{@link Transformers#toBeanLookup(String)} and variants provides a transformer which will create a one-to-many lookup map based on a bean property</li>
 	 * <li>{@link Transformers#toKeyBeanLookup(String)} and variants provides a transformer which will create a one-to-one lookup map based on a bean property</li>
+	 * <li>{@link Transformers#toKeyBeanLookup(String, String, String...)} and {@link Transformers#toBeanLookup(String, String, String...)} provide lookups based on several bean properties</li>
 	 * <li> {@link Transformers#transformAllUsing(ETransformer)} provides a transformer capable of transforming an entire collection</li>
 	 * </ul>
 	 * 
@@ -925,6 +1308,35 @@ public class Expressive {
 			return new BeanPropertyLookupTransformer<Bean, Property>(clazz, propertyName);
 		}
 
+		/**
+		 * <p>
+		 * As {@link #toBeanLookup(String)}, building the list of beans for each property value as determined by the given {@link Grouping}. {@link Grouping#Array} and {@link Grouping#Counted}
+		 * produce array-backed lists, which are more compact and faster to iterate than the default linked lists.
+		 * </p>
+		 * 
+		 * @param propertyName
+		 * @param grouping
+		 * @see #toBeanLookup(String)
+		 */
+		public static <Bean, Property> ETransformer<Collection<Bean>, Map<Property, List<Bean>>> toBeanLookup(String propertyName, Grouping grouping) {
+			return new BeanPropertyLookupTransformer<Bean, Property>(propertyName, grouping);
+		}
+
+		/**
+		 * <p>
+		 * As {@link #toBeanLookup(String, Class)}, building the list of beans for each property value as determined by the given {@link Grouping}. {@link Grouping#Array} and
+		 * {@link Grouping#Counted} produce array-backed lists, which are more compact and faster to iterate than the default linked lists.
+		 * </p>
+		 * 
+		 * @param propertyName
+		 * @param clazz
+		 * @param grouping
+		 * @see #toBeanLookup(String, Class)
+		 */
+		public static <Bean, Property> ETransformer<Collection<Bean>, Map<Property, List<Bean>>> toBeanLookup(String propertyName, Class<Bean> clazz, Grouping grouping) {
+			return new BeanPropertyLookupTransformer<Bean, Property>(clazz, propertyName, grouping);
+		}
+
 		/**
 		 * <p>
 		 * Given a the name of a javabean property returns an {@link ETransformer}. The returned {@link ETransformer} will provide a transformation across a collection of input javabean objects by
@@ -987,6 +1399,81 @@ public class Expressive {
 			return new KeyBeanPropertyLookupTransformer<Bean, Property>(propertyName);
 		}
 
+		/**
+		 * <p>
+		 * Given the names of two or more javabean properties returns an {@link ETransformer} which creates a one-to-one lookup from the values of those properties to the bean containing them, such
+		 * as from a region and a sku to a product.
+		 * </p>
+		 * <p>
+		 * The lookup is a {@link CompositeIndex}, which stores the property values directly rather than wrapping them in a key object. It can be queried by passing the values in property order, for
+		 * example <code>index.get("APAC", "SKU-1")</code>.
+		 * </p>
+		 * <p>
+		 * If a null collection is passed to the resulting {@link ETransformer}, it will return an empty index. If more than one bean contains the same property values, only the last (based on the
+		 * iteration order of the given collection) will be present.
+		 * </p>
+		 * 
+		 * @param firstPropertyName
+		 * @param secondPropertyName
+		 * @param morePropertyNames
+		 * @see #toKeyBeanLookup(Class, String, String, String...)
+		 */
+		public static <Bean> ETransformer<Collection<Bean>, CompositeIndex<Bean>> toKeyBeanLookup(String firstPropertyName, String secondPropertyName, String... morePropertyNames) {
+			return new CompositeKeyBeanLookupTransformer<Bean>(propertyNames(firstPropertyName, secondPropertyName, morePropertyNames));
+		}
+
+		/**
+		 * As {@link #toKeyBeanLookup(String, String, String...)}, resolving the properties once from the given {@link Class}.
+		 * 
+		 * @param clazz
+		 * @param firstPropertyName
+		 * @param secondPropertyName
+		 * @param morePropertyNames
+		 * @see #toKeyBeanLookup(String, String, String...)
+		 */
+		public static <Bean> ETransformer<Collection<Bean>, CompositeIndex<Bean>> toKeyBeanLookup(Class<Bean> clazz, String firstPropertyName, String secondPropertyName, String... morePropertyNames) {
+			return new CompositeKeyBeanLookupTransformer<Bean>(clazz, propertyNames(firstPropertyName, secondPropertyName, morePropertyNames));
+		}
+
+		/**
+		 * <p>
+		 * Given the names of two or more javabean properties returns an {@link ETransformer} which creates a one-to-many lookup from the values of those properties to the beans containing them.
+		 * </p>
+		 * <p>
+		 * The lookup is a {@link CompositeIndex} as described in {@link #toKeyBeanLookup(String, String, String...)}, the beans for each combination of values retain the iteration order of the
+		 * given collection.
+		 * </p>
+		 * 
+		 * @param firstPropertyName
+		 * @param secondPropertyName
+		 * @param morePropertyNames
+		 * @see #toBeanLookup(Class, String, String, String...)
+		 */
+		public static <Bean> ETransformer<Collection<Bean>, CompositeIndex<List<Bean>>> toBeanLookup(String firstPropertyName, String secondPropertyName, String... morePropertyNames) {
+			return new CompositeBeanLookupTransformer<Bean>(propertyNames(firstPropertyName, secondPropertyName, morePropertyNames));
+		}
+
+		/**
+		 * As {@link #toBeanLookup(String, String, String...)}, resolving the properties once from the given {@link Class}.
+		 * 
+		 * @param clazz
+		 * @param firstPropertyName
+		 * @param secondPropertyName
+		 * @param morePropertyNames
+		 * @see #toBeanLookup(String, String, String...)
+		 */
+		public static <Bean> ETransformer<Collection<Bean>, CompositeIndex<List<Bean>>> toBeanLookup(Class<Bean> clazz, String firstPropertyName, String secondPropertyName, String... morePropertyNames) {
+			return new CompositeBeanLookupTransformer<Bean>(clazz, propertyNames(firstPropertyName, secondPropertyName, morePropertyNames));
+		}
+
+		private static String[] propertyNames(String first, String second, String... more) {
+			String[] names = new String[more.length + 2];
+			names[0] = first;
+			names[1] = second;
+			System.arraycopy(more, 0, names, 2, more.length);
+			return names;
+		}
+
 		/**
 		 * <p>
 		 * Creates a {@link CollectionTransformer} for the given {@link ETransformer}.
@@ -1003,6 +1490,111 @@ public class Expressive {
 			return new CollectionTransformer<From, To>(transformer);
 		}
 
+		/**
+		 * <p>
+		 * Creates a {@link CachingTransformer} which caches up to the given number of results of the given {@link ETransformer}, evicting results according to the given policy.
+		 * </p>
+		 * 
+		 * @param transformer
+		 *            the transformer to cache the results of
+		 * @param maxSize
+		 *            the maximum number of results to cache
+		 * @param policy
+		 *            the eviction policy
+		 * @return a transformer which caches the results of the given transformer
+		 */
+		public static <From, To> CachingTransformer<From, To> cached(ETransformer<From, To> transformer, int maxSize, CachingTransformer.Policy policy) {
+			return new CachingTransformer<From, To>(transformer, maxSize, policy);
+		}
+
+		/**
+		 * <p>
+		 * Creates a {@link CachingTransformer} which caches up to the given number of results of the given {@link ETransformer}, evicting results according to the given policy, and optionally
+		 * holding them weakly.
+		 * </p>
+		 * 
+		 * @param transformer
+		 *            the transformer to cache the results of
+		 * @param maxSize
+		 *            the maximum number of results to cache
+		 * @param policy
+		 *            the eviction policy
+		 * @param weakValues
+		 *            true to hold cached results weakly, so they can be garbage collected while cached
+		 * @return a transformer which caches the results of the given transformer
+		 */
+		public static <From, To> CachingTransformer<From, To> cached(ETransformer<From, To> transformer, int maxSize, CachingTransformer.Policy policy, boolean weakValues) {
+			return new CachingTransformer<From, To>(transformer, maxSize, policy, weakValues);
+		}
+
+		/**
+		 * <p>
+		 * Creates a {@link ParallelCollectionTransformer} for the given {@link ETransformer}, which transforms large lists concurrently using {@link ParallelUtil#defaultExecutor()}.
+		 * </p>
+		 * <p>
+		 * The given transformer must be safe to invoke concurrently. The resulting lists retain the order of the input.
+		 * </p>
+		 * 
+		 * @param transformer
+		 * @return a collection transformer which uses the given transformer to perform transformations concurrently
+		 */
+		public static <From, To> CollectionTransformer<From, To> transformAllInParallelUsing(ETransformer<From, To> transformer) {
+			return new ParallelCollectionTransformer<From, To>(transformer);
+		}
+
+		/**
+		 * <p>
+		 * Creates a {@link ParallelCollectionTransformer} for the given {@link ETransformer}, which transforms large lists concurrently using the given executor.
+		 * </p>
+		 * <p>
+		 * The given transformer must be safe to invoke concurrently. The resulting lists retain the order of the input.
+		 * </p>
+		 * 
+		 * @param transformer
+		 * @param executor
+		 * @return a collection transformer which uses the given transformer to perform transformations concurrently
+		 */
+		public static <From, To> CollectionTransformer<From, To> transformAllInParallelUsing(ETransformer<From, To> transformer, ExecutorService executor) {
+			return new ParallelCollectionTransformer<From, To>(transformer, executor);
+		}
+
+		/**
+		 * <p>
+		 * Creates an {@link AsyncCollectionTransformer} for the given {@link ETransformer}, which invokes the transformer for each element as a separate task with at most the given number in
+		 * progress at once. This suits transformers which spend most of their time blocked, such as those performing I/O.
+		 * </p>
+		 * <p>
+		 * The given transformer must be safe to invoke concurrently. The resulting lists retain the order of the input.
+		 * </p>
+		 * 
+		 * @param transformer
+		 * @param concurrency
+		 *            the maximum number of transformations in progress at once
+		 * @return a collection transformer which uses the given transformer to perform transformations asynchronously
+		 */
+		public static <From, To> CollectionTransformer<From, To> transformAllAsyncUsing(ETransformer<From, To> transformer, int concurrency) {
+			return new AsyncCollectionTransformer<From, To>(transformer, concurrency);
+		}
+
+		/**
+		 * <p>
+		 * Creates an {@link AsyncCollectionTransformer} for the given {@link ETransformer}, which invokes the transformer for each element as a separate task on the given executor with at most the
+		 * given number in progress at once.
+		 * </p>
+		 * <p>
+		 * The given transformer must be safe to invoke concurrently. The resulting lists retain the order of the input.
+		 * </p>
+		 * 
+		 * @param transformer
+		 * @param concurrency
+		 *            the maximum number of transformations in progress at once
+		 * @param executor
+		 * @return a collection transformer which uses the given transformer to perform transformations asynchronously
+		 */
+		public static <From, To> CollectionTransformer<From, To> transformAllAsyncUsing(ETransformer<From, To> transformer, int concurrency, ExecutorService executor) {
+			return new AsyncCollectionTransformer<From, To>(transformer, concurrency, executor);
+		}
+
 		/**
 		 * <p>
 		 * Given an {@link Enum} type returns an {@link ETransformer}. The returned {@link ETransformer} will provide a string representation of a given enum value using the {@link Enum#name()}
@@ -1023,7 +1615,8 @@ public class Expressive {
 
 		/**
 		 * <p>
-		 * Given an {@link Enum} type returns an {@link ETransformer}. The returned {@link ETransformer} will provide an enum value given a string using {@link Enum#valueOf(Class, String)}.
+		 * Given an {@link Enum} type returns an {@link ETransformer}. The returned {@link ETransformer} will provide an enum value given a string matching its {@link Enum#name()}, as
+		 * {@link Enum#valueOf(Class, String)} does.
 		 * </p>
 		 * <p>
 		 * If a null object is passed to the resulting {@link ETransformer} or a string value which is not a valid enumeration , it will return null.
@@ -1039,6 +1632,28 @@ public class Expressive {
 			return new EnumFromStringTransformer<EnumType>(type);
 		}
 
+		/**
+		 * <p>
+		 * Given an {@link Enum} type returns an {@link ETransformer}. The returned {@link ETransformer} will provide an enum value given a string matching the name of the enum value, optionally
+		 * without regard to case, or one of the given aliases for it.
+		 * </p>
+		 * <p>
+		 * If a null object is passed to the resulting {@link ETransformer} or a string value which does not match an enum value, it will return null.
+		 * </p>
+		 * 
+		 * @param type
+		 *            The {@link Class} type of {@link Enum} which this transformer can apply to.
+		 * @param ignoreCase
+		 *            true to match names and aliases without regard to case
+		 * @param aliases
+		 *            additional strings to transform to the given enum values, may be empty
+		 * @return an {@link ETransformer} which transforms a string to an enum value, or null if no matching enum value exists
+		 * @see #toEnum(Class)
+		 */
+		public static <EnumType extends Enum<EnumType>> ETransformer<String, EnumType> toEnum(Class<EnumType> type, boolean ignoreCase, Map<String, EnumType> aliases) {
+			return new EnumFromStringTransformer<EnumType>(type, ignoreCase, aliases);
+		}
+
 		/**
 		 * <p>
 		 * Returns an {@link ETransformer} which will transform a given object to a string using {@link Object#toString()}.
@@ -0,0 +1,442 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import com.atomicleopard.expressive.predicate.EPredicate;
+import com.atomicleopard.expressive.predicate.EqualsPredicate;
+import com.atomicleopard.expressive.predicate.PredicateBuilder;
+import com.atomicleopard.expressive.transform.BeanPropertyTransformer;
+
+/**
+ * <p>
+ * An {@link EList} which maintains hash indexes over its elements, so that repeated equality lookups do not scan the list.
+ * </p>
+ * <p>
+ * {@link #indexElements()} adds an index of the elements themselves, which is used by {@link #contains(Object)}, {@link #indexOf(Object)}, {@link #lastIndexOf(Object)} and by
+ * {@link #getItems(EPredicate)} when given an {@link EqualsPredicate}. {@link #indexProperty(String)} adds an index of the value of a javabean property, which is used by
+ * {@link #getItems(EPredicate)} when given a {@link PredicateBuilder} which requires that property to equal a value. In that case only the beans with that value are tested against the whole
+ * predicate. Every element must be non null and have the property.
+ * </p>
+ * <p>
+ * Each index maps a value to the positions of the matching elements. Appending, replacing or removing the last element updates the indexes immediately. Inserting or removing elsewhere moves the
+ * positions of later elements, so instead the indexes are rebuilt in a single pass by the next lookup which needs them. Bulk removals and sorting also defer to a rebuild.
+ * </p>
+ * <p>
+ * The indexes only observe changes made through this list. An indexed property must not change while its bean is in the list, as lookups would continue to find the bean under its previous
+ * value. If it does change, call {@link #reindex()} before the next lookup.
+ * </p>
+ * 
+ * @param <T>
+ */
+public class IndexedEList<T> extends EListImpl<T> {
+	private final Map<String, Index<T>> propertyIndexes = new LinkedHashMap<String, Index<T>>();
+	private final List<Index<T>> indexes = new ArrayList<Index<T>>();
+	private Index<T> elementIndex;
+	private boolean stale;
+
+	public IndexedEList() {
+		super(0);
+		this.delegate = new IndexedList(new ArrayList<T>());
+	}
+
+	public IndexedEList(Collection<? extends T> values) {
+		super(0);
+		this.delegate = new IndexedList(values == null ? new ArrayList<T>() : new ArrayList<T>(values));
+	}
+
+	public IndexedEList(T... values) {
+		this(Arrays.asList(values));
+	}
+
+	/**
+	 * Adds an index of the elements of this list, if there is not one already.
+	 * 
+	 * @return this list
+	 */
+	public IndexedEList<T> indexElements() {
+		if (elementIndex == null) {
+			elementIndex = addIndex(new ETransformer<T, Object>() {
+				@Override
+				public Object from(T from) {
+					return from;
+				}
+			});
+		}
+		return this;
+	}
+
+	/**
+	 * Adds an index of the value of the given javabean property of the elements of this list, if there is not one already.
+	 * 
+	 * @param propertyName
+	 * @return this list
+	 */
+	public IndexedEList<T> indexProperty(String propertyName) {
+		if (!propertyIndexes.containsKey(propertyName)) {
+			propertyIndexes.put(propertyName, addIndex(new BeanPropertyTransformer<T, Object>(propertyName)));
+		}
+		return this;
+	}
+
+	/**
+	 * Rebuilds the indexes of this list from its current elements on the next lookup which needs them, for use after indexed properties of the elements have changed.
+	 * 
+	 * @return this list
+	 */
+	public IndexedEList<T> reindex() {
+		stale = true;
+		return this;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return elementIndex != null ? indexOf(o) > -1 : super.contains(o);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (elementIndex == null) {
+			return super.indexOf(o);
+		}
+		Positions positions = positions(elementIndex, o);
+		return positions == null ? -1 : positions.values[0];
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (elementIndex == null) {
+			return super.lastIndexOf(o);
+		}
+		Positions positions = positions(elementIndex, o);
+		return positions == null ? -1 : positions.values[positions.size - 1];
+	}
+
+	@Override
+	public EList<T> getItems(EPredicate<T> predicate) {
+		Positions candidates = candidates(predicate);
+		if (candidates == null) {
+			return super.getItems(predicate);
+		}
+		EListImpl<T> list = new EListImpl<T>(candidates.size);
+		for (int i = 0; i < candidates.size; i++) {
+			T t = delegate.get(candidates.values[i]);
+			if (predicate.pass(t)) {
+				list.add(t);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public EList<T> removeItems(T... values) {
+		stale = true;
+		return super.removeItems(values);
+	}
+
+	@Override
+	public EList<T> removeItems(Collection<? extends T> values) {
+		stale = true;
+		return super.removeItems(values);
+	}
+
+	@Override
+	public EList<T> removeItems(EPredicate<T> predicate) {
+		stale = true;
+		return super.removeItems(predicate);
+	}
+
+	@Override
+	public EList<T> retainItems(T... values) {
+		stale = true;
+		return super.retainItems(values);
+	}
+
+	@Override
+	public EList<T> retainItems(Collection<? extends T> values) {
+		stale = true;
+		return super.retainItems(values);
+	}
+
+	@Override
+	public EList<T> retainItems(EPredicate<T> predicate) {
+		stale = true;
+		return super.retainItems(predicate);
+	}
+
+	@Override
+	public EList<T> sort(Comparator<T> comparator) {
+		stale = true;
+		return super.sort(comparator);
+	}
+
+	/**
+	 * @return the positions of the elements which could pass the given predicate, or null if no index applies to it
+	 */
+	@SuppressWarnings("unchecked")
+	private Positions candidates(EPredicate<T> predicate) {
+		if (EqualsPredicate.isValuePredicate(predicate) && elementIndex != null) {
+			return orEmpty(positions(elementIndex, ((EqualsPredicate<T>) predicate).getValue()));
+		}
+		if (predicate instanceof PredicateBuilder && !propertyIndexes.isEmpty()) {
+			for (Map.Entry<String, EPredicate<?>> entry : ((PredicateBuilder<T>) predicate).getPropertyPredicates().entrySet()) {
+				Index<T> index = propertyIndexes.get(entry.getKey());
+				if (index != null && EqualsPredicate.isValuePredicate(entry.getValue())) {
+					return orEmpty(positions(index, ((EqualsPredicate<?>) entry.getValue()).getValue()));
+				}
+			}
+		}
+		return null;
+	}
+
+	private Positions positions(Index<T> index, Object key) {
+		if (stale) {
+			rebuild();
+		}
+		return index.buckets.get(key);
+	}
+
+	private Index<T> addIndex(ETransformer<T, Object> key) {
+		Index<T> index = new Index<T>(key);
+		for (int i = 0; i < delegate.size(); i++) {
+			index.add(index.key.from(delegate.get(i)), i);
+		}
+		indexes.add(index);
+		return index;
+	}
+
+	private void rebuild() {
+		for (Index<T> index : indexes) {
+			index.buckets.clear();
+			for (int i = 0; i < delegate.size(); i++) {
+				index.add(index.key.from(delegate.get(i)), i);
+			}
+		}
+		stale = false;
+	}
+
+	private void reset() {
+		for (Index<T> index : indexes) {
+			index.buckets.clear();
+		}
+		stale = false;
+	}
+
+	private static Positions orEmpty(Positions positions) {
+		return positions == null ? new Positions() : positions;
+	}
+
+	private static final class Index<T> {
+		private final ETransformer<T, Object> key;
+		private final Map<Object, Positions> buckets = new HashMap<Object, Positions>();
+
+		private Index(ETransformer<T, Object> key) {
+			this.key = key;
+		}
+
+		private void add(Object value, int position) {
+			Positions positions = buckets.get(value);
+			if (positions == null) {
+				positions = new Positions();
+				buckets.put(value, positions);
+			}
+			positions.insert(position);
+		}
+
+		private void remove(Object value, int position) {
+			Positions positions = buckets.get(value);
+			if (positions != null && positions.remove(position) && positions.size == 0) {
+				buckets.remove(value);
+			}
+		}
+	}
+
+	/**
+	 * The ascending positions of the elements with a value in an index.
+	 */
+	private static final class Positions {
+		private int[] values = new int[2];
+		private int size;
+
+		private void insert(int position) {
+			int index = size == 0 || values[size - 1] < position ? size : Arrays.binarySearch(values, 0, size, position);
+			if (index >= 0 && index < size) {
+				return;
+			}
+			index = index < 0 ? -index - 1 : index;
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			System.arraycopy(values, index, values, index + 1, size - index);
+			values[index] = position;
+			size++;
+		}
+
+		private boolean remove(int position) {
+			int index = Arrays.binarySearch(values, 0, size, position);
+			if (index < 0) {
+				return false;
+			}
+			System.arraycopy(values, index + 1, values, index, size - index - 1);
+			size--;
+			return true;
+		}
+	}
+
+	/**
+	 * The delegate of an {@link IndexedEList}, which keeps the indexes up to date as the list is modified, regardless of whether it is modified directly or through an iterator or sub list.
+	 */
+	private final class IndexedList extends AbstractList<T> implements RandomAccess {
+		private final ArrayList<T> store;
+
+		private IndexedList(ArrayList<T> store) {
+			this.store = store;
+		}
+
+		@Override
+		public T get(int index) {
+			return store.get(index);
+		}
+
+		@Override
+		public int size() {
+			return store.size();
+		}
+
+		@Override
+		public T set(int index, T element) {
+			Object[] keys = keys(element);
+			if (stale) {
+				return store.set(index, element);
+			}
+			Object[] previousKeys = keys(store.get(index));
+			T previous = store.set(index, element);
+			for (int i = 0; i < keys.length; i++) {
+				Index<T> idx = indexes.get(i);
+				idx.remove(previousKeys[i], index);
+				idx.add(keys[i], index);
+			}
+			return previous;
+		}
+
+		@Override
+		public void add(int index, T element) {
+			// computed before modifying the list, so that an element which cannot be indexed is rejected rather than breaking every later rebuild
+			Object[] keys = keys(element);
+			boolean append = index == store.size();
+			store.add(index, element);
+			modCount++;
+			if (append && !stale) {
+				for (int i = 0; i < keys.length; i++) {
+					indexes.get(i).add(keys[i], index);
+				}
+			} else {
+				stale = true;
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean addAll(int index, Collection<? extends T> c) {
+			Object[] values = c.toArray();
+			// as for add, every key is computed before modifying the list
+			Object[][] keys = new Object[values.length][];
+			for (int i = 0; i < values.length; i++) {
+				keys[i] = keys((T) values[i]);
+			}
+			int size = store.size();
+			boolean changed = store.addAll(index, (List<T>) Arrays.asList(values));
+			modCount++;
+			if (index == size && !stale) {
+				for (int i = 0; i < values.length; i++) {
+					for (int j = 0; j < indexes.size(); j++) {
+						indexes.get(j).add(keys[i][j], size + i);
+					}
+				}
+			} else {
+				stale = true;
+			}
+			return changed;
+		}
+
+		@Override
+		public T remove(int index) {
+			Object[] keys = index == store.size() - 1 && !stale ? keys(store.get(index)) : null;
+			T previous = store.remove(index);
+			modCount++;
+			if (keys != null) {
+				for (int i = 0; i < keys.length; i++) {
+					indexes.get(i).remove(keys[i], index);
+				}
+			} else {
+				stale = true;
+			}
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			store.clear();
+			modCount++;
+			reset();
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			store.subList(fromIndex, toIndex).clear();
+			modCount++;
+			if (store.isEmpty()) {
+				reset();
+			} else {
+				stale = true;
+			}
+		}
+
+		@Override
+		public Object[] toArray() {
+			return store.toArray();
+		}
+
+		@Override
+		@SuppressWarnings("hiding")
+		public <T> T[] toArray(T[] a) {
+			return store.toArray(a);
+		}
+
+		private Object[] keys(T element) {
+			Object[] keys = new Object[indexes.size()];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = indexes.get(i).key.from(element);
+			}
+			return keys;
+		}
+	}
+}
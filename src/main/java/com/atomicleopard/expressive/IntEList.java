@@ -0,0 +1,366 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.Arrays;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.IntPredicate;
+
+/**
+ * <p>
+ * A list of primitive <code>int</code> values, backed by a <code>int[]</code>.
+ * </p>
+ * <p>
+ * {@link IntEList} provides the chainable operations of {@link EList} for int values without boxing each element into an {@link Integer}. Filtering is performed with a
+ * {@link IntPredicate} and element-wise transformation with a {@link IntTransformer}.
+ * </p>
+ * <p>
+ * Where an {@link EList} is required, {@link #boxed()} creates one containing the same values.
+ * </p>
+ * 
+ * @see EList
+ * @see Expressive#intList(int...)
+ */
+public final class IntEList {
+	private int[] values;
+	private int size;
+
+	public IntEList() {
+		this(10);
+	}
+
+	public IntEList(int initialCapacity) {
+		super();
+		this.values = new int[Math.max(0, initialCapacity)];
+	}
+
+	public IntEList(int[] values) {
+		super();
+		this.values = values.clone();
+		this.size = values.length;
+	}
+
+	private IntEList(int[] values, int size) {
+		super();
+		this.values = values;
+		this.size = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is not within the bounds of this list
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+		}
+		return values[index];
+	}
+
+	/**
+	 * <p>
+	 * Returns the value at the given index, or the given default when the index is outside the bounds of this list. This is the primitive equivalent of {@link EList#at(int)}, which returns null
+	 * in the same circumstances.
+	 * </p>
+	 * 
+	 * @param index
+	 * @param otherwise
+	 * @return
+	 */
+	public int at(int index, int otherwise) {
+		return index > -1 && index < size ? values[index] : otherwise;
+	}
+
+	public int first(int otherwise) {
+		return at(0, otherwise);
+	}
+
+	public int last(int otherwise) {
+		return at(size - 1, otherwise);
+	}
+
+	public IntEList set(int index, int value) {
+		get(index);
+		values[index] = value;
+		return this;
+	}
+
+	public boolean contains(int value) {
+		return indexOf(value) > -1;
+	}
+
+	public int indexOf(int value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean add(int value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+		return true;
+	}
+
+	public IntEList addItems(int... values) {
+		ensureCapacity(size + values.length);
+		System.arraycopy(values, 0, this.values, size, values.length);
+		size += values.length;
+		return this;
+	}
+
+	public IntEList addItems(IntEList list) {
+		if (list != null) {
+			ensureCapacity(size + list.size);
+			System.arraycopy(list.values, 0, this.values, size, list.size);
+			size += list.size;
+		}
+		return this;
+	}
+
+	public IntEList insertItems(int index, int... values) {
+		index = Math.max(0, Math.min(index, size));
+		ensureCapacity(size + values.length);
+		System.arraycopy(this.values, index, this.values, index + values.length, size - index);
+		System.arraycopy(values, 0, this.values, index, values.length);
+		size += values.length;
+		return this;
+	}
+
+	/**
+	 * Removes all occurrences of each of the given values from this list.
+	 * 
+	 * @param values
+	 * @return this list
+	 */
+	public IntEList removeItems(int... values) {
+		return filter(lookup(values), false);
+	}
+
+	public IntEList removeItems(IntPredicate predicate) {
+		return filter(predicate, false);
+	}
+
+	/**
+	 * Removes all values from this list which are not one of the given values.
+	 * 
+	 * @param values
+	 * @return this list
+	 */
+	public IntEList retainItems(int... values) {
+		return filter(lookup(values), true);
+	}
+
+	public IntEList retainItems(IntPredicate predicate) {
+		return filter(predicate, true);
+	}
+
+	public IntEList getItems(IntPredicate predicate) {
+		int[] result = new int[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			int value = values[i];
+			if (predicate.pass(value)) {
+				result[count++] = value;
+			}
+		}
+		return new IntEList(result, count);
+	}
+
+	/**
+	 * Behaves as {@link EList#getItems(int, int)}, returning a new list containing the values in the given range.
+	 * 
+	 * @param index
+	 * @param size
+	 * @return
+	 */
+	public IntEList getItems(int index, int size) {
+		int start = Math.min(Math.max(0, index), this.size);
+		size = Math.max(0, size);
+		size = index < 0 ? size + index : size;
+		int end = Math.max(start, Math.min(this.size, start + size));
+		return new IntEList(Arrays.copyOfRange(values, start, end), end - start);
+	}
+
+	public Pair<IntEList, IntEList> split(IntPredicate predicate) {
+		IntEList pass = new IntEList(size);
+		IntEList fail = new IntEList(size);
+		for (int i = 0; i < size; i++) {
+			int value = values[i];
+			if (predicate.pass(value)) {
+				pass.values[pass.size++] = value;
+			} else {
+				fail.values[fail.size++] = value;
+			}
+		}
+		return new Pair<IntEList, IntEList>(pass, fail);
+	}
+
+	/**
+	 * Sorts this list into ascending order, see {@link Arrays#sort(int[])}.
+	 * 
+	 * @return this list
+	 */
+	public IntEList sort() {
+		Arrays.sort(values, 0, size);
+		return this;
+	}
+
+	/**
+	 * Replaces each value in this list with the result of the given transformer.
+	 * 
+	 * @param transformer
+	 * @return this list
+	 */
+	public IntEList transform(IntTransformer transformer) {
+		for (int i = 0; i < size; i++) {
+			values[i] = transformer.from(values[i]);
+		}
+		return this;
+	}
+
+	public IntEList duplicate() {
+		return new IntEList(Arrays.copyOf(values, size), size);
+	}
+
+	public IntEList clear() {
+		size = 0;
+		return this;
+	}
+
+	public int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * @return a new {@link EList} containing the boxed values of this list
+	 */
+	public EList<Integer> boxed() {
+		EListImpl<Integer> list = new EListImpl<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(values[i]);
+		}
+		return list;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IntEList)) {
+			return false;
+		}
+		IntEList other = (IntEList) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (values[i] != other.values[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + values[i];
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+		}
+	}
+
+	/**
+	 * Compacts this list in place, keeping only the values for which the predicate result matches the given keep flag. If the predicate throws an exception, the values which have not yet been
+	 * tested are retained, so the list is left with only the values removed so far missing.
+	 */
+	private IntEList filter(IntPredicate predicate, boolean keep) {
+		int read = 0;
+		int count = 0;
+		try {
+			for (; read < size; read++) {
+				int value = values[read];
+				if (predicate.pass(value) == keep) {
+					values[count++] = value;
+				}
+			}
+		} finally {
+			if (count != read) {
+				System.arraycopy(values, read, values, count, size - read);
+				size = count + size - read;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Creates a predicate passing any of the given values, using a binary search over a sorted copy of the values when there are enough of them to make a linear scan costly.
+	 */
+	private static IntPredicate lookup(int... values) {
+		final int[] lookup = values.clone();
+		if (lookup.length > 8) {
+			Arrays.sort(lookup);
+			return new IntPredicate() {
+				@Override
+				public boolean pass(int input) {
+					return Arrays.binarySearch(lookup, input) > -1;
+				}
+			};
+		}
+		return new IntPredicate() {
+			@Override
+			public boolean pass(int input) {
+				for (int value : lookup) {
+					if (value == input) {
+						return true;
+					}
+				}
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.beans.PropertyDescriptor;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * {@link IntrospectionCache} holds the readable javabean properties of each introspected type, so that types are only introspected once no matter how many predicates, comparators and
+ * transformers are created for them.
+ * </p>
+ * <p>
+ * The cache is safe for use from multiple threads. Types are held weakly and their properties softly. As the cached {@link PropertyDescriptor}s refer to the methods of their type, a cached type
+ * and its class loader (for example after a redeployment) are only released once the garbage collector clears the soft reference to its properties, which it does under memory pressure.
+ * </p>
+ * <p>
+ * The number of cache hits and misses are available from {@link #getHitCount()} and {@link #getMissCount()}.
+ * </p>
+ */
+public final class IntrospectionCache {
+	private static final Map<Class<?>, SoftReference<Map<String, PropertyDescriptor>>> Cache = Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<Map<String, PropertyDescriptor>>>());
+	private static final AtomicLong Hits = new AtomicLong();
+	private static final AtomicLong Misses = new AtomicLong();
+
+	private IntrospectionCache() {
+	}
+
+	/**
+	 * Returns the readable javabean properties of the given type, keyed on property name in the order they are provided by {@link java.beans.Introspector}. The returned map is shared and cannot be
+	 * modified.
+	 * 
+	 * @param type
+	 * @return a map of property name to {@link PropertyDescriptor} for each readable property of the given type
+	 */
+	public static Map<String, PropertyDescriptor> getBeanGetters(Class<?> type) {
+		SoftReference<Map<String, PropertyDescriptor>> reference = Cache.get(type);
+		Map<String, PropertyDescriptor> getters = reference == null ? null : reference.get();
+		if (getters == null) {
+			Misses.incrementAndGet();
+			getters = getBeanGettersUncached(type);
+			Cache.put(type, new SoftReference<Map<String, PropertyDescriptor>>(getters));
+		} else {
+			Hits.incrementAndGet();
+		}
+		return getters;
+	}
+
+	/**
+	 * Introspects the given type without consulting or populating the cache.
+	 * 
+	 * @param type
+	 * @return a map of property name to {@link PropertyDescriptor} for each readable property of the given type
+	 * @see #getBeanGetters(Class)
+	 */
+	public static Map<String, PropertyDescriptor> getBeanGettersUncached(Class<?> type) {
+		PropertyDescriptor[] descriptors = ReflectUtil.introspectBeanGetters(type);
+		Map<String, PropertyDescriptor> getters = new LinkedHashMap<String, PropertyDescriptor>(descriptors.length * 2);
+		for (PropertyDescriptor descriptor : descriptors) {
+			getters.put(descriptor.getName(), descriptor);
+		}
+		return Collections.unmodifiableMap(getters);
+	}
+
+	/**
+	 * @return the number of lookups which were answered from the cache
+	 */
+	public static long getHitCount() {
+		return Hits.get();
+	}
+
+	/**
+	 * @return the number of lookups which required a type to be introspected
+	 */
+	public static long getMissCount() {
+		return Misses.get();
+	}
+
+	/**
+	 * @return the number of types currently cached
+	 */
+	public static int size() {
+		return Cache.size();
+	}
+
+	/**
+	 * Removes all cached types and resets the hit and miss counts.
+	 */
+	public static void clear() {
+		Cache.clear();
+		Hits.set(0);
+		Misses.set(0);
+	}
+}
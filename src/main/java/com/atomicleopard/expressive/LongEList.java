@@ -0,0 +1,366 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.Arrays;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.LongPredicate;
+
+/**
+ * <p>
+ * A list of primitive <code>long</code> values, backed by a <code>long[]</code>.
+ * </p>
+ * <p>
+ * {@link LongEList} provides the chainable operations of {@link EList} for long values without boxing each element into an {@link Long}. Filtering is performed with a
+ * {@link LongPredicate} and element-wise transformation with a {@link LongTransformer}.
+ * </p>
+ * <p>
+ * Where an {@link EList} is required, {@link #boxed()} creates one containing the same values.
+ * </p>
+ * 
+ * @see EList
+ * @see Expressive#longList(long...)
+ */
+public final class LongEList {
+	private long[] values;
+	private int size;
+
+	public LongEList() {
+		this(10);
+	}
+
+	public LongEList(int initialCapacity) {
+		super();
+		this.values = new long[Math.max(0, initialCapacity)];
+	}
+
+	public LongEList(long[] values) {
+		super();
+		this.values = values.clone();
+		this.size = values.length;
+	}
+
+	private LongEList(long[] values, int size) {
+		super();
+		this.values = values;
+		this.size = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param index
+	 * @return the value at the given index
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is not within the bounds of this list
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+		}
+		return values[index];
+	}
+
+	/**
+	 * <p>
+	 * Returns the value at the given index, or the given default when the index is outside the bounds of this list. This is the primitive equivalent of {@link EList#at(int)}, which returns null
+	 * in the same circumstances.
+	 * </p>
+	 * 
+	 * @param index
+	 * @param otherwise
+	 * @return
+	 */
+	public long at(int index, long otherwise) {
+		return index > -1 && index < size ? values[index] : otherwise;
+	}
+
+	public long first(long otherwise) {
+		return at(0, otherwise);
+	}
+
+	public long last(long otherwise) {
+		return at(size - 1, otherwise);
+	}
+
+	public LongEList set(int index, long value) {
+		get(index);
+		values[index] = value;
+		return this;
+	}
+
+	public boolean contains(long value) {
+		return indexOf(value) > -1;
+	}
+
+	public int indexOf(long value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public boolean add(long value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+		return true;
+	}
+
+	public LongEList addItems(long... values) {
+		ensureCapacity(size + values.length);
+		System.arraycopy(values, 0, this.values, size, values.length);
+		size += values.length;
+		return this;
+	}
+
+	public LongEList addItems(LongEList list) {
+		if (list != null) {
+			ensureCapacity(size + list.size);
+			System.arraycopy(list.values, 0, this.values, size, list.size);
+			size += list.size;
+		}
+		return this;
+	}
+
+	public LongEList insertItems(int index, long... values) {
+		index = Math.max(0, Math.min(index, size));
+		ensureCapacity(size + values.length);
+		System.arraycopy(this.values, index, this.values, index + values.length, size - index);
+		System.arraycopy(values, 0, this.values, index, values.length);
+		size += values.length;
+		return this;
+	}
+
+	/**
+	 * Removes all occurrences of each of the given values from this list.
+	 * 
+	 * @param values
+	 * @return this list
+	 */
+	public LongEList removeItems(long... values) {
+		return filter(lookup(values), false);
+	}
+
+	public LongEList removeItems(LongPredicate predicate) {
+		return filter(predicate, false);
+	}
+
+	/**
+	 * Removes all values from this list which are not one of the given values.
+	 * 
+	 * @param values
+	 * @return this list
+	 */
+	public LongEList retainItems(long... values) {
+		return filter(lookup(values), true);
+	}
+
+	public LongEList retainItems(LongPredicate predicate) {
+		return filter(predicate, true);
+	}
+
+	public LongEList getItems(LongPredicate predicate) {
+		long[] result = new long[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			long value = values[i];
+			if (predicate.pass(value)) {
+				result[count++] = value;
+			}
+		}
+		return new LongEList(result, count);
+	}
+
+	/**
+	 * Behaves as {@link EList#getItems(int, int)}, returning a new list containing the values in the given range.
+	 * 
+	 * @param index
+	 * @param size
+	 * @return
+	 */
+	public LongEList getItems(int index, int size) {
+		int start = Math.min(Math.max(0, index), this.size);
+		size = Math.max(0, size);
+		size = index < 0 ? size + index : size;
+		int end = Math.max(start, Math.min(this.size, start + size));
+		return new LongEList(Arrays.copyOfRange(values, start, end), end - start);
+	}
+
+	public Pair<LongEList, LongEList> split(LongPredicate predicate) {
+		LongEList pass = new LongEList(size);
+		LongEList fail = new LongEList(size);
+		for (int i = 0; i < size; i++) {
+			long value = values[i];
+			if (predicate.pass(value)) {
+				pass.values[pass.size++] = value;
+			} else {
+				fail.values[fail.size++] = value;
+			}
+		}
+		return new Pair<LongEList, LongEList>(pass, fail);
+	}
+
+	/**
+	 * Sorts this list into ascending order, see {@link Arrays#sort(long[])}.
+	 * 
+	 * @return this list
+	 */
+	public LongEList sort() {
+		Arrays.sort(values, 0, size);
+		return this;
+	}
+
+	/**
+	 * Replaces each value in this list with the result of the given transformer.
+	 * 
+	 * @param transformer
+	 * @return this list
+	 */
+	public LongEList transform(LongTransformer transformer) {
+		for (int i = 0; i < size; i++) {
+			values[i] = transformer.from(values[i]);
+		}
+		return this;
+	}
+
+	public LongEList duplicate() {
+		return new LongEList(Arrays.copyOf(values, size), size);
+	}
+
+	public LongEList clear() {
+		size = 0;
+		return this;
+	}
+
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * @return a new {@link EList} containing the boxed values of this list
+	 */
+	public EList<Long> boxed() {
+		EListImpl<Long> list = new EListImpl<Long>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(values[i]);
+		}
+		return list;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LongEList)) {
+			return false;
+		}
+		LongEList other = (LongEList) obj;
+		if (size != other.size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (values[i] != other.values[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + (int) (values[i] ^ (values[i] >>> 32));
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+		}
+	}
+
+	/**
+	 * Compacts this list in place, keeping only the values for which the predicate result matches the given keep flag. If the predicate throws an exception, the values which have not yet been
+	 * tested are retained, so the list is left with only the values removed so far missing.
+	 */
+	private LongEList filter(LongPredicate predicate, boolean keep) {
+		int read = 0;
+		int count = 0;
+		try {
+			for (; read < size; read++) {
+				long value = values[read];
+				if (predicate.pass(value) == keep) {
+					values[count++] = value;
+				}
+			}
+		} finally {
+			if (count != read) {
+				System.arraycopy(values, read, values, count, size - read);
+				size = count + size - read;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Creates a predicate passing any of the given values, using a binary search over a sorted copy of the values when there are enough of them to make a linear scan costly.
+	 */
+	private static LongPredicate lookup(long... values) {
+		final long[] lookup = values.clone();
+		if (lookup.length > 8) {
+			Arrays.sort(lookup);
+			return new LongPredicate() {
+				@Override
+				public boolean pass(long input) {
+					return Arrays.binarySearch(lookup, input) > -1;
+				}
+			};
+		}
+		return new LongPredicate() {
+			@Override
+			public boolean pass(long input) {
+				for (long value : lookup) {
+					if (value == input) {
+						return true;
+					}
+				}
+				return false;
+			}
+		};
+	}
+}
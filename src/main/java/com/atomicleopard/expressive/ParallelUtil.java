@@ -0,0 +1,221 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Support for splitting operations over large lists into contiguous chunks which are processed concurrently on an {@link ExecutorService}.
+ * </p>
+ * <p>
+ * Chunks cover disjoint, ordered index ranges, and their results are returned in the same order, so that callers can concatenate them preserving the order of the source list. Lists smaller than
+ * {@link #SequentialThreshold} are processed as a single chunk on the calling thread.
+ * </p>
+ * 
+ * @see Expressive.Parallel
+ */
+public class ParallelUtil {
+	/**
+	 * The size below which operations are performed sequentially on the calling thread.
+	 */
+	public static final int SequentialThreshold = 10000;
+
+	/**
+	 * The smallest number of elements given to a single chunk.
+	 */
+	static final int MinimumChunkSize = 1000;
+
+	ParallelUtil() {
+	}
+
+	/**
+	 * Processes a contiguous range of elements.
+	 * 
+	 * @param <R>
+	 */
+	public interface Chunk<R> {
+		/**
+		 * @param from
+		 *            the first index of the range, inclusive
+		 * @param to
+		 *            the last index of the range, exclusive
+		 * @return the result for the range
+		 * @throws Exception
+		 */
+		public R process(int from, int to) throws Exception;
+	}
+
+	/**
+	 * @return a shared executor of daemon threads, one per available processor
+	 */
+	public static ExecutorService defaultExecutor() {
+		return DefaultExecutor.Instance;
+	}
+
+	/**
+	 * @param prefix
+	 * @return a {@link ThreadFactory} creating daemon threads, named with the given prefix followed by a sequence number, so that idle shared executors do not prevent the JVM from exiting
+	 */
+	public static ThreadFactory daemonThreadFactory(final String prefix) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * @param items
+	 * @return the given items if they are a {@link RandomAccess} {@link List}, otherwise a copy of them in an {@link ArrayList}, or an empty list for null
+	 */
+	public static <T> List<T> randomAccess(Collection<T> items) {
+		if (items == null) {
+			return Collections.emptyList();
+		}
+		return items instanceof List && items instanceof RandomAccess ? (List<T>) items : new ArrayList<T>(items);
+	}
+
+	/**
+	 * @param size
+	 * @return a modifiable {@link EList} of the given size whose elements are all null, for chunks to {@link List#set(int, Object)} their results into disjoint ranges of
+	 */
+	public static <T> EList<T> presizedList(int size) {
+		return new EListImpl<T>(new ArrayList<T>(Collections.<T> nCopies(size, null)), false);
+	}
+
+	/**
+	 * @param size
+	 * @return the number of chunks a list of the given size is split into
+	 */
+	public static int chunkCount(int size) {
+		if (size < SequentialThreshold) {
+			return 1;
+		}
+		int processors = Runtime.getRuntime().availableProcessors();
+		return Math.max(1, Math.min(processors * 4, size / MinimumChunkSize));
+	}
+
+	/**
+	 * <p>
+	 * Splits the index range <code>[0, size)</code> into {@link #chunkCount(int)} contiguous ranges and processes them using the given executor. The first chunk is processed on the calling
+	 * thread.
+	 * </p>
+	 * <p>
+	 * Rather than blocking on chunks which the executor has not yet started, the calling thread processes them itself. This means a chunk may safely invoke further parallel operations on the same
+	 * executor: when every thread of the executor is waiting on nested chunks, the waiting threads process those chunks rather than deadlocking.
+	 * </p>
+	 * <p>
+	 * If processing any chunk fails, the chunks which have not yet completed are cancelled and the failure of the earliest failing chunk is thrown, unchecked exceptions and errors as is and
+	 * checked exceptions wrapped in a {@link RuntimeException}.
+	 * </p>
+	 * 
+	 * @param executor
+	 * @param size
+	 * @param chunk
+	 * @return the result of each chunk, in index order
+	 */
+	public static <R> List<R> invokeChunks(ExecutorService executor, int size, final Chunk<R> chunk) {
+		int count = chunkCount(size);
+		List<R> results = new ArrayList<R>(count);
+		if (count == 1) {
+			results.add(process(chunk, 0, size));
+			return results;
+		}
+		List<FutureTask<R>> futures = new ArrayList<FutureTask<R>>(count - 1);
+		try {
+			for (int i = 1; i < count; i++) {
+				final int from = bound(size, count, i);
+				final int to = bound(size, count, i + 1);
+				FutureTask<R> future = new FutureTask<R>(new Callable<R>() {
+					@Override
+					public R call() throws Exception {
+						return chunk.process(from, to);
+					}
+				});
+				futures.add(future);
+				executor.execute(future);
+			}
+			results.add(process(chunk, 0, bound(size, count, 1)));
+			for (FutureTask<R> future : futures) {
+				// runs the chunk on this thread if the executor has not started it, otherwise does nothing
+				future.run();
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw unchecked(e.getCause());
+		} finally {
+			for (Future<R> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * @param throwable
+	 * @return the given throwable if it is a {@link RuntimeException}, otherwise a {@link RuntimeException} wrapping it
+	 * @throws Error
+	 *             if the given throwable is an {@link Error}
+	 */
+	public static RuntimeException unchecked(Throwable throwable) {
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		return throwable instanceof RuntimeException ? (RuntimeException) throwable : new RuntimeException(throwable);
+	}
+
+	private static <R> R process(Chunk<R> chunk, int from, int to) {
+		try {
+			return chunk.process(from, to);
+		} catch (Exception e) {
+			throw unchecked(e);
+		}
+	}
+
+	private static int bound(int size, int count, int index) {
+		return (int) ((long) size * index / count);
+	}
+
+	private static class DefaultExecutor {
+		private static final ExecutorService Instance = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), daemonThreadFactory("expressive-parallel-"));
+	}
+}
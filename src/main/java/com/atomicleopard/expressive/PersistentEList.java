@@ -0,0 +1,473 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * <p>
+ * An immutable {@link EList} whose modifying operations return a new list, leaving the original unchanged. New versions share structure with the list they were created from rather than copying
+ * it, so lists can be handed between threads or cached without a defensive {@link #duplicate()}, which for this list simply returns the list itself.
+ * </p>
+ * <p>
+ * The elements are held in a bitmapped vector trie with a branching factor of 32, so {@link #get(int)} and {@link #with(int, Object)} are O(log32 n). {@link #addItems(Object...)} appends in
+ * O(log32 n) per element, updating in place only the nodes created by the same call. {@link #subList(int, int)}, {@link #getItems(int, int)} and their view equivalents are constant time, returning
+ * a list which shares the whole trie. Note that this means a small sub list retains all elements of the list it was taken from; call {@link #compact()} on it if that is a concern.
+ * {@link #insertItems(int, Object...)} and the removeItems and retainItems operations share the unchanged prefix of the list and rebuild the remainder.
+ * </p>
+ * <p>
+ * The fluent {@link EList} operations such as {@link #addItems(Object...)} return the new version, the result must be used, as this list is not changed. The {@link java.util.List} operations
+ * which would modify the list in place, such as {@link #add(Object)} and {@link #set(int, Object)}, throw an {@link UnsupportedOperationException}.
+ * </p>
+ * 
+ * @param <T>
+ */
+public final class PersistentEList<T> extends AbstractList<T> implements EList<T>, RandomAccess {
+	private static final int Bits = 5;
+	private static final int Width = 1 << Bits;
+	private static final int Mask = Width - 1;
+	private static final PersistentEList<Object> Empty = new PersistentEList<Object>(new Node(null), 0, 0, 0);
+
+	private final Node root;
+	private final int shift;
+	private final int offset;
+	private final int size;
+
+	private PersistentEList(Node root, int shift, int offset, int size) {
+		this.root = root;
+		this.shift = shift;
+		this.offset = offset;
+		this.size = size;
+	}
+
+	/**
+	 * @return an empty {@link PersistentEList}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentEList<T> empty() {
+		return (PersistentEList<T>) Empty;
+	}
+
+	/**
+	 * @param values
+	 * @return a {@link PersistentEList} containing the given values in the given order
+	 */
+	public static <T> PersistentEList<T> of(T... values) {
+		return PersistentEList.<T> empty().appendAll(Arrays.asList(values));
+	}
+
+	/**
+	 * @param values
+	 * @return a {@link PersistentEList} containing the given values in the order defined by the given collection
+	 */
+	public static <T> PersistentEList<T> of(Collection<? extends T> values) {
+		if (values instanceof PersistentEList) {
+			@SuppressWarnings("unchecked")
+			PersistentEList<T> list = (PersistentEList<T>) values;
+			return list;
+		}
+		return values == null ? PersistentEList.<T> empty() : PersistentEList.<T> empty().appendAll(values);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		checkIndex(index, size);
+		int position = offset + index;
+		return (T) leafFor(position)[position & Mask];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Itr();
+	}
+
+	/**
+	 * @param index
+	 * @param value
+	 * @return a new list with the element at the given index replaced by the given value
+	 */
+	public PersistentEList<T> with(int index, T value) {
+		checkIndex(index, size);
+		return new PersistentEList<T>(assoc(null, root, shift, offset + index, value), shift, offset, size);
+	}
+
+	/**
+	 * @return a list containing the same elements as this list which does not share structure with any other list, so does not retain elements outside of its range
+	 */
+	public PersistentEList<T> compact() {
+		return offset == 0 && size == capacity(shift) ? this : PersistentEList.<T> empty().appendAll(this);
+	}
+
+	@Override
+	public T at(int index) {
+		return index > -1 && index < size ? get(index) : null;
+	}
+
+	@Override
+	public T first() {
+		return at(0);
+	}
+
+	@Override
+	public T last() {
+		return at(size - 1);
+	}
+
+	/**
+	 * @return a new list with the given values inserted at the given index
+	 */
+	@Override
+	public PersistentEList<T> insertItems(int index, T... values) {
+		checkIndex(index, size + 1);
+		return insert(index, Arrays.asList(values));
+	}
+
+	/**
+	 * @return a new list with the given values inserted at the given index, which is limited to the bounds of this list
+	 */
+	@Override
+	public PersistentEList<T> insertItems(int index, Collection<? extends T> values) {
+		return values == null ? this : insert(Math.max(0, Math.min(index, size)), values);
+	}
+
+	/**
+	 * @return a new list with the given values appended
+	 */
+	@Override
+	public PersistentEList<T> addItems(T... values) {
+		return appendAll(Arrays.asList(values));
+	}
+
+	/**
+	 * @return a new list with the given values appended
+	 */
+	@Override
+	public PersistentEList<T> addItems(Collection<? extends T> values) {
+		return values == null ? this : appendAll(values);
+	}
+
+	/**
+	 * @return a new list without any elements equal to the given values
+	 */
+	@Override
+	public PersistentEList<T> removeItems(T... values) {
+		return filter(EListImpl.<T> in(Arrays.asList(values)), false);
+	}
+
+	/**
+	 * @return a new list without any elements contained in the given collection
+	 */
+	@Override
+	public PersistentEList<T> removeItems(Collection<? extends T> values) {
+		return values == null ? this : filter(EListImpl.<T> in(values), false);
+	}
+
+	/**
+	 * @return a new list without the elements which pass the given predicate
+	 */
+	@Override
+	public PersistentEList<T> removeItems(EPredicate<T> predicate) {
+		return filter(predicate, false);
+	}
+
+	/**
+	 * @return a new list containing only the elements equal to the given values
+	 */
+	@Override
+	public PersistentEList<T> retainItems(T... values) {
+		return filter(EListImpl.<T> in(Arrays.asList(values)), true);
+	}
+
+	/**
+	 * @return a new list containing only the elements contained in the given collection
+	 */
+	@Override
+	public PersistentEList<T> retainItems(Collection<? extends T> values) {
+		return filter(EListImpl.<T> in(values), true);
+	}
+
+	/**
+	 * @return a new list containing only the elements which pass the given predicate
+	 */
+	@Override
+	public PersistentEList<T> retainItems(EPredicate<T> predicate) {
+		return filter(predicate, true);
+	}
+
+	/**
+	 * @return this list, as it cannot be modified
+	 */
+	@Override
+	public PersistentEList<T> duplicate() {
+		return this;
+	}
+
+	/**
+	 * Returns the given range of this list in constant time, sharing the structure of this list.
+	 */
+	@Override
+	public PersistentEList<T> subList(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+			throw new IndexOutOfBoundsException(String.format("fromIndex: %s, toIndex: %s, size: %s", fromIndex, toIndex, size));
+		}
+		return fromIndex == toIndex ? PersistentEList.<T> empty() : new PersistentEList<T>(root, shift, offset + fromIndex, toIndex - fromIndex);
+	}
+
+	/**
+	 * As this list cannot be modified, this is the same as {@link #subList(int, int)}.
+	 */
+	@Override
+	public PersistentEList<T> subListView(int fromIndex, int toIndex) {
+		return subList(fromIndex, toIndex);
+	}
+
+	@Override
+	public PersistentEList<T> getItems(int index, int size) {
+		int start = Math.min(Math.max(0, index), this.size);
+		size = Math.max(0, size);
+		size = index < 0 ? size + index : size;
+		int end = Math.max(start, Math.min(this.size, start + size));
+		return subList(start, end);
+	}
+
+	/**
+	 * As this list cannot be modified, this is the same as {@link #getItems(int, int)}.
+	 */
+	@Override
+	public PersistentEList<T> getItemsView(int index, int size) {
+		return getItems(index, size);
+	}
+
+	@Override
+	public PersistentEList<T> getItems(EPredicate<T> predicate) {
+		Builder<T> builder = new Builder<T>(PersistentEList.<T> empty());
+		for (T t : this) {
+			if (predicate.pass(t)) {
+				builder.add(t);
+			}
+		}
+		return builder.build();
+	}
+
+	@Override
+	public EListView<T> view() {
+		return new EListView<T>(this);
+	}
+
+	/**
+	 * @return a new list containing the elements of this list sorted using the given comparator
+	 * @see EListImpl#sort(Comparator)
+	 */
+	@Override
+	public PersistentEList<T> sort(Comparator<T> comparator) {
+		EListImpl<T> sorted = new EListImpl<T>(this);
+		sorted.sort(comparator);
+		return PersistentEList.<T> empty().appendAll(sorted);
+	}
+
+	@Override
+	public Pair<EList<T>, EList<T>> split(EPredicate<T> predicate) {
+		Builder<T> pass = new Builder<T>(PersistentEList.<T> empty());
+		Builder<T> fail = new Builder<T>(PersistentEList.<T> empty());
+		for (T t : this) {
+			if (predicate.pass(t)) {
+				pass.add(t);
+			} else {
+				fail.add(t);
+			}
+		}
+		return new Pair<EList<T>, EList<T>>(pass.build(), fail.build());
+	}
+
+	private PersistentEList<T> appendAll(Iterable<? extends T> values) {
+		Builder<T> builder = new Builder<T>(this);
+		for (T t : values) {
+			builder.add(t);
+		}
+		return builder.build();
+	}
+
+	private PersistentEList<T> insert(int index, Collection<? extends T> values) {
+		if (values.isEmpty()) {
+			return this;
+		}
+		Builder<T> builder = new Builder<T>(subList(0, index));
+		for (T t : values) {
+			builder.add(t);
+		}
+		for (int i = index; i < size; i++) {
+			builder.add(get(i));
+		}
+		return builder.build();
+	}
+
+	private PersistentEList<T> filter(EPredicate<T> predicate, boolean keep) {
+		Iterator<T> iterator = iterator();
+		int index = 0;
+		while (iterator.hasNext() && predicate.pass(iterator.next()) == keep) {
+			index++;
+		}
+		if (index == size) {
+			return this;
+		}
+		Builder<T> builder = new Builder<T>(subList(0, index));
+		while (iterator.hasNext()) {
+			T t = iterator.next();
+			if (predicate.pass(t) == keep) {
+				builder.add(t);
+			}
+		}
+		return builder.build();
+	}
+
+	private Object[] leafFor(int position) {
+		Node node = root;
+		for (int level = shift; level > 0; level -= Bits) {
+			node = (Node) node.array[(position >>> level) & Mask];
+		}
+		return node.array;
+	}
+
+	private static void checkIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+		}
+	}
+
+	private static long capacity(int shift) {
+		return 1L << (shift + Bits);
+	}
+
+	/**
+	 * Sets the element at the given position of the trie under the given node, copying each node on the path unless it is owned by the given edit. A null edit owns no nodes.
+	 */
+	private static Node assoc(Object edit, Node node, int level, int position, Object value) {
+		Node result = editable(edit, node);
+		if (level == 0) {
+			result.array[position & Mask] = value;
+		} else {
+			int index = (position >>> level) & Mask;
+			result.array[index] = assoc(edit, (Node) result.array[index], level - Bits, position, value);
+		}
+		return result;
+	}
+
+	private static Node editable(Object edit, Node node) {
+		if (node == null) {
+			return new Node(edit);
+		}
+		if (edit != null && node.edit == edit) {
+			return node;
+		}
+		Node copy = new Node(edit);
+		System.arraycopy(node.array, 0, copy.array, 0, Width);
+		return copy;
+	}
+
+	/**
+	 * A node of the trie. Nodes are immutable once they are part of a published list, the array of a node may only be modified by the {@link Builder} whose edit created it.
+	 */
+	private static final class Node {
+		private final Object edit;
+		private final Object[] array = new Object[Width];
+
+		private Node(Object edit) {
+			this.edit = edit;
+		}
+	}
+
+	/**
+	 * Appends elements to a list, modifying in place the nodes it has created itself.
+	 */
+	private static final class Builder<T> {
+		private final Object edit = new Object();
+		private Node root;
+		private int shift;
+		private final int offset;
+		private int size;
+
+		private Builder(PersistentEList<T> list) {
+			this.root = list.root;
+			this.shift = list.shift;
+			this.offset = list.offset;
+			this.size = list.size;
+		}
+
+		private void add(T value) {
+			int position = offset + size;
+			if (position >= capacity(shift)) {
+				Node newRoot = new Node(edit);
+				newRoot.array[0] = root;
+				root = newRoot;
+				shift += Bits;
+			}
+			root = assoc(edit, root, shift, position, value);
+			size++;
+		}
+
+		private PersistentEList<T> build() {
+			return size == 0 ? PersistentEList.<T> empty() : new PersistentEList<T>(root, shift, offset, size);
+		}
+	}
+
+	private final class Itr implements Iterator<T> {
+		private int index;
+		private Object[] leaf;
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (index >= size) {
+				throw new NoSuchElementException();
+			}
+			int position = offset + index++;
+			if (leaf == null || (position & Mask) == 0) {
+				leaf = leafFor(position);
+			}
+			return (T) leaf[position & Mask];
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException(String.format("A %s cannot be modified", PersistentEList.class.getSimpleName()));
+		}
+	}
+}
@@ -4,14 +4,31 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * This exists to remove the dependency Expressive had on cglib, it is not recommended to use this class, it is likely to change/disappear in the future.
  */
 public class ReflectUtil {
+	/**
+	 * Argument array for invoking no argument methods (i.e. bean getters) reflectively, avoiding a varargs array allocation per invocation.
+	 */
+	public static final Object[] NoArgs = new Object[0];
+
+	/**
+	 * @param type
+	 * @return the readable javabean properties of the given type
+	 * @see IntrospectionCache#getBeanGetters(Class)
+	 */
 	public static PropertyDescriptor[] getBeanGetters(Class<?> type) {
+		Collection<PropertyDescriptor> getters = IntrospectionCache.getBeanGetters(type).values();
+		return getters.toArray(new PropertyDescriptor[getters.size()]);
+	}
+
+	static PropertyDescriptor[] introspectBeanGetters(Class<?> type) {
 		try {
 			BeanInfo info = Introspector.getBeanInfo(type, Object.class);
 			PropertyDescriptor[] all = info.getPropertyDescriptors();
@@ -27,4 +44,20 @@ public class ReflectUtil {
 			throw new RuntimeException("Failed to find getters for type " + type.getName(), e);
 		}
 	}
+
+	/**
+	 * Suppresses the access checks on the given method where the security manager allows, so that repeated reflective invocations do not pay for them. If access checks cannot be suppressed the
+	 * method is returned as is.
+	 * 
+	 * @param method
+	 * @return the given method
+	 */
+	public static Method accessible(Method method) {
+		try {
+			method.setAccessible(true);
+		} catch (RuntimeException e) {
+			// fall back to regular access checks
+		}
+		return method;
+	}
 }
@@ -0,0 +1,431 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+/**
+ * <p>
+ * An {@link EList} which keeps its elements in the order defined by a {@link Comparator}.
+ * </p>
+ * <p>
+ * Elements added using {@link #add(Object)}, {@link #addItems(Object...)}, {@link #insertItems(int, Object...)} or their variants are placed at their sorted position, after any elements they
+ * compare equal to, so any index given when inserting is ignored. Because the list is always sorted, {@link #contains(Object)}, {@link #indexOf(Object)}, {@link #lastIndexOf(Object)},
+ * {@link #floor(Object)}, {@link #ceiling(Object)}, {@link #lower(Object)}, {@link #higher(Object)} and {@link #range(Object, Object)} use a binary search rather than scanning the list.
+ * {@link #contains(Object)} and the index lookups find an element which the comparator considers equal and then confirm it using {@link Object#equals(Object)}. Null is found by scanning the
+ * list, as comparators do not generally support it.
+ * </p>
+ * <p>
+ * Replacing an element by index could break the order, so {@link #set(int, Object)} and {@link ListIterator#set(Object)} are not supported. Calling {@link #sort(Comparator)} changes the
+ * comparator used by this list.
+ * </p>
+ * 
+ * @param <T>
+ */
+public class SortedEList<T> extends EListImpl<T> {
+	private Comparator<T> comparator;
+
+	public SortedEList(Comparator<T> comparator) {
+		super();
+		this.comparator = checkComparator(comparator);
+	}
+
+	public SortedEList(Comparator<T> comparator, Collection<? extends T> values) {
+		super(0);
+		this.comparator = checkComparator(comparator);
+		this.delegate = values == null ? new ArrayList<T>() : new ArrayList<T>(values);
+		resort();
+	}
+
+	public SortedEList(Comparator<T> comparator, T... values) {
+		this(comparator, Arrays.asList(values));
+	}
+
+	/**
+	 * Wraps the given list, which must already be sorted, without copying it.
+	 */
+	private SortedEList(List<T> sorted, Comparator<T> comparator) {
+		super(0);
+		this.comparator = comparator;
+		this.delegate = sorted;
+	}
+
+	public Comparator<T> getComparator() {
+		return comparator;
+	}
+
+	@Override
+	public boolean add(T e) {
+		delegate.add(upperBound(e, 0, size()), e);
+		return true;
+	}
+
+	/**
+	 * Adds the given element at its sorted position, the index is ignored.
+	 */
+	@Override
+	public void add(int index, T element) {
+		add(element);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> c) {
+		if (c.isEmpty()) {
+			return false;
+		}
+		if (c.size() == 1) {
+			return add(c.iterator().next());
+		}
+		delegate.addAll(c);
+		resort();
+		return true;
+	}
+
+	/**
+	 * Adds the given elements at their sorted positions, the index is ignored.
+	 */
+	@Override
+	public boolean addAll(int index, Collection<? extends T> c) {
+		return addAll(c);
+	}
+
+	@Override
+	public EList<T> addItems(T... values) {
+		addAll(Arrays.asList(values));
+		return this;
+	}
+
+	@Override
+	public EList<T> addItems(Collection<? extends T> values) {
+		if (values != null) {
+			addAll(values);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the given elements at their sorted positions, the index is ignored.
+	 */
+	@Override
+	public EList<T> insertItems(int index, T... values) {
+		return addItems(values);
+	}
+
+	/**
+	 * Adds the given elements at their sorted positions, the index is ignored.
+	 */
+	@Override
+	public EList<T> insertItems(int index, Collection<? extends T> values) {
+		return addItems(values);
+	}
+
+	/**
+	 * Not supported, as replacing an element could break the order of this list.
+	 * 
+	 * @throws UnsupportedOperationException
+	 */
+	@Override
+	public T set(int index, T element) {
+		throw new UnsupportedOperationException(String.format("Cannot set an element by index in a %s, as it would not retain the sort order", SortedEList.class.getSimpleName()));
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) > -1;
+	}
+
+	/**
+	 * Locates the given object using binary search. When it cannot be compared with the elements of this list, for example because it is not of the element type, this falls back to a linear
+	 * search.
+	 */
+	@Override
+	public int indexOf(Object o) {
+		if (o == null) {
+			return super.indexOf(o);
+		}
+		try {
+			return binaryIndexOf(o);
+		} catch (RuntimeException e) {
+			return super.indexOf(o);
+		}
+	}
+
+	/**
+	 * As {@link #indexOf(Object)}.
+	 */
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o == null) {
+			return super.lastIndexOf(o);
+		}
+		try {
+			return binaryLastIndexOf(o);
+		} catch (RuntimeException e) {
+			return super.lastIndexOf(o);
+		}
+	}
+
+	/**
+	 * @throws RuntimeException
+	 *             if the comparator fails to compare the given object, commonly a {@link ClassCastException}, or a {@link RuntimeException} from a {@link com.atomicleopard.expressive.comparator.ComparatorBuilder}
+	 */
+	@SuppressWarnings("unchecked")
+	private int binaryIndexOf(Object o) {
+		T key = (T) o;
+		int end = upperBound(key, 0, size());
+		for (int i = lowerBound(key, 0, end); i < end; i++) {
+			if (eq(delegate.get(i), o)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int binaryLastIndexOf(Object o) {
+		T key = (T) o;
+		int start = lowerBound(key, 0, size());
+		for (int i = upperBound(key, start, size()) - 1; i >= start; i--) {
+			if (eq(delegate.get(i), o)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param value
+	 * @return the greatest element less than or equal to the given value, or null if there is none
+	 */
+	public T floor(T value) {
+		return at(upperBound(value, 0, size()) - 1);
+	}
+
+	/**
+	 * @param value
+	 * @return the least element greater than or equal to the given value, or null if there is none
+	 */
+	public T ceiling(T value) {
+		return at(lowerBound(value, 0, size()));
+	}
+
+	/**
+	 * @param value
+	 * @return the greatest element strictly less than the given value, or null if there is none
+	 */
+	public T lower(T value) {
+		return at(lowerBound(value, 0, size()) - 1);
+	}
+
+	/**
+	 * @param value
+	 * @return the least element strictly greater than the given value, or null if there is none
+	 */
+	public T higher(T value) {
+		return at(upperBound(value, 0, size()));
+	}
+
+	/**
+	 * <p>
+	 * Returns the elements greater than or equal to from and less than to, as a read only view of this list. No elements are copied.
+	 * </p>
+	 * <p>
+	 * Attempting to modify the view throws an {@link UnsupportedOperationException}. The view reflects changes to the values of the elements of this list, but after any structural modification of
+	 * this list (adding or removing elements) the behaviour of the view is undefined, as for {@link List#subList(int, int)}. Use {@link #duplicate()} on the view to take a copy.
+	 * </p>
+	 * 
+	 * @param from
+	 *            the inclusive lower bound
+	 * @param to
+	 *            the exclusive upper bound
+	 * @return a sorted view of the elements in the given range
+	 */
+	public SortedEList<T> range(T from, T to) {
+		int start = lowerBound(from, 0, size());
+		return subListView(start, Math.max(start, lowerBound(to, start, size())));
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator(int index) {
+		final ListIterator<T> iterator = delegate.listIterator(index);
+		return new ListIterator<T>() {
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			public T next() {
+				return iterator.next();
+			}
+
+			public boolean hasPrevious() {
+				return iterator.hasPrevious();
+			}
+
+			public T previous() {
+				return iterator.previous();
+			}
+
+			public int nextIndex() {
+				return iterator.nextIndex();
+			}
+
+			public int previousIndex() {
+				return iterator.previousIndex();
+			}
+
+			public void remove() {
+				iterator.remove();
+			}
+
+			public void set(T e) {
+				throw new UnsupportedOperationException(String.format("Cannot set an element through an iterator of a %s, as it would not retain the sort order", SortedEList.class
+						.getSimpleName()));
+			}
+
+			public void add(T e) {
+				throw new UnsupportedOperationException(String.format("Cannot add an element through an iterator of a %s, as it would not retain the sort order", SortedEList.class
+						.getSimpleName()));
+			}
+		};
+	}
+
+	@Override
+	public SortedEList<T> duplicate() {
+		return new SortedEList<T>(new ArrayList<T>(delegate), comparator);
+	}
+
+	@Override
+	public SortedEList<T> subList(int fromIndex, int toIndex) {
+		return subListView(fromIndex, toIndex).duplicate();
+	}
+
+	/**
+	 * Returns a read only view of the given range of this list, adding elements through the view could break the order of this list. See {@link #range(Object, Object)}.
+	 */
+	@Override
+	public SortedEList<T> subListView(int fromIndex, int toIndex) {
+		return new SortedEList<T>(Collections.unmodifiableList(delegate.subList(fromIndex, toIndex)), comparator);
+	}
+
+	@Override
+	public SortedEList<T> getItems(int index, int size) {
+		return getItemsView(index, size).duplicate();
+	}
+
+	@Override
+	public SortedEList<T> getItemsView(int index, int size) {
+		return (SortedEList<T>) super.getItemsView(index, size);
+	}
+
+	@Override
+	public SortedEList<T> getItems(EPredicate<T> predicate) {
+		List<T> matches = new ArrayList<T>();
+		for (T t : delegate) {
+			if (predicate.pass(t)) {
+				matches.add(t);
+			}
+		}
+		return new SortedEList<T>(matches, comparator);
+	}
+
+	@Override
+	public Pair<EList<T>, EList<T>> split(EPredicate<T> predicate) {
+		List<T> pass = new ArrayList<T>();
+		List<T> fail = new ArrayList<T>();
+		for (T t : delegate) {
+			if (predicate.pass(t)) {
+				pass.add(t);
+			} else {
+				fail.add(t);
+			}
+		}
+		return new Pair<EList<T>, EList<T>>(new SortedEList<T>(pass, comparator), new SortedEList<T>(fail, comparator));
+	}
+
+	/**
+	 * Sorts this list using the given comparator, which is then used to keep this list in order as elements are added.
+	 */
+	@Override
+	public EList<T> sort(Comparator<T> comparator) {
+		this.comparator = checkComparator(comparator);
+		resort();
+		return this;
+	}
+
+	private void resort() {
+		super.sort(comparator);
+	}
+
+	/**
+	 * @return the index of the first element in [from, to) which is not less than the given value
+	 */
+	private int lowerBound(T value, int from, int to) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+			if (comparator.compare(delegate.get(mid), value) < 0) {
+				from = mid + 1;
+			} else {
+				to = mid;
+			}
+		}
+		return from;
+	}
+
+	/**
+	 * @return the index of the first element in [from, to) which is greater than the given value
+	 */
+	private int upperBound(T value, int from, int to) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+			if (comparator.compare(delegate.get(mid), value) <= 0) {
+				from = mid + 1;
+			} else {
+				to = mid;
+			}
+		}
+		return from;
+	}
+
+	private static boolean eq(Object a, Object b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private static <T> Comparator<T> checkComparator(Comparator<T> comparator) {
+		if (comparator == null) {
+			throw new NullPointerException(String.format("Cannot create a %s with a null comparator", SortedEList.class.getSimpleName()));
+		}
+		return comparator;
+	}
+}
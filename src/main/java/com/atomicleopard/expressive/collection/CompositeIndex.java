@@ -0,0 +1,304 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * {@link CompositeIndex} maps a key made up of a fixed number of values to a value, behaving as a {@link java.util.Map} whose keys are tuples of that many values would.
+ * </p>
+ * <p>
+ * Rather than wrapping each key in an object such as a {@link Pair}, the key values are stored directly in a flat open addressing hash table. Keys can be looked up by passing their values
+ * individually using {@link #get(Object, Object)} or {@link #get(Object, Object, Object)}, or as an array which the caller may reuse using {@link #get(Object...)}, so lookups need not allocate.
+ * Key values may be null.
+ * </p>
+ * <p>
+ * {@link CompositeIndex} is not thread safe, and entries cannot be removed.
+ * </p>
+ * 
+ * @param <V>
+ */
+public class CompositeIndex<V> {
+	private final int arity;
+	private Object[] keys;
+	private Object[] values;
+	private int[] hashes;
+	private boolean[] used;
+	private int[] insertionOrder;
+	private int size;
+
+	/**
+	 * @param arity
+	 *            the number of values in each key
+	 */
+	public CompositeIndex(int arity) {
+		this(arity, 16);
+	}
+
+	/**
+	 * @param arity
+	 *            the number of values in each key
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 */
+	public CompositeIndex(int arity, int expectedSize) {
+		if (arity < 1) {
+			throw new IllegalArgumentException(String.format("The arity of a %s must be at least 1, but was %s", CompositeIndex.class.getSimpleName(), arity));
+		}
+		this.arity = arity;
+		allocate(capacityFor(expectedSize));
+	}
+
+	public int arity() {
+		return arity;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param key
+	 *            the values of the key, the given array is not retained and can be reused by the caller
+	 * @return the value for the given key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object... key) {
+		checkArity(key.length);
+		int slot = slotFor(hash(key), key);
+		return used[slot] ? (V) values[slot] : null;
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @return the value for the key made up of the given values, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object a, Object b) {
+		checkArity(2);
+		int hash = spread(31 * (31 + hash(a)) + hash(b));
+		int mask = used.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			if (!used[slot]) {
+				return null;
+			}
+			int offset = slot * 2;
+			if (hashes[slot] == hash && eq(keys[offset], a) && eq(keys[offset + 1], b)) {
+				return (V) values[slot];
+			}
+		}
+	}
+
+	/**
+	 * @param a
+	 * @param b
+	 * @param c
+	 * @return the value for the key made up of the given values, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(Object a, Object b, Object c) {
+		checkArity(3);
+		int hash = spread(31 * (31 * (31 + hash(a)) + hash(b)) + hash(c));
+		int mask = used.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			if (!used[slot]) {
+				return null;
+			}
+			int offset = slot * 3;
+			if (hashes[slot] == hash && eq(keys[offset], a) && eq(keys[offset + 1], b) && eq(keys[offset + 2], c)) {
+				return (V) values[slot];
+			}
+		}
+	}
+
+	/**
+	 * @param key
+	 * @return true if there is an entry for the given key, even if its value is null
+	 */
+	public boolean containsKey(Object... key) {
+		checkArity(key.length);
+		return used[slotFor(hash(key), key)];
+	}
+
+	/**
+	 * Associates the given value with the given key, replacing any existing value.
+	 * 
+	 * @param key
+	 *            the values of the key, these are copied so the given array can be reused by the caller
+	 * @param value
+	 * @return the previous value for the key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(Object[] key, V value) {
+		checkArity(key.length);
+		if ((size + 1) * 2 > used.length) {
+			resize(used.length * 2);
+		}
+		int hash = hash(key);
+		int slot = slotFor(hash, key);
+		if (used[slot]) {
+			V previous = (V) values[slot];
+			values[slot] = value;
+			return previous;
+		}
+		used[slot] = true;
+		hashes[slot] = hash;
+		System.arraycopy(key, 0, keys, slot * arity, arity);
+		values[slot] = value;
+		insertionOrder[size++] = slot;
+		return null;
+	}
+
+	/**
+	 * @return the values of this index in the order their keys were first added, this is a view which reflects later changes
+	 */
+	public List<V> values() {
+		return new AbstractList<V>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public V get(int index) {
+				if (index < 0 || index >= size) {
+					throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+				}
+				return (V) values[insertionOrder[index]];
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * @param index
+	 * @return a copy of the values of the key added at the given position, in the order keys were first added
+	 */
+	public Object[] keyAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %s, Size: %s", index, size));
+		}
+		int offset = insertionOrder[index] * arity;
+		return Arrays.copyOfRange(keys, offset, offset + arity);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < size; i++) {
+			sb.append(i == 0 ? "" : ", ").append(Arrays.toString(keyAt(i))).append("=").append(values[insertionOrder[i]]);
+		}
+		return sb.append("}").toString();
+	}
+
+	private int slotFor(int hash, Object[] key) {
+		int mask = used.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			if (!used[slot] || hashes[slot] == hash && matches(slot, key)) {
+				return slot;
+			}
+		}
+	}
+
+	private boolean matches(int slot, Object[] key) {
+		int offset = slot * arity;
+		for (int i = 0; i < arity; i++) {
+			if (!eq(keys[offset + i], key[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void resize(int capacity) {
+		Object[] oldKeys = keys;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		int[] oldOrder = insertionOrder;
+		int count = size;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int i = 0; i < count; i++) {
+			int oldSlot = oldOrder[i];
+			int slot = oldHashes[oldSlot] & mask;
+			while (used[slot]) {
+				slot = (slot + 1) & mask;
+			}
+			used[slot] = true;
+			hashes[slot] = oldHashes[oldSlot];
+			System.arraycopy(oldKeys, oldSlot * arity, keys, slot * arity, arity);
+			values[slot] = oldValues[oldSlot];
+			insertionOrder[i] = slot;
+		}
+		size = count;
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity * arity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+		used = new boolean[capacity];
+		insertionOrder = new int[capacity / 2];
+		size = 0;
+	}
+
+	private void checkArity(int length) {
+		if (length != arity) {
+			throw new IllegalArgumentException(String.format("Expected a key of %s values but was given %s", arity, length));
+		}
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = 4;
+		while (capacity < expectedSize * 2) {
+			capacity *= 2;
+		}
+		return capacity;
+	}
+
+	private static int hash(Object[] key) {
+		int hash = 1;
+		for (Object value : key) {
+			hash = 31 * hash + hash(value);
+		}
+		return spread(hash);
+	}
+
+	private static int hash(Object value) {
+		return value == null ? 0 : value.hashCode();
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean eq(Object a, Object b) {
+		return a == b || a != null && a.equals(b);
+	}
+}
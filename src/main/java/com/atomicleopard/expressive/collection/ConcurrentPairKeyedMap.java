@@ -0,0 +1,544 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * {@link ConcurrentPairKeyedMap} is a thread safe {@link ConcurrentMap} keyed by {@link Pair}s which, like {@link PairKeyedMap}, can be accessed using the two key values directly so that no
+ * {@link Pair} needs to be created. It is the delegate of {@link ConcurrentTriplets}.
+ * </p>
+ * <p>
+ * The map is divided into lock striped segments. Reads take no locks and never block or retry, they see the effect of all writes which completed before they began. Writes to the same segment are
+ * serialised, writes to different segments proceed concurrently. Iteration is weakly consistent, as for {@link java.util.concurrent.ConcurrentHashMap}.
+ * </p>
+ * <p>
+ * Key values may be null, values may not.
+ * </p>
+ * 
+ * @param <K1>
+ * @param <K2>
+ * @param <V>
+ */
+public class ConcurrentPairKeyedMap<K1, K2, V> extends AbstractMap<Pair<K1, K2>, V> implements ConcurrentMap<Pair<K1, K2>, V>, PairKeyed<K1, K2, V> {
+	/**
+	 * Creates the value for a key which is not yet present, see {@link ConcurrentPairKeyedMap#computeIfAbsent(Object, Object, ValueFactory)}.
+	 * 
+	 * @param <K1>
+	 * @param <K2>
+	 * @param <V>
+	 */
+	public interface ValueFactory<K1, K2, V> {
+		/**
+		 * @param k1
+		 * @param k2
+		 * @return the value for the given key, or null if no value should be stored
+		 */
+		V create(K1 k1, K2 k2);
+	}
+
+	static final int DefaultConcurrencyLevel = 16;
+
+	private final Segment<K1, K2, V>[] segments;
+	private final int segmentShift;
+	private Set<Map.Entry<Pair<K1, K2>, V>> entrySet;
+
+	public ConcurrentPairKeyedMap() {
+		this(16, DefaultConcurrencyLevel);
+	}
+
+	/**
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 */
+	public ConcurrentPairKeyedMap(int expectedSize) {
+		this(expectedSize, DefaultConcurrencyLevel);
+	}
+
+	/**
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 * @param concurrencyLevel
+	 *            the number of threads expected to write concurrently, which determines the number of segments
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ConcurrentPairKeyedMap(int expectedSize, int concurrencyLevel) {
+		if (concurrencyLevel < 1) {
+			throw new IllegalArgumentException(String.format("The concurrency level of a %s must be at least 1, but was %s", ConcurrentPairKeyedMap.class.getSimpleName(), concurrencyLevel));
+		}
+		int segmentCount = 1;
+		int shift = 32;
+		while (segmentCount < concurrencyLevel && segmentCount < (1 << 16)) {
+			segmentCount <<= 1;
+			shift--;
+		}
+		this.segmentShift = shift;
+		this.segments = new Segment[segmentCount];
+		int segmentSize = Math.max(expectedSize, 0) / segmentCount + 1;
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment<K1, K2, V>(segmentSize);
+		}
+	}
+
+	public V get(K1 k1, K2 k2) {
+		int hash = hash(k1, k2);
+		Node<K1, K2, V> node = segmentFor(hash).find(hash, k1, k2);
+		return node == null ? null : node.value;
+	}
+
+	public boolean containsKey(K1 k1, K2 k2) {
+		int hash = hash(k1, k2);
+		return segmentFor(hash).find(hash, k1, k2) != null;
+	}
+
+	public V put(K1 k1, K2 k2, V v) {
+		checkValue(v);
+		int hash = hash(k1, k2);
+		return segmentFor(hash).put(hash, k1, k2, v, false);
+	}
+
+	/**
+	 * Associates the given value with the key made up of the given values if there is no value for it already.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @param v
+	 * @return the existing value for the key, or null if the given value was added
+	 */
+	public V putIfAbsent(K1 k1, K2 k2, V v) {
+		checkValue(v);
+		int hash = hash(k1, k2);
+		return segmentFor(hash).put(hash, k1, k2, v, true);
+	}
+
+	/**
+	 * <p>
+	 * Returns the value for the key made up of the given values, using the given {@link ValueFactory} to create and add it if there is none.
+	 * </p>
+	 * <p>
+	 * The factory is called at most once per absent key while holding the lock for the part of the map containing the key, so it should be short and must not modify this map. If it returns null
+	 * nothing is added.
+	 * </p>
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @param factory
+	 * @return the existing or newly created value
+	 */
+	public V computeIfAbsent(K1 k1, K2 k2, ValueFactory<? super K1, ? super K2, ? extends V> factory) {
+		int hash = hash(k1, k2);
+		Segment<K1, K2, V> segment = segmentFor(hash);
+		Node<K1, K2, V> node = segment.find(hash, k1, k2);
+		return node != null ? node.value : segment.computeIfAbsent(hash, k1, k2, factory);
+	}
+
+	/**
+	 * Removes the entry for the key made up of the given values. This is not an overload of remove, which would be confused with {@link #remove(Object, Object)}.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @return the value which was removed, or null if there was none
+	 */
+	public V removeKey(K1 k1, K2 k2) {
+		int hash = hash(k1, k2);
+		return segmentFor(hash).remove(hash, k1, k2, null);
+	}
+
+	@Override
+	public V get(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair == null ? null : get(pair.getA(), pair.getB());
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair != null && containsKey(pair.getA(), pair.getB());
+	}
+
+	@Override
+	public V put(Pair<K1, K2> key, V value) {
+		return put(key.getA(), key.getB(), value);
+	}
+
+	@Override
+	public V remove(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair == null ? null : removeKey(pair.getA(), pair.getB());
+	}
+
+	public V putIfAbsent(Pair<K1, K2> key, V value) {
+		return putIfAbsent(key.getA(), key.getB(), value);
+	}
+
+	public boolean remove(Object key, Object value) {
+		Pair<K1, K2> pair = asPair(key);
+		if (pair == null || value == null) {
+			return false;
+		}
+		int hash = hash(pair.getA(), pair.getB());
+		return segmentFor(hash).remove(hash, pair.getA(), pair.getB(), value) != null;
+	}
+
+	public boolean replace(Pair<K1, K2> key, V oldValue, V newValue) {
+		checkValue(oldValue);
+		checkValue(newValue);
+		int hash = hash(key.getA(), key.getB());
+		return segmentFor(hash).replace(hash, key.getA(), key.getB(), oldValue, newValue) != null;
+	}
+
+	public V replace(Pair<K1, K2> key, V value) {
+		checkValue(value);
+		int hash = hash(key.getA(), key.getB());
+		return segmentFor(hash).replace(hash, key.getA(), key.getB(), null, value);
+	}
+
+	@Override
+	public int size() {
+		long size = 0;
+		for (Segment<K1, K2, V> segment : segments) {
+			size += segment.count;
+		}
+		return size > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (Segment<K1, K2, V> segment : segments) {
+			if (segment.count != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (value == null) {
+			return false;
+		}
+		for (Segment<K1, K2, V> segment : segments) {
+			AtomicReferenceArray<Node<K1, K2, V>> table = segment.table;
+			for (int i = 0; i < table.length(); i++) {
+				for (Node<K1, K2, V> node = table.get(i); node != null; node = node.next) {
+					if (value.equals(node.value)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		for (Segment<K1, K2, V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<Pair<K1, K2>, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private Segment<K1, K2, V> segmentFor(int hash) {
+		return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+	}
+
+	private static void checkValue(Object value) {
+		if (value == null) {
+			throw new NullPointerException(String.format("A %s cannot contain null values", ConcurrentPairKeyedMap.class.getSimpleName()));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K1, K2> Pair<K1, K2> asPair(Object key) {
+		return key instanceof Pair ? (Pair<K1, K2>) key : null;
+	}
+
+	static int hash(Object k1, Object k2) {
+		int hash = 31 * (31 + (k1 == null ? 0 : k1.hashCode())) + (k2 == null ? 0 : k2.hashCode());
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		return hash ^ (hash >>> 13);
+	}
+
+	private static boolean eq(Object a, Object b) {
+		return a == b || a != null && a.equals(b);
+	}
+
+	/**
+	 * An entry in a bucket chain. The chain below a node never changes once the node is published, so readers can traverse a chain without locking while writers replace it.
+	 */
+	private static final class Node<K1, K2, V> {
+		private final int hash;
+		private final K1 k1;
+		private final K2 k2;
+		private volatile V value;
+		private final Node<K1, K2, V> next;
+
+		private Node(int hash, K1 k1, K2 k2, V value, Node<K1, K2, V> next) {
+			this.hash = hash;
+			this.k1 = k1;
+			this.k2 = k2;
+			this.value = value;
+			this.next = next;
+		}
+
+		private boolean matches(int hash, Object k1, Object k2) {
+			return this.hash == hash && eq(this.k1, k1) && eq(this.k2, k2);
+		}
+	}
+
+	private static final class Segment<K1, K2, V> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+		private volatile AtomicReferenceArray<Node<K1, K2, V>> table;
+		private volatile int count;
+
+		private Segment(int expectedSize) {
+			int capacity = 2;
+			while (capacity * 3 < expectedSize * 4) {
+				capacity <<= 1;
+			}
+			table = new AtomicReferenceArray<Node<K1, K2, V>>(capacity);
+		}
+
+		private Node<K1, K2, V> find(int hash, Object k1, Object k2) {
+			AtomicReferenceArray<Node<K1, K2, V>> table = this.table;
+			for (Node<K1, K2, V> node = table.get(hash & (table.length() - 1)); node != null; node = node.next) {
+				if (node.matches(hash, k1, k2)) {
+					return node;
+				}
+			}
+			return null;
+		}
+
+		private V put(int hash, K1 k1, K2 k2, V value, boolean onlyIfAbsent) {
+			lock();
+			try {
+				Node<K1, K2, V> node = find(hash, k1, k2);
+				if (node != null) {
+					V previous = node.value;
+					if (!onlyIfAbsent) {
+						node.value = value;
+					}
+					return previous;
+				}
+				add(hash, k1, k2, value);
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		private V computeIfAbsent(int hash, K1 k1, K2 k2, ValueFactory<? super K1, ? super K2, ? extends V> factory) {
+			lock();
+			try {
+				Node<K1, K2, V> node = find(hash, k1, k2);
+				if (node != null) {
+					return node.value;
+				}
+				V value = factory.create(k1, k2);
+				if (value != null) {
+					add(hash, k1, k2, value);
+				}
+				return value;
+			} finally {
+				unlock();
+			}
+		}
+
+		private V replace(int hash, K1 k1, K2 k2, V expected, V value) {
+			lock();
+			try {
+				Node<K1, K2, V> node = find(hash, k1, k2);
+				if (node == null || expected != null && !expected.equals(node.value)) {
+					return null;
+				}
+				V previous = node.value;
+				node.value = value;
+				return previous;
+			} finally {
+				unlock();
+			}
+		}
+
+		private V remove(int hash, Object k1, Object k2, Object expected) {
+			lock();
+			try {
+				AtomicReferenceArray<Node<K1, K2, V>> table = this.table;
+				int index = hash & (table.length() - 1);
+				Node<K1, K2, V> first = table.get(index);
+				Node<K1, K2, V> node = first;
+				while (node != null && !node.matches(hash, k1, k2)) {
+					node = node.next;
+				}
+				if (node == null || expected != null && !expected.equals(node.value)) {
+					return null;
+				}
+				// nodes before the removed node are copied, as the chain below a published node cannot change
+				Node<K1, K2, V> chain = node.next;
+				for (Node<K1, K2, V> copy = first; copy != node; copy = copy.next) {
+					chain = new Node<K1, K2, V>(copy.hash, copy.k1, copy.k2, copy.value, chain);
+				}
+				table.set(index, chain);
+				count--;
+				return node.value;
+			} finally {
+				unlock();
+			}
+		}
+
+		private void clear() {
+			lock();
+			try {
+				table = new AtomicReferenceArray<Node<K1, K2, V>>(table.length());
+				count = 0;
+			} finally {
+				unlock();
+			}
+		}
+
+		private void add(int hash, K1 k1, K2 k2, V value) {
+			AtomicReferenceArray<Node<K1, K2, V>> table = this.table;
+			if ((count + 1) * 4 > table.length() * 3) {
+				table = resize(table);
+			}
+			int index = hash & (table.length() - 1);
+			table.set(index, new Node<K1, K2, V>(hash, k1, k2, value, table.get(index)));
+			count++;
+		}
+
+		private AtomicReferenceArray<Node<K1, K2, V>> resize(AtomicReferenceArray<Node<K1, K2, V>> table) {
+			int capacity = table.length() << 1;
+			AtomicReferenceArray<Node<K1, K2, V>> resized = new AtomicReferenceArray<Node<K1, K2, V>>(capacity);
+			for (int i = 0; i < table.length(); i++) {
+				for (Node<K1, K2, V> node = table.get(i); node != null; node = node.next) {
+					int index = node.hash & (capacity - 1);
+					resized.set(index, new Node<K1, K2, V>(node.hash, node.k1, node.k2, node.value, resized.get(index)));
+				}
+			}
+			this.table = resized;
+			return resized;
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<Pair<K1, K2>, V>> {
+		@Override
+		public Iterator<Map.Entry<Pair<K1, K2>, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return ConcurrentPairKeyedMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			ConcurrentPairKeyedMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<Pair<K1, K2>, V>> {
+		private int segmentIndex = -1;
+		private AtomicReferenceArray<Node<K1, K2, V>> table;
+		private int bucket;
+		private Node<K1, K2, V> next;
+		private Node<K1, K2, V> current;
+
+		private EntryIterator() {
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<Pair<K1, K2>, V> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			advance();
+			return new Entry(current);
+		}
+
+		@Override
+		public void remove() {
+			if (current == null) {
+				throw new IllegalStateException();
+			}
+			removeKey(current.k1, current.k2);
+			current = null;
+		}
+
+		private void advance() {
+			if (next != null && next.next != null) {
+				next = next.next;
+				return;
+			}
+			next = null;
+			while (true) {
+				while (table != null && bucket < table.length()) {
+					next = table.get(bucket++);
+					if (next != null) {
+						return;
+					}
+				}
+				if (++segmentIndex >= segments.length) {
+					return;
+				}
+				table = segments[segmentIndex].table;
+				bucket = 0;
+			}
+		}
+	}
+
+	private final class Entry extends SimpleEntry<Pair<K1, K2>, V> {
+		private static final long serialVersionUID = 1L;
+
+		private Entry(Node<K1, K2, V> node) {
+			super(new Pair<K1, K2>(node.k1, node.k2), node.value);
+		}
+
+		@Override
+		public V setValue(V value) {
+			put(getKey(), value);
+			return super.setValue(value);
+		}
+	}
+}
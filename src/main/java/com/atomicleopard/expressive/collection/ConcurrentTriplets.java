@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import com.atomicleopard.expressive.collection.ConcurrentPairKeyedMap.ValueFactory;
+
+/**
+ * <p>
+ * {@link ConcurrentTriplets} is a thread safe {@link Triplets}, backed by a {@link ConcurrentPairKeyedMap}. Lookups take no locks and create no {@link Pair}s, so a single instance can be shared
+ * by many threads as a read mostly table.
+ * </p>
+ * <p>
+ * In addition to the {@link Triplets} operations it offers the atomic {@link #putIfAbsent(Object, Object, Object)} and {@link #computeIfAbsent(Object, Object, ValueFactory)}. Unlike a
+ * {@link Triplets}, a {@link ConcurrentTriplets} cannot contain null values.
+ * </p>
+ * 
+ * @param <K1>
+ * @param <K2>
+ * @param <V>
+ */
+public class ConcurrentTriplets<K1, K2, V> extends Triplets<K1, K2, V> {
+	private ConcurrentPairKeyedMap<K1, K2, V> delegate;
+
+	public ConcurrentTriplets() {
+		this(new ConcurrentPairKeyedMap<K1, K2, V>());
+	}
+
+	/**
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 */
+	public ConcurrentTriplets(int expectedSize) {
+		this(new ConcurrentPairKeyedMap<K1, K2, V>(expectedSize));
+	}
+
+	/**
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 * @param concurrencyLevel
+	 *            the number of threads expected to write concurrently
+	 */
+	public ConcurrentTriplets(int expectedSize, int concurrencyLevel) {
+		this(new ConcurrentPairKeyedMap<K1, K2, V>(expectedSize, concurrencyLevel));
+	}
+
+	private ConcurrentTriplets(ConcurrentPairKeyedMap<K1, K2, V> delegate) {
+		super(delegate);
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Stores the given value against the given keys if there is no value for them already.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @param v
+	 * @return the existing value, or null if the given value was stored
+	 */
+	public V putIfAbsent(K1 k1, K2 k2, V v) {
+		return delegate.putIfAbsent(k1, k2, v);
+	}
+
+	/**
+	 * Returns the value for the given keys, creating and storing it using the given {@link ValueFactory} if there is none. The factory is called at most once for absent keys, see
+	 * {@link ConcurrentPairKeyedMap#computeIfAbsent(Object, Object, ValueFactory)}.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @param factory
+	 * @return the existing or newly created value
+	 */
+	public V computeIfAbsent(K1 k1, K2 k2, ValueFactory<? super K1, ? super K2, ? extends V> factory) {
+		return delegate.computeIfAbsent(k1, k2, factory);
+	}
+}
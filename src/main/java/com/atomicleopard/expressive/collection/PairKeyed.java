@@ -0,0 +1,39 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+/**
+ * Implemented by maps keyed by {@link Pair}s which can be accessed using the two key values directly, without creating a {@link Pair}. {@link Triplets} uses these operations when its delegate
+ * supports them.
+ * 
+ * @param <K1>
+ * @param <K2>
+ * @param <V>
+ */
+interface PairKeyed<K1, K2, V> {
+	V get(K1 k1, K2 k2);
+
+	boolean containsKey(K1 k1, K2 k2);
+
+	V put(K1 k1, K2 k2, V v);
+
+	V removeKey(K1 k1, K2 k2);
+}
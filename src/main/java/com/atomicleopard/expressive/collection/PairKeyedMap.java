@@ -0,0 +1,352 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * {@link PairKeyedMap} is a {@link Map} keyed by {@link Pair}s which stores the two values of each key directly in an open addressing hash table rather than storing the {@link Pair}.
+ * </p>
+ * <p>
+ * In addition to the {@link Map} operations, it offers {@link #get(Object, Object)}, {@link #put(Object, Object, Object)}, {@link #containsKey(Object, Object)} and {@link #removeKey(Object, Object)}
+ * which take the two key values separately, so that no {@link Pair} needs to be created to use it. {@link Pair}s are only created when iterating over the {@link #keySet()} or {@link #entrySet()}.
+ * It is the default delegate of {@link Triplets}.
+ * </p>
+ * <p>
+ * Like {@link java.util.HashMap}, {@link PairKeyedMap} permits null key values and null values, is unordered and is not thread safe.
+ * </p>
+ * 
+ * @param <K1>
+ * @param <K2>
+ * @param <V>
+ */
+public class PairKeyedMap<K1, K2, V> extends AbstractMap<Pair<K1, K2>, V> implements PairKeyed<K1, K2, V> {
+	private static final byte Empty = 0;
+	private static final byte Full = 1;
+	private static final byte Removed = 2;
+
+	private Object[] firstKeys;
+	private Object[] secondKeys;
+	private Object[] values;
+	private int[] hashes;
+	private byte[] states;
+	private int size;
+	private int removed;
+	private int modCount;
+	private Set<Map.Entry<Pair<K1, K2>, V>> entrySet;
+
+	public PairKeyedMap() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize
+	 *            the number of entries to allocate space for
+	 */
+	public PairKeyedMap(int expectedSize) {
+		int capacity = 4;
+		while (capacity < expectedSize * 2) {
+			capacity *= 2;
+		}
+		allocate(capacity);
+	}
+
+	public PairKeyedMap(Map<? extends Pair<K1, K2>, ? extends V> map) {
+		this(map.size());
+		putAll(map);
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(K1 k1, K2 k2) {
+		int slot = find(hash(k1, k2), k1, k2);
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	public boolean containsKey(K1 k1, K2 k2) {
+		return find(hash(k1, k2), k1, k2) >= 0;
+	}
+
+	/**
+	 * Associates the given value with the key made up of the given values, replacing any existing value.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @param v
+	 * @return the previous value for the key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(K1 k1, K2 k2, V v) {
+		int hash = hash(k1, k2);
+		int slot = find(hash, k1, k2);
+		if (slot >= 0) {
+			V previous = (V) values[slot];
+			values[slot] = v;
+			return previous;
+		}
+		if ((size + removed + 1) * 2 > states.length) {
+			resize(size + 1 > states.length / 4 ? states.length * 2 : states.length);
+		}
+		insert(hash, k1, k2, v);
+		modCount++;
+		return null;
+	}
+
+	/**
+	 * Removes the entry for the key made up of the given values. This is not an overload of remove, which would be confused with the remove(key, value) of later versions of {@link Map}.
+	 * 
+	 * @param k1
+	 * @param k2
+	 * @return the value which was removed, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V removeKey(K1 k1, K2 k2) {
+		int slot = find(hash(k1, k2), k1, k2);
+		if (slot < 0) {
+			return null;
+		}
+		V previous = (V) values[slot];
+		removeSlot(slot);
+		return previous;
+	}
+
+	@Override
+	public V get(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair == null ? null : get(pair.getA(), pair.getB());
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair != null && containsKey(pair.getA(), pair.getB());
+	}
+
+	@Override
+	public V put(Pair<K1, K2> key, V value) {
+		return put(key.getA(), key.getB(), value);
+	}
+
+	@Override
+	public V remove(Object key) {
+		Pair<K1, K2> pair = asPair(key);
+		return pair == null ? null : removeKey(pair.getA(), pair.getB());
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		for (int slot = 0; slot < states.length; slot++) {
+			if (states[slot] == Full && eq(values[slot], value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		if (size > 0 || removed > 0) {
+			allocate(states.length);
+			modCount++;
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<Pair<K1, K2>, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private int find(int hash, Object k1, Object k2) {
+		int mask = states.length - 1;
+		for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+			byte state = states[slot];
+			if (state == Empty) {
+				return -1;
+			}
+			if (state == Full && hashes[slot] == hash && eq(firstKeys[slot], k1) && eq(secondKeys[slot], k2)) {
+				return slot;
+			}
+		}
+	}
+
+	private void insert(int hash, Object k1, Object k2, Object v) {
+		int mask = states.length - 1;
+		int slot = hash & mask;
+		while (states[slot] == Full) {
+			slot = (slot + 1) & mask;
+		}
+		if (states[slot] == Removed) {
+			removed--;
+		}
+		states[slot] = Full;
+		hashes[slot] = hash;
+		firstKeys[slot] = k1;
+		secondKeys[slot] = k2;
+		values[slot] = v;
+		size++;
+	}
+
+	private void removeSlot(int slot) {
+		states[slot] = Removed;
+		firstKeys[slot] = null;
+		secondKeys[slot] = null;
+		values[slot] = null;
+		size--;
+		removed++;
+		modCount++;
+	}
+
+	private void resize(int capacity) {
+		Object[] oldFirstKeys = firstKeys;
+		Object[] oldSecondKeys = secondKeys;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		byte[] oldStates = states;
+		allocate(capacity);
+		for (int slot = 0; slot < oldStates.length; slot++) {
+			if (oldStates[slot] == Full) {
+				insert(oldHashes[slot], oldFirstKeys[slot], oldSecondKeys[slot], oldValues[slot]);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		firstKeys = new Object[capacity];
+		secondKeys = new Object[capacity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+		states = new byte[capacity];
+		size = 0;
+		removed = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K1, K2> Pair<K1, K2> asPair(Object key) {
+		return key instanceof Pair ? (Pair<K1, K2>) key : null;
+	}
+
+	private static int hash(Object k1, Object k2) {
+		int hash = 31 * (31 + (k1 == null ? 0 : k1.hashCode())) + (k2 == null ? 0 : k2.hashCode());
+		return hash ^ (hash >>> 16);
+	}
+
+	private static boolean eq(Object a, Object b) {
+		return a == b || a != null && a.equals(b);
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<Pair<K1, K2>, V>> {
+		@Override
+		public Iterator<Map.Entry<Pair<K1, K2>, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			PairKeyedMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<Pair<K1, K2>, V>> {
+		private int next = advance(0);
+		private int current = -1;
+		private int expectedModCount = modCount;
+
+		@Override
+		public boolean hasNext() {
+			return next < states.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<Pair<K1, K2>, V> next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= states.length) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = advance(next + 1);
+			return new Entry(current, new Pair<K1, K2>((K1) firstKeys[current], (K2) secondKeys[current]));
+		}
+
+		@Override
+		public void remove() {
+			if (current < 0) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeSlot(current);
+			current = -1;
+			expectedModCount = modCount;
+		}
+
+		private int advance(int slot) {
+			while (slot < states.length && states[slot] != Full) {
+				slot++;
+			}
+			return slot;
+		}
+	}
+
+	private final class Entry extends SimpleEntry<Pair<K1, K2>, V> {
+		private static final long serialVersionUID = 1L;
+		private final int slot;
+
+		@SuppressWarnings("unchecked")
+		private Entry(int slot, Pair<K1, K2> key) {
+			super(key, (V) values[slot]);
+			this.slot = slot;
+		}
+
+		@Override
+		public V setValue(V value) {
+			values[slot] = value;
+			return super.setValue(value);
+		}
+	}
+}
@@ -21,13 +21,19 @@
 package com.atomicleopard.expressive.collection;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 /**
+ * <p>
  * {@link Triplets} is a simple implementation allowing three correlated values to be stored against eachother. It is identical in behaviour to a {@link Map} with two key values, rather than one.
+ * </p>
+ * <p>
+ * By default a {@link Triplets} is backed by a {@link PairKeyedMap}, which stores both key values directly so that {@link #get(Object, Object)}, {@link #put(Object, Object, Object)},
+ * {@link #containsKey(Object, Object)} and {@link #remove(Object, Object)} do not need to create a {@link Pair}. The same applies to a {@link ConcurrentPairKeyedMap}, any other delegate is
+ * accessed using a {@link Pair} key.
+ * </p>
  * 
  * @param <K1>
  * @param <K2>
@@ -35,12 +41,22 @@ import java.util.Set;
  */
 public class Triplets<K1, K2, V> {
 	private Map<Pair<K1, K2>, V> delegate;
+	private PairKeyed<K1, K2, V> pairKeyedDelegate;
 
 	/**
 	 * Creates a new {@link Triplets} instance.
 	 */
 	public Triplets() {
-		this(new HashMap<Pair<K1, K2>, V>());
+		this(new PairKeyedMap<K1, K2, V>());
+	}
+
+	/**
+	 * Creates a new {@link Triplets} instance with space for the given number of entries.
+	 * 
+	 * @param expectedSize
+	 */
+	public Triplets(int expectedSize) {
+		this(new PairKeyedMap<K1, K2, V>(expectedSize));
 	}
 
 	/**
@@ -53,15 +69,21 @@ public class Triplets<K1, K2, V> {
 	 * 
 	 * @param delegate
 	 */
+	@SuppressWarnings("unchecked")
 	public Triplets(Map<Pair<K1, K2>, V> delegate) {
 		if (delegate == null) {
 			throw new NullPointerException(String.format("Cannot create a %s with a null delegate", Triplets.class.getSimpleName()));
 		}
 		this.delegate = delegate;
+		this.pairKeyedDelegate = delegate instanceof PairKeyed ? (PairKeyed<K1, K2, V>) delegate : null;
 	}
 
 	public void put(K1 k1, K2 k2, V v) {
-		delegate.put(pair(k1, k2), v);
+		if (pairKeyedDelegate != null) {
+			pairKeyedDelegate.put(k1, k2, v);
+		} else {
+			delegate.put(pair(k1, k2), v);
+		}
 	}
 
 	public void putAll(Triplets<K1, K2, V> triplets) {
@@ -69,11 +91,15 @@ public class Triplets<K1, K2, V> {
 	}
 
 	public void remove(K1 k1, K2 k2) {
-		delegate.remove(pair(k1, k2));
+		if (pairKeyedDelegate != null) {
+			pairKeyedDelegate.removeKey(k1, k2);
+		} else {
+			delegate.remove(pair(k1, k2));
+		}
 	}
 
 	public V get(K1 k1, K2 k2) {
-		return delegate.get(pair(k1, k2));
+		return pairKeyedDelegate != null ? pairKeyedDelegate.get(k1, k2) : delegate.get(pair(k1, k2));
 	}
 
 	public void clear() {
@@ -89,7 +115,7 @@ public class Triplets<K1, K2, V> {
 	}
 
 	public boolean containsKey(K1 k1, K2 k2) {
-		return delegate.containsKey(pair(k1, k2));
+		return pairKeyedDelegate != null ? pairKeyedDelegate.containsKey(k1, k2) : delegate.containsKey(pair(k1, k2));
 	}
 
 	public boolean containsValue(Object value) {
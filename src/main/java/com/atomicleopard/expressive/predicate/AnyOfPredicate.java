@@ -22,17 +22,37 @@ package com.atomicleopard.expressive.predicate;
 
 import static com.atomicleopard.expressive.Expressive.list;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
+ * <p>
  * An {@link EPredicate} which will pass any input which is considered equal to
  * one of the specified objects, using the {@link Object#equals(Object)} implementation.
+ * </p>
+ * <p>
+ * Values given as {@link EqualsPredicate}s (such as those added by {@link #or(Object...)}) are tested for membership together, before any other predicates. When there are more than
+ * {@value #HashThreshold} values they are held in a hash set, or an {@link EnumSet} if they are all constants of the same enum, so membership is tested in constant time rather than one value at a
+ * time. The predicates are captured when the {@link AnyOfPredicate} is created, later changes to the given list are not reflected.
+ * </p>
  * 
  * @param <T>
  */
 public class AnyOfPredicate<T> implements EPredicate<T> {
+	/**
+	 * The number of values above which membership is tested using a hash set rather than by comparing against each value in turn.
+	 */
+	static final int HashThreshold = 8;
+
 	protected List<EPredicate<T>> predicates;
+	private boolean matchesNull;
+	private Object[] values;
+	private Set<Object> valueSet;
+	private List<EPredicate<T>> others;
 
 	public AnyOfPredicate(EPredicate<T>... predicates) {
 		this(Arrays.asList(predicates));
@@ -40,17 +60,75 @@ public class AnyOfPredicate<T> implements EPredicate<T> {
 
 	public AnyOfPredicate(List<EPredicate<T>> predicates) {
 		this.predicates = predicates;
+		List<Object> values = new ArrayList<Object>();
+		this.others = new ArrayList<EPredicate<T>>();
+		for (EPredicate<T> predicate : predicates) {
+			if (EqualsPredicate.isValuePredicate(predicate)) {
+				Object value = ((EqualsPredicate<T>) predicate).getValue();
+				if (value == null) {
+					this.matchesNull = true;
+				} else {
+					values.add(value);
+				}
+			} else {
+				this.others.add(predicate);
+			}
+		}
+		this.valueSet = createValueSet(values);
+		this.values = valueSet == null ? values.toArray() : null;
 	}
 
 	@Override
 	public boolean pass(T input) {
-		for (EPredicate<T> predicate : predicates) {
+		if (input == null ? matchesNull : containsValue(input)) {
+			return true;
+		}
+		for (EPredicate<T> predicate : others) {
 			if (predicate.pass(input)) {
 				return true;
 			}
 		}
 		return false;
 	}
+
+	private boolean containsValue(T input) {
+		if (valueSet != null) {
+			return valueSet.contains(input);
+		}
+		for (Object value : values) {
+			if (value.equals(input)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Set<Object> createValueSet(List<Object> values) {
+		Class<? extends Enum> enumType = commonEnumType(values);
+		if (enumType != null) {
+			Set set = EnumSet.noneOf(enumType);
+			set.addAll(values);
+			return set;
+		}
+		return values.size() > HashThreshold ? new HashSet<Object>(values) : null;
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static Class<? extends Enum> commonEnumType(List<Object> values) {
+		Class<? extends Enum> enumType = null;
+		for (Object value : values) {
+			if (!(value instanceof Enum)) {
+				return null;
+			}
+			Class<? extends Enum> type = ((Enum<?>) value).getDeclaringClass();
+			if (enumType != null && enumType != type) {
+				return null;
+			}
+			enumType = type;
+		}
+		return enumType;
+	}
 	
 	@Override
 	public String toString() {
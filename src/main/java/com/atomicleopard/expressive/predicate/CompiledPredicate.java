@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.predicate;
+
+import java.lang.reflect.Method;
+
+import com.atomicleopard.expressive.ReflectUtil;
+
+/**
+ * <p>
+ * A {@link CompiledPredicate} is the immutable, pre-resolved form of a {@link PredicateBuilder}, created using {@link PredicateBuilder#compile()}.
+ * </p>
+ * <p>
+ * The read method of each bean property is resolved once, when the predicate is compiled, and held in an array aligned with the property predicates. Evaluating the predicate is then a single loop
+ * over these arrays, with no map lookups or property descriptor access per input.
+ * </p>
+ * 
+ * @param <T>
+ * @see PredicateBuilder#compile()
+ */
+public class CompiledPredicate<T> implements EPredicate<T> {
+	private final String description;
+	private final Method[] readMethods;
+	private final EPredicate<Object>[] predicates;
+
+	CompiledPredicate(String description, Method[] readMethods, EPredicate<Object>[] predicates) {
+		this.description = description;
+		this.readMethods = readMethods;
+		this.predicates = predicates;
+	}
+
+	@Override
+	public boolean pass(T input) {
+		if (input == null) {
+			return false;
+		}
+		try {
+			for (int i = 0; i < readMethods.length; i++) {
+				Object value = readMethods[i].invoke(input, ReflectUtil.NoArgs);
+				if (!predicates[i].pass(value)) {
+					return false;
+				}
+			}
+			return true;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+}
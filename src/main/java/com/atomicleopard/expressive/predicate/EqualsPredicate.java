@@ -50,6 +50,23 @@ public class EqualsPredicate<T> implements EPredicate<T> {
 		return "is " + value;
 	}
 
+	/**
+	 * @return the value which inputs must equal to pass this predicate
+	 */
+	public T getValue() {
+		return value;
+	}
+
+	/**
+	 * Only {@link EqualsPredicate} and {@link NullPredicate} are known to pass on equality with {@link #getValue()} alone, subclasses may override {@link #pass(Object)}.
+	 * 
+	 * @param predicate
+	 * @return true if the given predicate passes exactly the inputs equal to its value, so may be answered by a lookup on that value
+	 */
+	public static boolean isValuePredicate(EPredicate<?> predicate) {
+		return predicate != null && (predicate.getClass() == EqualsPredicate.class || predicate.getClass() == NullPredicate.class);
+	}
+
 	public static <T> EList<EPredicate<T>> asPredicates(T... values) {
 		return EqualsPredicate.Transformer.<T> ForValues().from(values);
 	}
@@ -21,15 +21,14 @@
 package com.atomicleopard.expressive.predicate;
 
 import java.beans.PropertyDescriptor;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import com.atomicleopard.expressive.ETransformer;
 import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.IntrospectionCache;
 import com.atomicleopard.expressive.ReflectUtil;
 
 /**
@@ -48,16 +47,13 @@ public class PredicateBuilder<T> implements EPredicate<T> {
 	protected Map<String, PropertyDescriptor> getters;
 	protected LinkedHashMap<String, EPredicate<?>> propertyPredicates = new LinkedHashMap<String, EPredicate<?>>();
 
-	private static Map<Class<?>, Map<String, PropertyDescriptor>> PropertyDescriptorCache = new HashMap<Class<?>, Map<String, PropertyDescriptor>>();
-	private static ETransformer<Collection<PropertyDescriptor>, Map<String, PropertyDescriptor>> PropertyDescriptorLookupTransformer = Expressive.Transformers.toKeyBeanLookup("name", PropertyDescriptor.class);
-
 	public PredicateBuilder(Class<T> type) {
 		this(type, false);
 	}
 
 	public PredicateBuilder(Class<T> type, boolean noCache) {
 		this.type = type;
-		this.getters = getPropertyDescriptions(type, noCache);
+		this.getters = noCache ? IntrospectionCache.getBeanGettersUncached(type) : IntrospectionCache.getBeanGetters(type);
 	}
 
 	private PredicateBuilder(PredicateBuilder<T> predicateBuilder) {
@@ -73,27 +69,15 @@ public class PredicateBuilder<T> implements EPredicate<T> {
 		propertyPredicates.put(property, predicate);
 	}
 
-	public PredicateUsing where(String property) {
-		return new PredicateUsing(property);
-	}
-
 	/**
-	 * We cache property descriptors for types
-	 * 
-	 * @param type
-	 * @param noCache
-	 * @return
+	 * @return the predicates applied to each bean property, keyed by property name in the order they were added
 	 */
-	private static Map<String, PropertyDescriptor> getPropertyDescriptions(Class<?> type, boolean noCache) {
-		Map<String, PropertyDescriptor> existing = noCache ? null : PropertyDescriptorCache.get(type);
-		if (existing == null) {
-			PropertyDescriptor[] getters = ReflectUtil.getBeanGetters(type);
-			existing = PropertyDescriptorLookupTransformer.from(Arrays.asList(getters));
-			if (!noCache) {
-				PropertyDescriptorCache.put(type, existing);
-			}
-		}
-		return existing;
+	public Map<String, EPredicate<?>> getPropertyPredicates() {
+		return Collections.unmodifiableMap(propertyPredicates);
+	}
+
+	public PredicateUsing where(String property) {
+		return new PredicateUsing(property);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -118,6 +102,30 @@ public class PredicateBuilder<T> implements EPredicate<T> {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Compiles this builder into a {@link CompiledPredicate}, which resolves the read methods of the bean properties once and evaluates them in order without map lookups.
+	 * </p>
+	 * <p>
+	 * Prefer the compiled form when the same predicate is used to filter large numbers of beans. Like the builder, the compiled predicate is immutable and can be shared between threads.
+	 * </p>
+	 * 
+	 * @return a {@link CompiledPredicate} equivalent to this builder
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public CompiledPredicate<T> compile() {
+		int size = propertyPredicates.size();
+		Method[] readMethods = new Method[size];
+		EPredicate<Object>[] predicates = new EPredicate[size];
+		int i = 0;
+		for (Entry<String, EPredicate<?>> entry : propertyPredicates.entrySet()) {
+			readMethods[i] = ReflectUtil.accessible(getters.get(entry.getKey()).getReadMethod());
+			predicates[i] = (EPredicate<Object>) entry.getValue();
+			i++;
+		}
+		return new CompiledPredicate<T>(toString(), readMethods, predicates);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder("a " + type.getName());
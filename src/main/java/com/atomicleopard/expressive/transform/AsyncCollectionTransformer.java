@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.EListImpl;
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.ParallelUtil;
+
+/**
+ * <p>
+ * A {@link CollectionTransformer} which invokes the transformer for each element as a separate task, for use with transformers which spend most of their time blocked, such as those performing
+ * I/O. The latency of each transformation then overlaps with the others rather than accumulating.
+ * </p>
+ * <p>
+ * At most the given number of transformations are in progress at once for each invocation of {@link #from(Iterable)}; the calling thread waits for a transformation to complete before starting
+ * another beyond that limit. The resulting {@link EList} is in the same order as the input.
+ * </p>
+ * <p>
+ * By default tasks are run on a shared cached pool of daemon threads, with threads created as required up to the concurrency limit. An {@link ExecutorService} can be supplied instead, for
+ * example a virtual thread per task executor where the runtime provides one.
+ * </p>
+ * <p>
+ * If a transformation throws an exception, the remaining transformations are cancelled and the exception of the earliest failing element is rethrown.
+ * </p>
+ * 
+ * @param <In>
+ * @param <Out>
+ * @see CollectionTransformer
+ */
+public class AsyncCollectionTransformer<In, Out> extends CollectionTransformer<In, Out> {
+	private ETransformer<In, Out> transformer;
+	private int concurrency;
+	private ExecutorService executor;
+
+	/**
+	 * @param transformer
+	 * @param concurrency
+	 *            the maximum number of transformations in progress at once
+	 */
+	public AsyncCollectionTransformer(ETransformer<In, Out> transformer, int concurrency) {
+		this(transformer, concurrency, DefaultExecutor.Instance);
+	}
+
+	/**
+	 * @param transformer
+	 * @param concurrency
+	 *            the maximum number of transformations in progress at once
+	 * @param executor
+	 *            the executor to run transformations on
+	 */
+	public AsyncCollectionTransformer(ETransformer<In, Out> transformer, int concurrency, ExecutorService executor) {
+		super(transformer);
+		if (concurrency < 1) {
+			throw new IllegalArgumentException(String.format("The concurrency of an %s must be at least 1, but was %s", AsyncCollectionTransformer.class.getSimpleName(), concurrency));
+		}
+		this.transformer = transformer;
+		this.concurrency = concurrency;
+		this.executor = executor;
+	}
+
+	/**
+	 * @param in
+	 *            values to transform
+	 * @return an {@link EList} containing the transformed objects for the given {@link Iterable} in the same order as they are supplied
+	 */
+	@Override
+	public EList<Out> from(Iterable<In> in) {
+		EList<Out> result = new EListImpl<Out>();
+		if (in == null) {
+			return result;
+		}
+		final Semaphore permits = new Semaphore(concurrency);
+		final AtomicBoolean failed = new AtomicBoolean();
+		List<Future<Out>> futures = new ArrayList<Future<Out>>();
+		try {
+			for (final In entry : in) {
+				permits.acquire();
+				if (failed.get()) {
+					// no need to start further transformations, the failure is rethrown below
+					permits.release();
+					break;
+				}
+				try {
+					futures.add(executor.submit(new Callable<Out>() {
+						@Override
+						public Out call() throws Exception {
+							try {
+								return transformer.from(entry);
+							} catch (RuntimeException e) {
+								failed.set(true);
+								throw e;
+							} catch (Error e) {
+								failed.set(true);
+								throw e;
+							} finally {
+								permits.release();
+							}
+						}
+					}));
+				} catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+			}
+			for (Future<Out> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw ParallelUtil.unchecked(e.getCause());
+		} finally {
+			for (Future<Out> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static class DefaultExecutor {
+		private static final ExecutorService Instance = Executors.newCachedThreadPool(ParallelUtil.daemonThreadFactory("expressive-async-"));
+	}
+}
@@ -24,6 +24,7 @@ import static com.atomicleopard.expressive.Cast.is;
 
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -32,11 +33,32 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.SortedSet;
 
+import com.atomicleopard.expressive.IntrospectionCache;
 import com.atomicleopard.expressive.ReflectUtil;
 
+/**
+ * <p>
+ * Base class for transformers which read a named javabean property.
+ * </p>
+ * <p>
+ * When constructed with a class, the read method for the property is resolved once at construction. Otherwise it is resolved from the runtime class of the beans being transformed, and the read
+ * methods for the first {@value #ReadMethodCacheSize} classes seen are cached by the transformer, so that repeated transformations of the same types do not need to look up the property again.
+ * </p>
+ * 
+ * @param <V>
+ * @param <K>
+ */
 public abstract class BaseBeanPropertyTransformer<V, K> {
+	/**
+	 * The number of runtime classes for which an untyped transformer caches read methods, beyond this the read method is looked up on each transformation.
+	 */
+	static final int ReadMethodCacheSize = 4;
+
 	protected String propertyName;
 	protected PropertyDescriptor propertyDescriptor;
+	private Method readMethod;
+	private volatile ReadMethodCacheEntry monomorphicEntry;
+	private volatile ReadMethodCacheEntry[] polymorphicEntries = new ReadMethodCacheEntry[0];
 
 	public BaseBeanPropertyTransformer(String propertyName) {
 		this(null, propertyName);
@@ -45,29 +67,52 @@ public abstract class BaseBeanPropertyTransformer<V, K> {
 	public BaseBeanPropertyTransformer(Class<V> clazz, String propertyName) {
 		this.propertyName = propertyName;
 		this.propertyDescriptor = clazz == null ? null : findDescriptorForProperty(propertyName, clazz);
+		this.readMethod = propertyDescriptor == null ? null : ReflectUtil.accessible(propertyDescriptor.getReadMethod());
 	}
 
 	@SuppressWarnings("unchecked")
 	protected <T> T getPropertyValue(V from, Method readMethod) {
 		try {
-			return (T) readMethod.invoke(from);
+			return (T) readMethod.invoke(from, ReflectUtil.NoArgs);
 		} catch (Exception e) {
 			throw new RuntimeException(String.format("Unable to read the bean property '%s' from the given object: %s", propertyName, e.getMessage()), e);
 		}
 	}
 
 	protected Method getReadMethod(V from) {
-		PropertyDescriptor propertyDescriptor = this.propertyDescriptor == null ? findDescriptorForProperty(propertyName, from.getClass()) : this.propertyDescriptor;
-		Method readMethod = propertyDescriptor.getReadMethod();
+		if (readMethod != null) {
+			return readMethod;
+		}
+		Class<?> type = from.getClass();
+		ReadMethodCacheEntry entry = monomorphicEntry;
+		if (entry != null && entry.type == type) {
+			return entry.readMethod;
+		}
+		for (ReadMethodCacheEntry polymorphicEntry : polymorphicEntries) {
+			if (polymorphicEntry.type == type) {
+				return polymorphicEntry.readMethod;
+			}
+		}
+		Method readMethod = ReflectUtil.accessible(findDescriptorForProperty(propertyName, type).getReadMethod());
+		cacheReadMethod(type, readMethod);
 		return readMethod;
 	}
 
+	private synchronized void cacheReadMethod(Class<?> type, Method readMethod) {
+		ReadMethodCacheEntry entry = new ReadMethodCacheEntry(type, readMethod);
+		if (monomorphicEntry == null) {
+			monomorphicEntry = entry;
+		} else if (polymorphicEntries.length < ReadMethodCacheSize - 1) {
+			ReadMethodCacheEntry[] entries = Arrays.copyOf(polymorphicEntries, polymorphicEntries.length + 1);
+			entries[entries.length - 1] = entry;
+			polymorphicEntries = entries;
+		}
+	}
+
 	static <T> PropertyDescriptor findDescriptorForProperty(String propertyName, Class<T> clazz) {
-		PropertyDescriptor[] beanGetters = ReflectUtil.getBeanGetters(clazz);
-		for (PropertyDescriptor propertyDescriptor : beanGetters) {
-			if (propertyDescriptor.getName().equals(propertyName)) {
-				return propertyDescriptor;
-			}
+		PropertyDescriptor propertyDescriptor = IntrospectionCache.getBeanGetters(clazz).get(propertyName);
+		if (propertyDescriptor != null) {
+			return propertyDescriptor;
 		}
 		throw new RuntimeException(String.format("There is no accessible property named '%s' for the class %s, cannot create a LookupTransformer", propertyName, clazz.getName()));
 	}
@@ -85,7 +130,30 @@ public abstract class BaseBeanPropertyTransformer<V, K> {
 	 * @return
 	 */
 	static <K, V, T> Map<K, V> createMapRetainingOrder(Collection<T> collection) {
+		return createMapRetainingOrder(collection, collection == null ? 0 : collection.size());
+	}
+
+	/**
+	 * As {@link #createMapRetainingOrder(Collection)}, sizing the map to hold the given number of entries without rehashing.
+	 * 
+	 * @param collection
+	 * @param size
+	 *            the expected number of entries
+	 * @return
+	 */
+	static <K, V, T> Map<K, V> createMapRetainingOrder(Collection<T> collection, int size) {
 		boolean ordered = is(collection, List.class, SortedSet.class, Queue.class);
-		return ordered ? new LinkedHashMap<K, V>(collection.size()) : new HashMap<K, V>();
+		int capacity = size < 3 ? size + 1 : (int) (size / 0.75f) + 1;
+		return ordered ? new LinkedHashMap<K, V>(capacity) : new HashMap<K, V>(capacity);
+	}
+
+	private static final class ReadMethodCacheEntry {
+		private final Class<?> type;
+		private final Method readMethod;
+
+		private ReadMethodCacheEntry(Class<?> type, Method readMethod) {
+			this.type = type;
+			this.readMethod = readMethod;
+		}
 	}
 }
@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.atomicleopard.expressive.collection.CompositeIndex;
+
+/**
+ * <p>
+ * Base class for transformers which index beans by the values of several named javabean properties using a {@link CompositeIndex}.
+ * </p>
+ * <p>
+ * The property values of each bean are read into a single array which is reused for every bean in a transformation, so no key object is created for a bean unless it adds a new entry to the index.
+ * </p>
+ * 
+ * @param <V>
+ */
+public abstract class BaseCompositeBeanPropertyTransformer<V> {
+	protected final String[] propertyNames;
+	private final BeanPropertyTransformer<V, Object>[] properties;
+
+	public BaseCompositeBeanPropertyTransformer(String... propertyNames) {
+		this(null, propertyNames);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public BaseCompositeBeanPropertyTransformer(Class<V> clazz, String... propertyNames) {
+		if (propertyNames == null || propertyNames.length == 0) {
+			throw new IllegalArgumentException(String.format("A %s requires at least one property name", getClass().getSimpleName()));
+		}
+		this.propertyNames = propertyNames.clone();
+		this.properties = new BeanPropertyTransformer[propertyNames.length];
+		for (int i = 0; i < propertyNames.length; i++) {
+			properties[i] = new BeanPropertyTransformer<V, Object>(clazz, propertyNames[i]);
+		}
+	}
+
+	/**
+	 * Reads the values of the properties of this transformer from the given bean into the given array.
+	 * 
+	 * @param from
+	 * @param key
+	 *            an array with one element per property name
+	 * @return the given array
+	 */
+	protected Object[] readKey(V from, Object[] key) {
+		for (int i = 0; i < properties.length; i++) {
+			key[i] = properties[i].from(from);
+		}
+		return key;
+	}
+
+	protected <T> CompositeIndex<T> createIndex(Collection<V> from) {
+		return new CompositeIndex<T>(properties.length, from == null ? 0 : from.size());
+	}
+
+	protected RuntimeException failure(Exception e) {
+		return new RuntimeException(String.format("Failed to transform a Collection to a lookup %s using properties %s: %s", CompositeIndex.class.getSimpleName(), Arrays.toString(propertyNames),
+				e.getMessage()), e);
+	}
+}
@@ -21,6 +21,7 @@
 package com.atomicleopard.expressive.transform;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,35 +29,118 @@ import java.util.Map;
 
 import com.atomicleopard.expressive.ETransformer;
 
+/**
+ * <p>
+ * Transforms a collection of beans into a lookup map from the value of a bean property to the list of beans with that value.
+ * </p>
+ * <p>
+ * The {@link Grouping} determines how the list of beans for each value is built. By default each is a {@link LinkedList}, {@link Grouping#Array} and {@link Grouping#Counted} instead use
+ * array-backed {@link ArrayList}s, which are more compact and faster to iterate.
+ * </p>
+ * 
+ * @param <V>
+ * @param <K>
+ */
 public class BeanPropertyLookupTransformer<V, K> extends BaseBeanPropertyTransformer<V, K> implements ETransformer<Collection<V>, Map<K, List<V>>> {
+	/**
+	 * How the list of beans for each property value is built.
+	 */
+	public enum Grouping {
+		/**
+		 * Each list is a {@link LinkedList}.
+		 */
+		Linked,
+		/**
+		 * Each list is an {@link ArrayList}, grown as beans are added.
+		 */
+		Array,
+		/**
+		 * Each list is an {@link ArrayList} created at its exact final size. The property values are read in a first pass to count the beans with each value, and the beans are added to the lists
+		 * in a second pass, so the given collection is iterated twice.
+		 */
+		Counted;
+	}
+
+	private Grouping grouping;
 
 	public BeanPropertyLookupTransformer(String propertyName) {
-		super(propertyName);
+		this(propertyName, Grouping.Linked);
 	}
 
 	public BeanPropertyLookupTransformer(Class<V> clazz, String propertyName) {
+		this(clazz, propertyName, Grouping.Linked);
+	}
+
+	public BeanPropertyLookupTransformer(String propertyName, Grouping grouping) {
+		super(propertyName);
+		this.grouping = grouping;
+	}
+
+	public BeanPropertyLookupTransformer(Class<V> clazz, String propertyName, Grouping grouping) {
 		super(clazz, propertyName);
+		this.grouping = grouping;
 	}
 
 	public Map<K, List<V>> from(Collection<V> from) {
+		if (from == null || from.isEmpty()) {
+			return createMapRetainingOrder(from);
+		}
+		try {
+			Method readMethod = getReadMethod(from.iterator().next());
+			return grouping == Grouping.Counted ? groupCounted(from, readMethod) : group(from, readMethod);
+		} catch (Exception e) {
+			throw new RuntimeException(String.format("Failed to transform a Collection to a lookup Map using property '%s': %s", propertyName, e.getMessage()), e);
+		}
+	}
+
+	public Grouping getGrouping() {
+		return grouping;
+	}
+
+	private Map<K, List<V>> group(Collection<V> from, Method readMethod) {
 		Map<K, List<V>> results = createMapRetainingOrder(from);
-		if (from != null && !from.isEmpty()) {
-			try {
-				Method readMethod = getReadMethod(from.iterator().next());
-				for (V v : from) {
-					K key = getPropertyValue(v, readMethod);
-					List<V> existing = results.get(key);
-					if (existing == null) {
-						existing = new LinkedList<V>();
-						results.put(key, existing);
-					}
-					existing.add(v);
-				}
-			} catch (Exception e) {
-				throw new RuntimeException(String.format("Failed to transform a Collection to a lookup Map using property '%s': %s", propertyName, e.getMessage()), e);
+		for (V v : from) {
+			K key = getPropertyValue(v, readMethod);
+			List<V> existing = results.get(key);
+			if (existing == null) {
+				existing = grouping == Grouping.Linked ? new LinkedList<V>() : new ArrayList<V>();
+				results.put(key, existing);
+			}
+			existing.add(v);
+		}
+		return results;
+	}
+
+	private Map<K, List<V>> groupCounted(Collection<V> from, Method readMethod) {
+		Object[] keys = new Object[from.size()];
+		Map<K, Bucket<V>> buckets = createMapRetainingOrder(from);
+		int index = 0;
+		for (V v : from) {
+			K key = getPropertyValue(v, readMethod);
+			keys[index++] = key;
+			Bucket<V> bucket = buckets.get(key);
+			if (bucket == null) {
+				bucket = new Bucket<V>();
+				buckets.put(key, bucket);
 			}
+			bucket.count++;
 		}
 
+		Map<K, List<V>> results = createMapRetainingOrder(from, buckets.size());
+		for (Map.Entry<K, Bucket<V>> entry : buckets.entrySet()) {
+			Bucket<V> bucket = entry.getValue();
+			bucket.values = new ArrayList<V>(bucket.count);
+			results.put(entry.getKey(), bucket.values);
+		}
+		index = 0;
+		for (V v : from) {
+			buckets.get(keys[index++]).values.add(v);
+		}
 		return results;
 	}
+
+	private static final class Bucket<V> {
+		private int count;
+		private List<V> values;
+	}
 }
@@ -0,0 +1,353 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.atomicleopard.expressive.ETransformer;
+
+/**
+ * <p>
+ * An {@link ETransformer} which caches the results of another {@link ETransformer}, for use where the transformation is expensive and the same values are transformed repeatedly.
+ * </p>
+ * <p>
+ * The cache holds at most the given number of results, evicting either the least recently used ({@link Policy#LRU}) or least frequently used ({@link Policy#LFU}) result when it is full. Null
+ * values and results are cached like any other. Optionally results can be held weakly, in which case a result which has been garbage collected is recomputed and counted as a miss.
+ * </p>
+ * <p>
+ * {@link CachingTransformer} is safe for use from many threads. The cache is divided into independently locked segments by the hash of the value being transformed, and the delegate
+ * transformer is invoked outside of any lock, so concurrent misses for the same value may each invoke the delegate. The delegate should therefore be stateless, as recommended for all
+ * {@link ETransformer}s.
+ * </p>
+ * 
+ * @param <From>
+ * @param <To>
+ */
+public class CachingTransformer<From, To> implements ETransformer<From, To> {
+	/**
+	 * The eviction policy used when a {@link CachingTransformer} is full.
+	 */
+	public enum Policy {
+		/**
+		 * Evicts the least recently used result.
+		 */
+		LRU,
+		/**
+		 * Evicts the least frequently used result, the least recently added of those when there is a tie.
+		 */
+		LFU;
+	}
+
+	/**
+	 * The maximum number of segments a cache is divided into.
+	 */
+	static final int MaxSegments = 16;
+	/**
+	 * The minimum capacity of each segment, so that small caches are not divided into segments too small to be useful.
+	 */
+	static final int MinSegmentSize = 16;
+	private static final Object NullKey = new Object();
+
+	private ETransformer<From, To> transformer;
+	private int maxSize;
+	private Policy policy;
+	private boolean weakValues;
+	private Segment[] segments;
+	private AtomicLong hits = new AtomicLong();
+	private AtomicLong misses = new AtomicLong();
+	private AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param transformer
+	 *            the transformer to cache the results of
+	 * @param maxSize
+	 *            the maximum number of results to cache
+	 * @param policy
+	 *            the eviction policy
+	 */
+	public CachingTransformer(ETransformer<From, To> transformer, int maxSize, Policy policy) {
+		this(transformer, maxSize, policy, false);
+	}
+
+	/**
+	 * @param transformer
+	 *            the transformer to cache the results of
+	 * @param maxSize
+	 *            the maximum number of results to cache
+	 * @param policy
+	 *            the eviction policy
+	 * @param weakValues
+	 *            true to hold cached results weakly, so they can be garbage collected while cached
+	 */
+	public CachingTransformer(ETransformer<From, To> transformer, int maxSize, Policy policy, boolean weakValues) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException(String.format("The maximum size of a %s must be at least 1, but was %s", CachingTransformer.class.getSimpleName(), maxSize));
+		}
+		this.transformer = transformer;
+		this.maxSize = maxSize;
+		this.policy = policy;
+		this.weakValues = weakValues;
+		int segmentCount = 1;
+		while (segmentCount < MaxSegments && maxSize / (segmentCount * 2) >= MinSegmentSize) {
+			segmentCount *= 2;
+		}
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			int capacity = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+			segments[i] = policy == Policy.LRU ? new LruSegment(capacity) : new LfuSegment(capacity);
+		}
+	}
+
+	@Override
+	public To from(From from) {
+		Object key = from == null ? NullKey : from;
+		Segment segment = segmentFor(key);
+		Object cached = segment.get(key);
+		if (cached != null) {
+			Object value = weakValues ? ((WeakReference<?>) cached).get() : cached;
+			if (value != null) {
+				hits.incrementAndGet();
+				return unmask(value);
+			}
+		}
+		misses.incrementAndGet();
+		To value = transformer.from(from);
+		Object masked = value == null ? NullKey : value;
+		if (segment.put(key, weakValues ? new WeakReference<Object>(masked) : masked)) {
+			evictions.incrementAndGet();
+		}
+		return value;
+	}
+
+	/**
+	 * @return the number of transformations answered from the cache
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of transformations which invoked the delegate transformer
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of results evicted to make space for others
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	/**
+	 * @return the number of results currently cached, including any weakly held results which have been garbage collected
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Removes all cached results, the hit, miss and eviction counts are not reset.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public Policy getPolicy() {
+		return policy;
+	}
+
+	public boolean isWeakValues() {
+		return weakValues;
+	}
+
+	@SuppressWarnings("unchecked")
+	private To unmask(Object value) {
+		return value == NullKey ? null : (To) value;
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * A portion of the cache with its own lock and capacity.
+	 */
+	private abstract static class Segment {
+		protected final int capacity;
+
+		protected Segment(int capacity) {
+			this.capacity = capacity;
+		}
+
+		/**
+		 * @return the cached value for the given key, or null if none is cached
+		 */
+		abstract Object get(Object key);
+
+		/**
+		 * @return true if an entry was evicted to make space for the given one
+		 */
+		abstract boolean put(Object key, Object value);
+
+		abstract int size();
+
+		abstract void clear();
+	}
+
+	private static final class LruSegment extends Segment {
+		private final LinkedHashMap<Object, Object> entries;
+
+		private LruSegment(int capacity) {
+			super(capacity);
+			this.entries = new LinkedHashMap<Object, Object>(16, 0.75f, true);
+		}
+
+		@Override
+		synchronized Object get(Object key) {
+			return entries.get(key);
+		}
+
+		@Override
+		synchronized boolean put(Object key, Object value) {
+			boolean evict = !entries.containsKey(key) && entries.size() >= capacity;
+			if (evict) {
+				Iterator<Object> eldest = entries.keySet().iterator();
+				eldest.next();
+				eldest.remove();
+			}
+			entries.put(key, value);
+			return evict;
+		}
+
+		@Override
+		synchronized int size() {
+			return entries.size();
+		}
+
+		@Override
+		synchronized void clear() {
+			entries.clear();
+		}
+	}
+
+	private static final class LfuSegment extends Segment {
+		private final Map<Object, LfuEntry> entries = new HashMap<Object, LfuEntry>();
+		/**
+		 * The keys with each use count, in the order they reached that count.
+		 */
+		private final TreeMap<Integer, LinkedHashSet<Object>> frequencies = new TreeMap<Integer, LinkedHashSet<Object>>();
+
+		private LfuSegment(int capacity) {
+			super(capacity);
+		}
+
+		@Override
+		synchronized Object get(Object key) {
+			LfuEntry entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			move(key, entry.frequency, entry.frequency + 1);
+			entry.frequency++;
+			return entry.value;
+		}
+
+		@Override
+		synchronized boolean put(Object key, Object value) {
+			LfuEntry entry = entries.get(key);
+			if (entry != null) {
+				entry.value = value;
+				return false;
+			}
+			boolean evict = entries.size() >= capacity;
+			if (evict) {
+				Map.Entry<Integer, LinkedHashSet<Object>> least = frequencies.firstEntry();
+				Iterator<Object> keys = least.getValue().iterator();
+				Object evicted = keys.next();
+				keys.remove();
+				if (least.getValue().isEmpty()) {
+					frequencies.remove(least.getKey());
+				}
+				entries.remove(evicted);
+			}
+			entries.put(key, new LfuEntry(value));
+			move(key, null, 1);
+			return evict;
+		}
+
+		@Override
+		synchronized int size() {
+			return entries.size();
+		}
+
+		@Override
+		synchronized void clear() {
+			entries.clear();
+			frequencies.clear();
+		}
+
+		private void move(Object key, Integer from, Integer to) {
+			if (from != null) {
+				LinkedHashSet<Object> keys = frequencies.get(from);
+				keys.remove(key);
+				if (keys.isEmpty()) {
+					frequencies.remove(from);
+				}
+			}
+			LinkedHashSet<Object> keys = frequencies.get(to);
+			if (keys == null) {
+				keys = new LinkedHashSet<Object>();
+				frequencies.put(to, keys);
+			}
+			keys.add(key);
+		}
+	}
+
+	private static final class LfuEntry {
+		private Object value;
+		private int frequency = 1;
+
+		private LfuEntry(Object value) {
+			this.value = value;
+		}
+	}
+}
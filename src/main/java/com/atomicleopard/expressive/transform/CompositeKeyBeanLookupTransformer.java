@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.util.Collection;
+
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.collection.CompositeIndex;
+
+/**
+ * <p>
+ * Transforms a collection of beans into a {@link CompositeIndex} from the values of several bean properties to the bean with those values.
+ * </p>
+ * <p>
+ * If more than one bean has the same property values, the last bean in the iteration order of the given collection is present.
+ * </p>
+ * 
+ * @param <V>
+ */
+public class CompositeKeyBeanLookupTransformer<V> extends BaseCompositeBeanPropertyTransformer<V> implements ETransformer<Collection<V>, CompositeIndex<V>> {
+	public CompositeKeyBeanLookupTransformer(String... propertyNames) {
+		super(propertyNames);
+	}
+
+	public CompositeKeyBeanLookupTransformer(Class<V> clazz, String... propertyNames) {
+		super(clazz, propertyNames);
+	}
+
+	public CompositeIndex<V> from(Collection<V> from) {
+		CompositeIndex<V> results = createIndex(from);
+		if (from != null && !from.isEmpty()) {
+			try {
+				Object[] key = new Object[propertyNames.length];
+				for (V v : from) {
+					results.put(readKey(v, key), v);
+				}
+			} catch (Exception e) {
+				throw failure(e);
+			}
+		}
+		return results;
+	}
+}
@@ -20,21 +20,73 @@
  */
 package com.atomicleopard.expressive.transform;
 
+import java.util.Collections;
+import java.util.Map;
+
 import com.atomicleopard.expressive.ETransformer;
 
+/**
+ * <p>
+ * Transforms strings to the constant of an enum type with that name, or null if there is no such constant.
+ * </p>
+ * <p>
+ * Names are looked up in a hash table of the constants of the enum type which is built once and shared by all transformers for the type, so unknown strings are as cheap to transform as known
+ * ones. Optionally names can be matched without regard to case, and additional aliases can be given for constants. Exact matches of constant names take precedence over case insensitive matches,
+ * which take precedence over aliases.
+ * </p>
+ * 
+ * @param <From>
+ */
 public class EnumFromStringTransformer<From extends Enum<From>> implements ETransformer<String, From> {
 	private Class<From> type;
+	private StringLookupTable<From> names;
+	private StringLookupTable<From> namesIgnoringCase;
+	private StringLookupTable<From> aliases;
 
 	public EnumFromStringTransformer(Class<From> type) {
+		this(type, false);
+	}
+
+	/**
+	 * @param type
+	 * @param ignoreCase
+	 *            true to match constant names without regard to case
+	 */
+	public EnumFromStringTransformer(Class<From> type, boolean ignoreCase) {
+		this(type, ignoreCase, Collections.<String, From> emptyMap());
+	}
+
+	/**
+	 * @param type
+	 * @param ignoreCase
+	 *            true to match constant names and aliases without regard to case
+	 * @param aliases
+	 *            additional strings to transform to the given constants
+	 */
+	public EnumFromStringTransformer(Class<From> type, boolean ignoreCase, Map<String, From> aliases) {
 		this.type = type;
+		StringLookupTable<From>[] tables = StringLookupTable.forEnum(type);
+		this.names = tables[0];
+		this.namesIgnoringCase = ignoreCase ? tables[1] : null;
+		this.aliases = aliases == null || aliases.isEmpty() ? null : new StringLookupTable<From>(aliases, ignoreCase);
 	}
 
 	@Override
 	public From from(String string) {
-		try {
-			return string == null ? null : Enum.valueOf(type, string);
-		} catch (IllegalArgumentException e) {
+		if (string == null) {
 			return null;
 		}
+		From value = names.get(string);
+		if (value == null && namesIgnoringCase != null) {
+			value = namesIgnoringCase.get(string);
+		}
+		if (value == null && aliases != null) {
+			value = aliases.get(string);
+		}
+		return value;
+	}
+
+	public Class<From> getType() {
+		return type;
 	}
 }
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutorService;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.ParallelUtil;
+
+/**
+ * <p>
+ * A {@link CollectionTransformer} which transforms large {@link RandomAccess} lists concurrently, for use with transformers which are expensive and safe to invoke concurrently.
+ * </p>
+ * <p>
+ * The input is split into contiguous chunks using {@link ParallelUtil}, and each chunk writes its results into its own range of a pre-sized output list, so the resulting {@link EList} is in the
+ * same order as the input. Inputs smaller than {@link ParallelUtil#SequentialThreshold}, and inputs which are not {@link RandomAccess} {@link List}s, are transformed sequentially as by
+ * {@link CollectionTransformer}.
+ * </p>
+ * <p>
+ * If the transformer throws an exception, the outstanding chunks are cancelled and the exception from the earliest failing chunk is rethrown.
+ * </p>
+ * 
+ * @param <In>
+ * @param <Out>
+ * @see CollectionTransformer
+ * @see ParallelUtil
+ */
+public class ParallelCollectionTransformer<In, Out> extends CollectionTransformer<In, Out> {
+	private ETransformer<In, Out> transformer;
+	private ExecutorService executor;
+
+	/**
+	 * Creates a {@link ParallelCollectionTransformer} which processes chunks using {@link ParallelUtil#defaultExecutor()}.
+	 * 
+	 * @param transformer
+	 */
+	public ParallelCollectionTransformer(ETransformer<In, Out> transformer) {
+		this(transformer, ParallelUtil.defaultExecutor());
+	}
+
+	/**
+	 * Creates a {@link ParallelCollectionTransformer} which processes chunks using the given executor.
+	 * 
+	 * @param transformer
+	 * @param executor
+	 */
+	public ParallelCollectionTransformer(ETransformer<In, Out> transformer, ExecutorService executor) {
+		super(transformer);
+		this.transformer = transformer;
+		this.executor = executor;
+	}
+
+	/**
+	 * @param in
+	 *            values to transform
+	 * @return an {@link EList} containing the transformed objects for the given {@link Iterable} in the same order as they are supplied
+	 */
+	@Override
+	public EList<Out> from(Iterable<In> in) {
+		if (!(in instanceof List && in instanceof RandomAccess) || ((List<In>) in).size() < ParallelUtil.SequentialThreshold) {
+			return super.from(in);
+		}
+		final List<In> source = (List<In>) in;
+		final EList<Out> results = ParallelUtil.presizedList(source.size());
+		ParallelUtil.invokeChunks(executor, source.size(), new ParallelUtil.Chunk<Void>() {
+			@Override
+			public Void process(int from, int to) {
+				for (int i = from; i < to; i++) {
+					results.set(i, transformer.from(source.get(i)));
+				}
+				return null;
+			}
+		});
+		return results;
+	}
+}
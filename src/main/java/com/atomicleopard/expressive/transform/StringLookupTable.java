@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * An immutable open addressing hash table from strings to values, optionally matching keys without regard to case as {@link String#equalsIgnoreCase(String)} does.
+ * </p>
+ * <p>
+ * Lookups neither allocate nor throw, whether or not the key is present. Where keys collide when case is ignored, the first given takes precedence.
+ * </p>
+ * 
+ * @param <V>
+ */
+final class StringLookupTable<V> {
+	private static final Map<Class<?>, SoftReference<StringLookupTable<?>[]>> EnumTables = Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<StringLookupTable<?>[]>>());
+
+	private final String[] keys;
+	private final Object[] values;
+	private final int mask;
+	private final boolean ignoreCase;
+
+	StringLookupTable(Map<String, V> entries, boolean ignoreCase) {
+		int capacity = 2;
+		while (capacity < entries.size() * 2) {
+			capacity *= 2;
+		}
+		this.keys = new String[capacity];
+		this.values = new Object[capacity];
+		this.mask = capacity - 1;
+		this.ignoreCase = ignoreCase;
+		for (Map.Entry<String, V> entry : entries.entrySet()) {
+			int index = hash(entry.getKey()) & mask;
+			while (keys[index] != null && !matches(keys[index], entry.getKey())) {
+				index = (index + 1) & mask;
+			}
+			if (keys[index] == null) {
+				keys[index] = entry.getKey();
+				values[index] = entry.getValue();
+			}
+		}
+	}
+
+	/**
+	 * @param key
+	 * @return the value for the given key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	V get(String key) {
+		int index = hash(key) & mask;
+		String candidate;
+		while ((candidate = keys[index]) != null) {
+			if (matches(candidate, key)) {
+				return (V) values[index];
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the tables of constant names for the given enum type, the first matching names exactly and the second ignoring case. The tables are shared by all callers, and built once per type
+	 * unless reclaimed under memory pressure.
+	 * 
+	 * @param type
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	static <E extends Enum<E>> StringLookupTable<E>[] forEnum(Class<E> type) {
+		SoftReference<StringLookupTable<?>[]> reference = EnumTables.get(type);
+		StringLookupTable<?>[] tables = reference == null ? null : reference.get();
+		if (tables == null) {
+			Map<String, E> names = new LinkedHashMap<String, E>();
+			for (E constant : type.getEnumConstants()) {
+				names.put(constant.name(), constant);
+			}
+			tables = new StringLookupTable<?>[] { new StringLookupTable<E>(names, false), new StringLookupTable<E>(names, true) };
+			EnumTables.put(type, new SoftReference<StringLookupTable<?>[]>(tables));
+		}
+		return (StringLookupTable<E>[]) tables;
+	}
+
+	private boolean matches(String candidate, String key) {
+		return ignoreCase ? candidate.equalsIgnoreCase(key) : candidate.equals(key);
+	}
+
+	private int hash(String key) {
+		int hash;
+		if (ignoreCase) {
+			hash = 0;
+			for (int i = 0; i < key.length(); i++) {
+				hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+			}
+		} else {
+			hash = key.hashCode();
+		}
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,293 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.comparator.ComparableComparator;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+public class CopyOnWriteEListTest {
+	private EPredicate<Integer> positive = new EPredicate<Integer>() {
+		@Override
+		public boolean pass(Integer item) {
+			return item >= 0;
+		}
+	};
+
+	@Test
+	public void shouldCreateLists() {
+		assertThat(new CopyOnWriteEList<Integer>(1, 2), is(Arrays.asList(1, 2)));
+		assertThat(new CopyOnWriteEList<Integer>(Arrays.asList(1, 2)), is(Arrays.asList(1, 2)));
+		assertThat(new CopyOnWriteEList<Integer>((List<Integer>) null).isEmpty(), is(true));
+		assertThat(new CopyOnWriteEList<Integer>().isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldSupportListOperations() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>();
+		assertThat(list.add(1), is(true));
+		list.add(0, 0);
+		assertThat(list.addAll(Arrays.asList(2, 3, 2)), is(true));
+		assertThat(list.addAll(1, Arrays.asList(7, 8)), is(true));
+		assertThat(list, is(Arrays.asList(0, 7, 8, 1, 2, 3, 2)));
+		assertThat(list.set(1, 9), is(7));
+		assertThat(list.remove(1), is(9));
+		assertThat(list.remove((Object) 8), is(true));
+		assertThat(list.remove((Object) 8), is(false));
+		assertThat(list.indexOf(2), is(2));
+		assertThat(list.lastIndexOf(2), is(4));
+		assertThat(list.contains(3), is(true));
+		assertThat(list.containsAll(Arrays.asList(0, 3)), is(true));
+		assertThat(list.removeAll(Arrays.asList(0)), is(true));
+		assertThat(list.retainAll(Arrays.asList(2, 3)), is(true));
+		assertThat(list.retainAll(Arrays.asList(2, 3)), is(false));
+		assertThat(list, is(Arrays.asList(2, 3, 2)));
+		assertThat(list.toArray(), is(new Object[] { 2, 3, 2 }));
+		assertThat(list.toArray(new Integer[0]), is(new Integer[] { 2, 3, 2 }));
+		assertThat(list.hashCode(), is(Arrays.asList(2, 3, 2).hashCode()));
+		assertThat(list.toString(), is("[2, 3, 2]"));
+		assertThat(list.equals(Arrays.asList(2, 3, 2)), is(true));
+		list.clear();
+		assertThat(list.isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldSupportEListOperations() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(3, -1, 2);
+		assertThat(list.addItems(4).addItems(Arrays.asList(-5)), is(Arrays.asList(3, -1, 2, 4, -5)));
+		assertThat(list.insertItems(1, 0).insertItems(10, Arrays.asList(6)), is(Arrays.asList(3, 0, -1, 2, 4, -5, 6)));
+		assertThat(list.first(), is(3));
+		assertThat(list.last(), is(6));
+		assertThat(list.at(10), is(nullValue()));
+		assertThat(list.getItems(positive), is(Arrays.asList(3, 0, 2, 4, 6)));
+		assertThat(list.split(positive).getB(), is(Arrays.asList(-1, -5)));
+		assertThat(list.view().filter(positive).toList(), is(Arrays.asList(3, 0, 2, 4, 6)));
+		assertThat(list.subList(1, 3), is(Arrays.asList(0, -1)));
+		assertThat(list.getItems(5, 10), is(Arrays.asList(-5, 6)));
+		assertThat(list.removeItems(positive), is(Arrays.asList(-1, -5)));
+		assertThat(list.addItems(1, 2).removeItems(-1), is(Arrays.asList(-5, 1, 2)));
+		assertThat(list.removeItems(Arrays.asList(1)), is(Arrays.asList(-5, 2)));
+		assertThat(list.addItems(7).retainItems(positive), is(Arrays.asList(2, 7)));
+		assertThat(list.retainItems(7, 8), is(Arrays.asList(7)));
+		assertThat(list.addItems(9).retainItems(Arrays.asList(9)), is(Arrays.asList(9)));
+		assertThat(list.addItems(3, 1).sort(new ComparableComparator<Integer>()), is(Arrays.asList(1, 3, 9)));
+	}
+
+	@Test
+	public void shouldDuplicateIndependently() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2);
+		EList<Integer> duplicate = list.duplicate();
+		list.addItems(3);
+		duplicate.removeItems(1);
+		assertThat(list, is(Arrays.asList(1, 2, 3)));
+		assertThat(duplicate, is(Arrays.asList(2)));
+	}
+
+	@Test
+	public void shouldIterateOverASnapshot() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2);
+		Iterator<Integer> iterator = list.iterator();
+		list.addItems(3);
+		List<Integer> iterated = new ArrayList<Integer>();
+		while (iterator.hasNext()) {
+			iterated.add(iterator.next());
+		}
+		assertThat(iterated, is(Arrays.asList(1, 2)));
+		try {
+			list.iterator().remove();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void shouldNotChangeWhenAPredicateThrows() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2, 3);
+		try {
+			list.removeItems(new EPredicate<Integer>() {
+				@Override
+				public boolean pass(Integer item) {
+					if (item == 1) {
+						return true;
+					}
+					throw new IllegalStateException();
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(list, hasItems(2, 3));
+	}
+
+	@Test
+	public void shouldShareContentsWithDuplicate() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2);
+		CopyOnWriteEList<Integer> duplicate = list.duplicate();
+		assertThat(duplicate, is(Arrays.asList(1, 2)));
+		duplicate.addItems(3);
+		assertThat(list, is(Arrays.asList(1, 2)));
+	}
+
+	@Test
+	public void shouldLeaveListUnchangedWhenAPredicateThrows() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2, 3);
+		try {
+			list.retainItems(new EPredicate<Integer>() {
+				@Override
+				public boolean pass(Integer item) {
+					if (item == 3) {
+						throw new IllegalStateException();
+					}
+					return false;
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(list, is(Arrays.asList(1, 2, 3)));
+	}
+
+	@Test
+	public void shouldReturnReadOnlyViewsOfASnapshot() {
+		CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>(1, 2, 3);
+		EList<Integer> view = list.subListView(0, 2);
+		EList<Integer> page = list.getItemsView(1, 5);
+		list.set(0, 9);
+		assertThat(view, is(Arrays.asList(1, 2)));
+		assertThat(page, is(Arrays.asList(2, 3)));
+		try {
+			view.add(4);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void shouldAppendAtomicallyWhileOtherThreadsRemove() throws Exception {
+		final CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>();
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < 2; t++) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						for (int i = 0; i < 2000; i++) {
+							list.addAll(Arrays.asList(1, 2));
+						}
+						return null;
+					}
+				}));
+			}
+			futures.add(executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					start.await();
+					for (int i = 0; i < 2000; i++) {
+						list.clear();
+						list.removeItems(positive);
+					}
+					return null;
+				}
+			}));
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// every append adds a pair to the end of the list, so the pairs are never split or interleaved
+		assertThat(list.size() % 2, is(0));
+		for (int i = 0; i < list.size(); i++) {
+			assertThat(list.get(i), is(i % 2 + 1));
+		}
+	}
+
+	@Test
+	public void shouldApplyBulkOperationsAtomicallyUnderConcurrentWrites() throws Exception {
+		final CopyOnWriteEList<Integer> list = new CopyOnWriteEList<Integer>();
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						for (int i = 0; i < 500; i++) {
+							list.addItems(thread, -thread - 1);
+							// the pair is added atomically, so a reader never sees one without the other
+							Pair<EList<Integer>, EList<Integer>> split = list.split(positive);
+							assertThat(split.getA().size(), is(split.getB().size()));
+							if (i % 5 == 0) {
+								list.removeItems(new EPredicate<Integer>() {
+									@Override
+									public boolean pass(Integer item) {
+										return item == thread || item == -thread - 1;
+									}
+								});
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		// each thread removes its own values on its last removal at i == 495, leaving the 4 pairs added since
+		assertThat(list.size(), is(4 * 4 * 2));
+		assertThat(list.getItems(positive).size(), is(16));
+	}
+}
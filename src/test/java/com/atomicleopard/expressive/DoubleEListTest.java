@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static com.atomicleopard.expressive.Expressive.doubleList;
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.DoublePredicate;
+
+public class DoubleEListTest {
+	private DoublePredicate small = new DoublePredicate() {
+		@Override
+		public boolean pass(double input) {
+			return input < 3;
+		}
+	};
+
+	@Test
+	public void shouldAddRemoveAndRetainItems() {
+		assertThat(doubleList(1.5, 2.5, 3.5).addItems(Double.NaN).removeItems(2.5), is(doubleList(1.5, 3.5, Double.NaN)));
+		assertThat(doubleList(1.5, 2.5, 3.5).retainItems(3.5, 1.5), is(doubleList(1.5, 3.5)));
+		assertThat(doubleList(1.5, 2.5, 3.5).removeItems(small), is(doubleList(3.5)));
+		assertThat(doubleList(1.5, 2.5, 3.5).retainItems(small), is(doubleList(1.5, 2.5)));
+	}
+
+	@Test
+	public void shouldReturnFirstLastAndAtOrDefault() {
+		DoubleEList list = doubleList(1.5, 2.5, 3.5);
+		assertThat(list.first(0), is(1.5));
+		assertThat(list.last(0), is(3.5));
+		assertThat(list.at(1, 0), is(2.5));
+		assertThat(list.at(5, 0), is((double) 0));
+	}
+
+	@Test
+	public void shouldSplitSortAndGetItems() {
+		Pair<DoubleEList, DoubleEList> split = doubleList(3.5, 1.5, 2.5).split(small);
+		assertThat(split.getA(), is(doubleList(1.5, 2.5)));
+		assertThat(split.getB(), is(doubleList(3.5)));
+		assertThat(doubleList(3.5, 1.5, 2.5).sort(), is(doubleList(1.5, 2.5, 3.5)));
+		assertThat(doubleList(3.5, 1.5, 2.5).getItems(small), is(doubleList(1.5, 2.5)));
+	}
+
+	@Test
+	public void shouldTransformInPlace() {
+		DoubleEList list = doubleList(1.5, 2.5, 3.5).transform(new DoubleTransformer() {
+			@Override
+			public double from(double from) {
+				return from * 2;
+			}
+		});
+		assertThat(list, is(doubleList(1.5 * 2, 2.5 * 2, 3.5 * 2)));
+	}
+
+	@Test
+	public void shouldBoxAndHashConsistentlyWithEList() {
+		DoubleEList list = doubleList(1.5, 2.5, 3.5);
+		assertThat(list.boxed(), is(list(1.5, 2.5, 3.5)));
+		assertThat(list.hashCode(), is(list.boxed().hashCode()));
+		assertThat(doubleList(list(1.5, 2.5, 3.5)), is(list));
+		assertThat(doubleList(Double.NaN).contains(Double.NaN), is(true));
+	}
+
+	@Test
+	public void shouldRetainUntestedValuesWhenAPredicateThrows() {
+		DoubleEList list = doubleList(1.0, 2.0, 3.0, 4.0, 1.0, 5.0);
+		try {
+			list.removeItems(new DoublePredicate() {
+				@Override
+				public boolean pass(double input) {
+					if (input == 4) {
+						throw new IllegalStateException();
+					}
+					return input < 3;
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(list, is(doubleList(3.0, 4.0, 1.0, 5.0)));
+	}
+}
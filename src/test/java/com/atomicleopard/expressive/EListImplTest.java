@@ -26,9 +26,11 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import org.junit.Rule;
@@ -330,6 +332,55 @@ public class EListImplTest {
 		assertThat(subList, is(Arrays.asList("B", "C", "C")));
 	}
 
+	@Test
+	public void shouldProvideSublistAsCopy() {
+		EListImpl<String> list = new EListImpl<String>("A", "B", "C", "D");
+		EList<String> subList = list.subList(1, 3);
+		subList.set(0, "Z");
+		list.add("E");
+
+		assertThat(subList, is(Arrays.asList("Z", "C")));
+		assertThat(list, is(Arrays.asList("A", "B", "C", "D", "E")));
+	}
+
+	@Test
+	public void shouldProvideSublistViewWhichWritesThrough() {
+		EListImpl<String> list = new EListImpl<String>("A", "B", "C", "D");
+		EList<String> view = list.subListView(1, 3);
+		assertThat(view, is(Arrays.asList("B", "C")));
+
+		view.set(0, "Z");
+		assertThat(list, is(Arrays.asList("A", "Z", "C", "D")));
+		list.set(2, "Y");
+		assertThat(view, is(Arrays.asList("Z", "Y")));
+
+		view.addItems("X").removeItems("Z");
+		assertThat(view, is(Arrays.asList("Y", "X")));
+		assertThat(list, is(Arrays.asList("A", "Y", "X", "D")));
+
+		EList<String> copy = view.duplicate();
+		copy.clear();
+		assertThat(view.size(), is(2));
+
+		view.clear();
+		assertThat(list, is(Arrays.asList("A", "D")));
+	}
+
+	@Test
+	public void shouldGetItemsViewAtIndexForSize() {
+		EListImpl<String> list = new EListImpl<String>("A", "B", "C", "D");
+		assertThat(list.getItemsView(0, 4), is(list("A", "B", "C", "D")));
+		assertThat(list.getItemsView(1, 2), is(list("B", "C")));
+		assertThat(list.getItemsView(1, 100), is(list("B", "C", "D")));
+		assertThat(list.getItemsView(4, 4).isEmpty(), is(true));
+		assertThat(list.getItemsView(-1, 2), is(list("A")));
+		assertThat(list.getItemsView(-5, 2).isEmpty(), is(true));
+		assertThat(list.getItems(-5, 2).isEmpty(), is(true));
+
+		list.getItemsView(2, 2).set(1, "Z");
+		assertThat(list, is(list("A", "B", "C", "Z")));
+	}
+
 	@Test
 	public void shouldDelegateAllListOperationsToDelegate() {
 		EListImpl<String> elist = new EListImpl<String>();
@@ -445,6 +496,23 @@ public class EListImplTest {
 		assertThat(list, is(Expressive.list("A", "B", "C", "Q", "z")));
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Test
+	public void shouldSortListUsingAComparatorBuilder() {
+		Pair<String, Integer> a2 = new Pair<String, Integer>("A", 2);
+		Pair<String, Integer> b1 = new Pair<String, Integer>("B", 1);
+		Pair<String, Integer> a1 = new Pair<String, Integer>("A", 1);
+		Pair<String, Integer> c0 = new Pair<String, Integer>("C", 0);
+		EListImpl<Pair<String, Integer>> list = new EListImpl<Pair<String, Integer>>(a2, b1, a1, c0);
+		Class<Pair<String, Integer>> type = (Class) Pair.class;
+
+		list.sort(Expressive.Comparators.compare(type).on("a").naturally().on("b").naturally());
+		assertThat(list, is(Expressive.list(a1, a2, b1, c0)));
+
+		list.sort(Expressive.Comparators.compare(type).on("b").naturally().compile());
+		assertThat(list, is(Expressive.list(c0, a1, b1, a2)));
+	}
+
 	@Test
 	public void shouldSortListButNotAlterTheOrderOfASourceElist() {
 		EListImpl<String> listFirst = new EListImpl<String>("A", "Q", "B", "z", "C");
@@ -564,6 +632,83 @@ public class EListImplTest {
 		assertThat(list.isEmpty(), is(true));
 	}
 
+	@Test
+	public void shouldRemoveAndRetainManyItemsUsingPredicateRetainingOrder() {
+		EListImpl<Integer> list = new EListImpl<Integer>();
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		EPredicate<Integer> even = new EPredicate<Integer>() {
+			@Override
+			public boolean pass(Integer input) {
+				return input % 2 == 0;
+			}
+		};
+		EList<Integer> odd = list.duplicate().removeItems(even);
+		assertThat(odd.size(), is(500));
+		assertThat(odd.first(), is(1));
+		assertThat(odd.at(1), is(3));
+		assertThat(odd.last(), is(999));
+
+		EList<Integer> evens = list.duplicate().retainItems(even);
+		assertThat(evens.size(), is(500));
+		assertThat(evens.first(), is(0));
+		assertThat(evens.at(1), is(2));
+		assertThat(evens.last(), is(998));
+	}
+
+	@Test
+	public void shouldRemoveAndRetainItemsUsingLargeArgumentCollections() {
+		EListImpl<Integer> list = new EListImpl<Integer>();
+		List<Integer> values = new ArrayList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			list.add(i % 10 == 0 ? null : i);
+			if (i % 3 == 0) {
+				values.add(i);
+			}
+		}
+		values.add(null);
+		values.add(1000);
+
+		EList<Integer> removed = list.duplicate().removeItems(values);
+		assertThat(removed.size(), is(60));
+		assertThat(removed.contains(null), is(false));
+		assertThat(removed.first(), is(1));
+		assertThat(removed.last(), is(98));
+
+		EList<Integer> retained = list.duplicate().retainItems(values);
+		assertThat(retained.size(), is(40));
+		assertThat(retained.first(), is(nullValue()));
+		assertThat(retained.at(1), is(3));
+		assertThat(retained.last(), is(99));
+
+		assertThat(list.duplicate().removeItems(values.toArray(new Integer[0])), is(removed));
+		assertThat(list.duplicate().retainItems(values.toArray(new Integer[0])), is(retained));
+		assertThat(list.duplicate().removeItems(new HashSet<Integer>(values)), is(removed));
+		assertThat(list.duplicate().retainItems(new HashSet<Integer>(values)), is(retained));
+	}
+
+	@Test
+	public void shouldRetainUntestedItemsWhenPredicateThrowsException() {
+		final EListImpl<String> list = new EListImpl<String>("A", "B", "C", "D", "E");
+		EPredicate<String> predicate = new EPredicate<String>() {
+			@Override
+			public boolean pass(String input) {
+				if ("D".equals(input)) {
+					throw new IllegalStateException("D");
+				}
+				return "B".equals(input);
+			}
+		};
+		try {
+			list.removeItems(predicate);
+		} catch (IllegalStateException e) {
+			assertThat(list, is(list("A", "C", "D", "E")));
+			return;
+		}
+		throw new AssertionError("Expected exception");
+	}
+
 	@Test
 	public void shouldThrowNPEWhenRemoveItemsWithNullPredicate() {
 		thrown.expect(NullPointerException.class);
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+public class EListViewTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private int evaluations = 0;
+
+	private EPredicate<Integer> even = new EPredicate<Integer>() {
+		@Override
+		public boolean pass(Integer input) {
+			evaluations++;
+			return input % 2 == 0;
+		}
+	};
+
+	private ETransformer<Integer, String> toString = new ETransformer<Integer, String>() {
+		@Override
+		public String from(Integer from) {
+			return "v" + from;
+		}
+	};
+
+	@Test
+	public void shouldReturnAllElementsWithNoStages() {
+		EList<Integer> list = list(1, 2, 3);
+		assertThat(list.view().toList(), is(list(1, 2, 3)));
+		assertThat(list.view().count(), is(3));
+		assertThat(list.view().first(), is(1));
+	}
+
+	@Test
+	public void shouldFilterAndTransform() {
+		EList<String> result = list(1, 2, 3, 4, 5, 6).view().filter(even).transform(toString).toList();
+		assertThat(result, is(list("v2", "v4", "v6")));
+	}
+
+	@Test
+	public void shouldApplyStagesInOrder() {
+		EPredicate<String> notV4 = Expressive.Predicate.not("v4");
+		assertThat(list(1, 2, 3, 4, 5, 6).view().transform(toString).filter(notV4).toList(), is(list("v1", "v2", "v3", "v5", "v6")));
+		assertThat(list(1, 2, 3, 4, 5, 6).view().limit(3).filter(even).toList(), is(list(2)));
+		assertThat(list(1, 2, 3, 4, 5, 6).view().filter(even).limit(2).toList(), is(list(2, 4)));
+	}
+
+	@Test
+	public void shouldNotEvaluateStagesUntilTerminalOperation() {
+		EList<Integer> list = list(1, 2, 3, 4);
+		EListView<Integer> view = list.view().filter(even);
+		assertThat(evaluations, is(0));
+		list.add(6);
+		assertThat(view.toList(), is(list(2, 4, 6)));
+		assertThat(evaluations, is(5));
+	}
+
+	@Test
+	public void shouldStopVisitingSourceOnceLimitIsReached() {
+		EList<Integer> result = list(1, 2, 3, 4, 5, 6, 7, 8).view().filter(even).limit(2).toList();
+		assertThat(result, is(list(2, 4)));
+		assertThat(evaluations, is(4));
+	}
+
+	@Test
+	public void shouldSupportZeroAndNegativeLimits() {
+		assertThat(list(1, 2).view().filter(even).limit(0).toList().isEmpty(), is(true));
+		assertThat(list(1, 2).view().limit(-1).count(), is(0));
+		assertThat(evaluations, is(0));
+		assertThat(list(1, 2).view().limit(10).toList(), is(list(1, 2)));
+	}
+
+	@Test
+	public void shouldBeImmutableAndReusable() {
+		EListView<Integer> view = list(1, 2, 3, 4).view();
+		EListView<Integer> filtered = view.filter(even);
+		EListView<Integer> limited = filtered.limit(1);
+		assertThat(view.toList(), is(list(1, 2, 3, 4)));
+		assertThat(filtered.toList(), is(list(2, 4)));
+		assertThat(filtered.toList(), is(list(2, 4)));
+		assertThat(limited.toList(), is(list(2)));
+		assertThat(limited.toList(), is(list(2)));
+	}
+
+	@Test
+	public void shouldReturnFirstMatchingElementOrNull() {
+		assertThat(list(1, 3, 4, 6).view().filter(even).first(), is(4));
+		assertThat(evaluations, is(3));
+		assertThat(list(1, 3).view().filter(even).first(), is(nullValue()));
+	}
+
+	@Test
+	public void shouldAddElementsIntoGivenCollection() {
+		Set<Integer> set = list(5, 4, 2, 4).view().filter(even).into(new TreeSet<Integer>());
+		assertThat(set, is((Set<Integer>) new TreeSet<Integer>(list(2, 4))));
+	}
+
+	@Test
+	public void shouldIterateLazily() {
+		Iterator<String> iterator = list(1, 2, 3, 4, 5, 6).view().filter(even).transform(toString).limit(2).iterator();
+		assertThat(evaluations, is(0));
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(iterator.next(), is("v2"));
+		assertThat(evaluations, is(2));
+		assertThat(iterator.next(), is("v4"));
+		assertThat(iterator.hasNext(), is(false));
+		assertThat(evaluations, is(4));
+		thrown.expect(NoSuchElementException.class);
+		iterator.next();
+	}
+
+	@Test
+	public void shouldNotSupportRemovalThroughIterator() {
+		Iterator<Integer> iterator = list(1, 2).view().iterator();
+		iterator.next();
+		thrown.expect(UnsupportedOperationException.class);
+		iterator.remove();
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.Expressive.Filter;
+import com.atomicleopard.expressive.Expressive.Parallel;
+import com.atomicleopard.expressive.Expressive.Predicate;
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+public class ExpressiveParallelTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private EPredicate<Integer> multipleOfThree = new EPredicate<Integer>() {
+		@Override
+		public boolean pass(Integer input) {
+			return input % 3 == 0;
+		}
+	};
+
+	@Test
+	public void shouldFilterSmallCollections() {
+		EList<String> original = list("This", "is", null, "", null, "stuff");
+		assertThat(Parallel.remove(original, Predicate.<String> isNull()), is(list("This", "is", "", "stuff")));
+		assertThat(Parallel.retain(original, Predicate.is("This")), is(list("This")));
+		Pair<EList<String>, EList<String>> split = Parallel.split(original, Predicate.<String> isNull());
+		assertThat(split.getA(), is(list(null, (String) null)));
+		assertThat(split.getB(), is(list("This", "is", "", "stuff")));
+	}
+
+	@Test
+	public void shouldReturnEmptyListsForEmptyOrNullCollections() {
+		assertThat(Parallel.retain(null, Predicate.<String> notNull()).isEmpty(), is(true));
+		assertThat(Parallel.remove(Collections.<String> emptyList(), Predicate.<String> notNull()).isEmpty(), is(true));
+		assertThat(Parallel.split(null, Predicate.<String> notNull()).getA().isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldFilterLargeCollectionsRetainingOrder() {
+		EList<Integer> original = numbers(ParallelUtil.SequentialThreshold * 5 + 3);
+		assertThat(Parallel.retain(original, multipleOfThree), is(Filter.retain(original, multipleOfThree)));
+		assertThat(Parallel.remove(original, multipleOfThree), is(Filter.remove(original, multipleOfThree)));
+		Pair<EList<Integer>, EList<Integer>> split = Parallel.split(original, multipleOfThree);
+		Pair<EList<Integer>, EList<Integer>> expected = Filter.split(original, multipleOfThree);
+		assertThat(split.getA(), is(expected.getA()));
+		assertThat(split.getB(), is(expected.getB()));
+	}
+
+	@Test
+	public void shouldFilterLargeNonRandomAccessCollectionsOnTheGivenExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			LinkedList<Integer> original = new LinkedList<Integer>(numbers(ParallelUtil.SequentialThreshold * 2));
+			assertThat(Parallel.retain(original, multipleOfThree, executor), is(Filter.retain(original, multipleOfThree)));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldPropagateExceptionsFromThePredicate() {
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("Bad value");
+		Parallel.retain(numbers(ParallelUtil.SequentialThreshold * 5), new EPredicate<Integer>() {
+			@Override
+			public boolean pass(Integer input) {
+				if (input == ParallelUtil.SequentialThreshold * 4) {
+					throw new IllegalArgumentException("Bad value");
+				}
+				return true;
+			}
+		});
+	}
+
+	private EList<Integer> numbers(int size) {
+		EList<Integer> numbers = list();
+		for (int i = 0; i < size; i++) {
+			numbers.add(i);
+		}
+		return numbers;
+	}
+}
@@ -28,6 +28,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -45,6 +46,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.atomicleopard.expressive.comparator.ComparableComparator;
+
 public class ExpressiveTest {
 
 	@Rule
@@ -141,6 +144,41 @@ public class ExpressiveTest {
 		assertThat(elist, is(Arrays.asList("A", "B", "C", "D", "A")));
 	}
 
+	@Test
+	public void shouldCreateASortedList() {
+		Comparator<String> comparator = new ComparableComparator<String>();
+		SortedEList<String> elist = sortedList(comparator, "C", "A", "B");
+		assertThat(elist, is(Arrays.asList("A", "B", "C")));
+		assertThat(sortedList(comparator, Arrays.asList("B", "A")), is(Arrays.asList("A", "B")));
+	}
+
+	@Test
+	public void shouldCreateAnIndexedList() {
+		IndexedEList<String> elist = indexedList("C", "A", "C");
+		assertThat(elist, is(Arrays.asList("C", "A", "C")));
+		assertThat(elist.lastIndexOf("C"), is(2));
+		assertThat(indexedList(Arrays.asList("B", "A")).indexOf("A"), is(1));
+	}
+
+	@Test
+	public void shouldCreateAPersistentList() {
+		PersistentEList<String> elist = persistentList("A", "B");
+		assertThat(elist, is(Arrays.asList("A", "B")));
+		assertThat(elist.addItems("C"), is(Arrays.asList("A", "B", "C")));
+		assertThat(elist, is(Arrays.asList("A", "B")));
+		assertThat(persistentList(Arrays.asList("B", "A")).indexOf("A"), is(1));
+	}
+
+	@Test
+	public void shouldCreateThreadSafeLists() {
+		CopyOnWriteEList<String> copyOnWrite = copyOnWriteList("A", "B");
+		assertThat(copyOnWrite.addItems("C"), is(Arrays.asList("A", "B", "C")));
+		assertThat(copyOnWriteList(Arrays.asList("B", "A")).indexOf("A"), is(1));
+		ConcurrentEList<String> concurrent = concurrentList("A", "B");
+		assertThat(concurrent.addItems("C"), is(Arrays.asList("A", "B", "C")));
+		assertThat(concurrentList(Arrays.asList("B", "A")).indexOf("A"), is(1));
+	}
+
 	@Test
 	public void shouldCreateAListFromASet() {
 		EList<String> elist = list(new HashSet<String>(Arrays.asList("A", "B", "C", "D", "A")));
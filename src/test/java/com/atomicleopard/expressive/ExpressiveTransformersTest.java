@@ -24,6 +24,7 @@ import static com.atomicleopard.expressive.Expressive.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.atomicleopard.expressive.collection.CompositeIndex;
 import com.atomicleopard.expressive.transform.EnumFromStringTransformerTest.TestEnum;
 import com.atomicleopard.expressive.transform.TestBean;
 
@@ -105,6 +107,29 @@ public class ExpressiveTransformersTest {
 		assertThat(map.get("two"), is(third));
 	}
 
+	@Test
+	public void shouldReturnATransformerToMapBeansToUniqueCompositeLookup() {
+		ETransformer<Collection<TestBean>, CompositeIndex<TestBean>> transformer = Expressive.Transformers.toKeyBeanLookup("pk", "named");
+		TestBean first = new TestBean(1, "one");
+		TestBean second = new TestBean(1, "one");
+		TestBean third = new TestBean(1, "two");
+		CompositeIndex<TestBean> index = transformer.from(list(first, second, third));
+		assertThat(index.get(1, "one"), is(second));
+		assertThat(index.get(1, "two"), is(third));
+		assertThat(index.size(), is(2));
+	}
+
+	@Test
+	public void shouldReturnATransformerToMapBeansToCompositeLookupForASpecificClass() {
+		ETransformer<Collection<TestBean>, CompositeIndex<List<TestBean>>> transformer = Expressive.Transformers.toBeanLookup(TestBean.class, "named", "pk");
+		TestBean first = new TestBean(1, "one");
+		TestBean second = new TestBean(1, "one");
+		TestBean third = new TestBean(2, "one");
+		CompositeIndex<List<TestBean>> index = transformer.from(list(first, second, third));
+		assertThat(index.get("one", 1), is(Arrays.asList(first, second)));
+		assertThat(index.get("one", 2), is(Arrays.asList(third)));
+	}
+
 	@Test
 	public void shouldHaveANonPublicCtorWhichIsCoveredSoIStopCheckingTheClassToSeeWhatDoesntHaveCoverage() {
 		assertThat(new Expressive.Transformers(), is(notNullValue()));
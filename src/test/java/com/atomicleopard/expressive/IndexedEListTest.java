@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.atomicleopard.expressive.comparator.ComparableComparator;
+import com.atomicleopard.expressive.predicate.EPredicate;
+import com.atomicleopard.expressive.predicate.EqualsPredicate;
+import com.atomicleopard.expressive.predicate.PredicateBuilder;
+import com.atomicleopard.expressive.transform.TestBean;
+
+public class IndexedEListTest {
+	private TestBean one = new TestBean(1, "one");
+	private TestBean two = new TestBean(2, "two");
+	private TestBean three = new TestBean(3, "one");
+	private TestBean four = new TestBean(4, "four");
+
+	@Test
+	public void shouldFindElementsUsingElementIndex() {
+		IndexedEList<String> list = new IndexedEList<String>("a", "b", "c", "b").indexElements();
+
+		assertThat(list.contains("b"), is(true));
+		assertThat(list.contains("z"), is(false));
+		assertThat(list.indexOf("b"), is(1));
+		assertThat(list.lastIndexOf("b"), is(3));
+		assertThat(list.indexOf("z"), is(-1));
+		assertThat(list.lastIndexOf("z"), is(-1));
+		assertThat(list.getItems(new EqualsPredicate<String>("b")), is(Arrays.asList("b", "b")));
+		assertThat(list.getItems(new EqualsPredicate<String>("z")).isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldBehaveAsEListWithoutIndexes() {
+		IndexedEList<String> list = new IndexedEList<String>(Arrays.asList("a", "b"));
+		list.addItems("c").insertItems(0, "z");
+
+		assertThat(list, is(Arrays.asList("z", "a", "b", "c")));
+		assertThat(list.contains("b"), is(true));
+		assertThat(list.indexOf("c"), is(3));
+		assertThat(list.lastIndexOf("q"), is(-1));
+		assertThat(list.getItems(new EqualsPredicate<String>("a")), is(Arrays.asList("a")));
+		assertThat(new IndexedEList<String>().isEmpty(), is(true));
+		assertThat(new IndexedEList<String>((List<String>) null).isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldKeepIndexesUpToDateOnAppendSetAndRemoveLast() {
+		IndexedEList<String> list = new IndexedEList<String>().indexElements();
+		list.add("a");
+		list.addItems("b", "c");
+		list.addItems(Arrays.asList("d"));
+		assertThat(list.indexOf("d"), is(3));
+
+		list.set(1, "x");
+		assertThat(list.indexOf("b"), is(-1));
+		assertThat(list.indexOf("x"), is(1));
+
+		list.remove(3);
+		assertThat(list.indexOf("d"), is(-1));
+		assertThat(list.indexOf("c"), is(2));
+	}
+
+	@Test
+	public void shouldRebuildIndexesAfterInsertingOrRemovingElsewhere() {
+		IndexedEList<String> list = new IndexedEList<String>("a", "b", "c").indexElements();
+		list.insertItems(0, "z");
+		assertThat(list.indexOf("a"), is(1));
+		assertThat(list.indexOf("z"), is(0));
+
+		list.remove("b");
+		assertThat(list.indexOf("c"), is(2));
+		assertThat(list.contains("b"), is(false));
+
+		list.add(1, "y");
+		assertThat(list.indexOf("y"), is(1));
+		assertThat(list.indexOf("a"), is(2));
+	}
+
+	@Test
+	public void shouldRebuildIndexesAfterBulkOperations() {
+		IndexedEList<String> list = new IndexedEList<String>("d", "a", "c", "b", "a").indexElements();
+		list.removeItems("c");
+		assertThat(list.indexOf("b"), is(2));
+		list.retainItems(Arrays.asList("a", "b"));
+		assertThat(list.lastIndexOf("a"), is(2));
+		list.sort(new ComparableComparator<String>());
+		assertThat(list.indexOf("b"), is(2));
+		list.removeItems(new EqualsPredicate<String>("a"));
+		assertThat(list.indexOf("b"), is(0));
+		list.retainItems(new EqualsPredicate<String>("x"));
+		assertThat(list.contains("b"), is(false));
+		list.addItems("b", "a").retainItems("a");
+		assertThat(list.indexOf("a"), is(0));
+		list.addItems("b").removeItems(Collections.singleton("a"));
+		assertThat(list.indexOf("b"), is(0));
+	}
+
+	@Test
+	public void shouldKeepIndexesUpToDateThroughIteratorsAndSubLists() {
+		IndexedEList<String> list = new IndexedEList<String>("a", "b", "c", "d").indexElements();
+		Iterator<String> iterator = list.iterator();
+		iterator.next();
+		iterator.remove();
+		assertThat(list.indexOf("b"), is(0));
+
+		list.listIterator(2).next();
+		list.listIterator().add("q");
+		assertThat(list.indexOf("q"), is(0));
+		assertThat(list.indexOf("d"), is(3));
+
+		list.clear();
+		assertThat(list.contains("a"), is(false));
+		list.add("a");
+		assertThat(list.indexOf("a"), is(0));
+	}
+
+	@Test
+	public void shouldKeepIndexesUpToDateThroughViews() {
+		IndexedEList<String> list = new IndexedEList<String>("a", "b", "c", "d").indexElements();
+		EList<String> view = list.subListView(1, 3);
+		view.set(0, "x");
+		assertThat(list.indexOf("x"), is(1));
+		assertThat(list.contains("b"), is(false));
+
+		view.remove("c");
+		assertThat(list.indexOf("d"), is(2));
+		list.getItemsView(0, 1).add("y");
+		assertThat(list.indexOf("y"), is(1));
+		assertThat(list.indexOf("d"), is(3));
+	}
+
+	@Test
+	public void shouldUsePropertyIndexForPredicateBuilderEquality() {
+		final AtomicInteger tested = new AtomicInteger();
+		IndexedEList<TestBean> list = new IndexedEList<TestBean>(one, two, three, four).indexProperty("named").indexProperty("named");
+		PredicateBuilder<TestBean> named = new PredicateBuilder<TestBean>(TestBean.class).where("named").is("one").where("pk").passes(new EPredicate<Integer>() {
+			@Override
+			public boolean pass(Integer input) {
+				tested.incrementAndGet();
+				return input > 1;
+			}
+		});
+
+		assertThat(list.getItems(named), is(Arrays.asList(three)));
+		assertThat(tested.get(), is(2));
+		assertThat(list.getItems(new PredicateBuilder<TestBean>(TestBean.class).where("named").is("none")).isEmpty(), is(true));
+		assertThat(list.getItems(new PredicateBuilder<TestBean>(TestBean.class).where("pk").is(2)), is(Arrays.asList(two)));
+	}
+
+	@Test
+	public void shouldKeepPropertyIndexUpToDate() {
+		IndexedEList<TestBean> list = new IndexedEList<TestBean>(one, two).indexProperty("named");
+		PredicateBuilder<TestBean> namedOne = new PredicateBuilder<TestBean>(TestBean.class).where("named").is("one");
+		list.add(three);
+		assertThat(list.getItems(namedOne), is(Arrays.asList(one, three)));
+		list.set(0, four);
+		assertThat(list.getItems(namedOne), is(Arrays.asList(three)));
+		list.insertItems(0, one);
+		assertThat(list.getItems(namedOne), is(Arrays.asList(one, three)));
+	}
+
+	@Test
+	public void shouldFindBeansByChangedPropertyOnlyAfterReindexing() {
+		TestBean bean = new TestBean(1, "bean");
+		IndexedEList<TestBean> list = new IndexedEList<TestBean>(bean, two).indexProperty("pk");
+		PredicateBuilder<TestBean> pkFive = new PredicateBuilder<TestBean>(TestBean.class).where("pk").is(5);
+
+		bean.setPk(5);
+		assertThat(list.getItems(pkFive).isEmpty(), is(true));
+		assertThat(list.reindex(), is(sameInstance(list)));
+		assertThat(list.getItems(pkFive), is(Arrays.asList(bean)));
+	}
+
+	@Test
+	public void shouldNotUseIndexesForEqualsPredicateSubclassesWhichOverridePass() {
+		IndexedEList<TestBean> list = new IndexedEList<TestBean>(one, two, three, four).indexElements().indexProperty("pk");
+		EqualsPredicate<Integer> atLeastTwo = new EqualsPredicate<Integer>(2) {
+			@Override
+			public boolean pass(Integer input) {
+				return input >= 2;
+			}
+		};
+		EqualsPredicate<TestBean> anyBean = new EqualsPredicate<TestBean>(one) {
+			@Override
+			public boolean pass(TestBean input) {
+				return true;
+			}
+		};
+
+		assertThat(list.getItems(new PredicateBuilder<TestBean>(TestBean.class).where("pk").passes(atLeastTwo)).size(), is(3));
+		assertThat(list.getItems(anyBean).size(), is(4));
+	}
+
+	@Test
+	public void shouldRejectElementsWhichCannotBeIndexedWithoutChangingTheList() {
+		IndexedEList<TestBean> list = new IndexedEList<TestBean>().indexElements().indexProperty("anException");
+		try {
+			list.insertItems(0, Arrays.asList(one, two));
+			fail();
+		} catch (RuntimeException e) {
+			// expected
+		}
+		try {
+			list.addAll(0, Arrays.asList(one));
+			fail();
+		} catch (RuntimeException e) {
+			// expected
+		}
+		assertThat(list.isEmpty(), is(true));
+		assertThat(list.indexOf(one), is(-1));
+		assertThat(list.contains(two), is(false));
+	}
+}
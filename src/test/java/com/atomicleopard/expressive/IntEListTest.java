@@ -0,0 +1,206 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static com.atomicleopard.expressive.Expressive.intList;
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.IntPredicate;
+
+public class IntEListTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private IntPredicate even = new IntPredicate() {
+		@Override
+		public boolean pass(int input) {
+			return input % 2 == 0;
+		}
+	};
+
+	@Test
+	public void shouldConstructFromArrayWithoutSharingIt() {
+		int[] values = { 1, 2, 3 };
+		IntEList list = new IntEList(values);
+		values[0] = 5;
+		assertThat(list.size(), is(3));
+		assertThat(list.get(0), is(1));
+		assertThat(list.toArray(), is(new int[] { 1, 2, 3 }));
+	}
+
+	@Test
+	public void shouldCreateFromExpressive() {
+		assertThat(intList(1, 2, 3), is(new IntEList(new int[] { 1, 2, 3 })));
+		assertThat(intList(list(1, 2, 3)), is(intList(1, 2, 3)));
+		assertThat(intList().isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldReturnFirstLastAndAtOrDefault() {
+		IntEList list = intList(1, 2, 3);
+		assertThat(list.first(-1), is(1));
+		assertThat(list.last(-1), is(3));
+		assertThat(list.at(1, -1), is(2));
+		assertThat(list.at(3, -1), is(-1));
+		assertThat(list.at(-1, -1), is(-1));
+		assertThat(intList().first(-1), is(-1));
+		assertThat(intList().last(-1), is(-1));
+	}
+
+	@Test
+	public void shouldThrowOnGetOutOfBounds() {
+		thrown.expect(IndexOutOfBoundsException.class);
+		IntEList list = new IntEList(10);
+		list.get(0);
+	}
+
+	@Test
+	public void shouldAddAndInsertItemsGrowingAsNecessary() {
+		IntEList list = new IntEList(0);
+		for (int i = 0; i < 100; i++) {
+			list.add(i);
+		}
+		assertThat(list.size(), is(100));
+		assertThat(list.last(-1), is(99));
+
+		IntEList items = intList(1, 2).addItems(3, 4).addItems(intList(5)).insertItems(0, -1, 0).insertItems(100, 6).insertItems(4, 9);
+		assertThat(items, is(intList(-1, 0, 1, 2, 9, 3, 4, 5, 6)));
+	}
+
+	@Test
+	public void shouldRemoveAllOccurencesOfItems() {
+		assertThat(intList(1, 2, 1, 3, 2).removeItems(1, 2), is(intList(3)));
+		assertThat(intList(1, 2, 3).removeItems(), is(intList(1, 2, 3)));
+		assertThat(intList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12).removeItems(12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 0), is(intList(1)));
+		assertThat(intList(1, 2, 3, 4).removeItems(even), is(intList(1, 3)));
+	}
+
+	@Test
+	public void shouldRetainItems() {
+		assertThat(intList(1, 2, 1, 3, 2).retainItems(1, 2), is(intList(1, 2, 1, 2)));
+		assertThat(intList(1, 2, 3).retainItems(), is(intList()));
+		assertThat(intList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12).retainItems(12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 0, 100), is(intList(3, 4, 5, 6, 7, 8, 9, 10, 11, 12)));
+		assertThat(intList(1, 2, 3, 4).retainItems(even), is(intList(2, 4)));
+	}
+
+	@Test
+	public void shouldGetItemsMatchingPredicateWithoutModifyingList() {
+		IntEList list = intList(1, 2, 3, 4);
+		assertThat(list.getItems(even), is(intList(2, 4)));
+		assertThat(list, is(intList(1, 2, 3, 4)));
+	}
+
+	@Test
+	public void shouldGetItemsInRange() {
+		IntEList list = intList(1, 2, 3, 4);
+		assertThat(list.getItems(1, 2), is(intList(2, 3)));
+		assertThat(list.getItems(3, 5), is(intList(4)));
+		assertThat(list.getItems(-1, 2), is(intList(1)));
+		assertThat(list.getItems(5, 2), is(intList()));
+		assertThat(list.getItems(1, -1), is(intList()));
+	}
+
+	@Test
+	public void shouldSplit() {
+		Pair<IntEList, IntEList> split = intList(1, 2, 3, 4, 5).split(even);
+		assertThat(split.getA(), is(intList(2, 4)));
+		assertThat(split.getB(), is(intList(1, 3, 5)));
+	}
+
+	@Test
+	public void shouldSortAscending() {
+		assertThat(intList(3, 1, 2, -5).sort(), is(intList(-5, 1, 2, 3)));
+	}
+
+	@Test
+	public void shouldTransformInPlace() {
+		IntEList list = intList(1, 2, 3).transform(new IntTransformer() {
+			@Override
+			public int from(int from) {
+				return from * 10;
+			}
+		});
+		assertThat(list, is(intList(10, 20, 30)));
+	}
+
+	@Test
+	public void shouldDuplicateIndependently() {
+		IntEList list = intList(1, 2, 3);
+		IntEList duplicate = list.duplicate();
+		duplicate.set(0, 5).add(4);
+		assertThat(list, is(intList(1, 2, 3)));
+		assertThat(duplicate, is(intList(5, 2, 3, 4)));
+	}
+
+	@Test
+	public void shouldFindItems() {
+		IntEList list = intList(1, 2, 3, 2);
+		assertThat(list.contains(2), is(true));
+		assertThat(list.contains(4), is(false));
+		assertThat(list.indexOf(2), is(1));
+		assertThat(list.indexOf(4), is(-1));
+	}
+
+	@Test
+	public void shouldBox() {
+		assertThat(intList(1, 2, 3).boxed(), is(list(1, 2, 3)));
+	}
+
+	@Test
+	public void shouldImplementEqualsHashCodeAndToString() {
+		IntEList list = intList(1, 2, 3);
+		IntEList other = new IntEList(100).addItems(1, 2, 3);
+		assertThat(list.equals(other), is(true));
+		assertThat(list.hashCode(), is(other.hashCode()));
+		assertThat(list.hashCode(), is(list(1, 2, 3).hashCode()));
+		assertThat(list.equals(intList(1, 2)), is(false));
+		assertThat(list.toString(), is("[1, 2, 3]"));
+		assertThat(intList(1, 2, 3).clear(), is(intList()));
+	}
+
+	@Test
+	public void shouldRetainUntestedValuesWhenAPredicateThrows() {
+		IntEList list = intList(1, 2, 3, 4, 1, 5);
+		try {
+			list.removeItems(new IntPredicate() {
+				@Override
+				public boolean pass(int input) {
+					if (input == 4) {
+						throw new IllegalStateException();
+					}
+					return input < 3;
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(list, is(intList(3, 4, 1, 5)));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.beans.PropertyDescriptor;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class IntrospectionCacheTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Before
+	public void before() {
+		IntrospectionCache.clear();
+	}
+
+	@Test
+	public void shouldReturnReadablePropertiesInIntrospectionOrder() {
+		Map<String, PropertyDescriptor> getters = IntrospectionCache.getBeanGetters(TestBean.class);
+		assertThat(Expressive.list(getters.keySet()), is(Expressive.list("name", "size")));
+		assertThat(getters.get("name").getReadMethod().getName(), is("getName"));
+		assertThat(getters.get("size").getReadMethod().getName(), is("isSize"));
+	}
+
+	@Test
+	public void shouldCountHitsAndMisses() {
+		assertThat(IntrospectionCache.getHitCount(), is(0l));
+		assertThat(IntrospectionCache.getMissCount(), is(0l));
+
+		Map<String, PropertyDescriptor> first = IntrospectionCache.getBeanGetters(TestBean.class);
+		assertThat(IntrospectionCache.getHitCount(), is(0l));
+		assertThat(IntrospectionCache.getMissCount(), is(1l));
+		assertThat(IntrospectionCache.size(), is(1));
+
+		Map<String, PropertyDescriptor> second = IntrospectionCache.getBeanGetters(TestBean.class);
+		assertThat(second, is(sameInstance(first)));
+		assertThat(IntrospectionCache.getHitCount(), is(1l));
+		assertThat(IntrospectionCache.getMissCount(), is(1l));
+	}
+
+	@Test
+	public void shouldNotUseTheCacheForUncachedLookups() {
+		Map<String, PropertyDescriptor> first = IntrospectionCache.getBeanGettersUncached(TestBean.class);
+		Map<String, PropertyDescriptor> second = IntrospectionCache.getBeanGettersUncached(TestBean.class);
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(second.keySet(), is(first.keySet()));
+		assertThat(IntrospectionCache.size(), is(0));
+		assertThat(IntrospectionCache.getMissCount(), is(0l));
+	}
+
+	@Test
+	public void shouldClearCachedTypesAndCounts() {
+		IntrospectionCache.getBeanGetters(TestBean.class);
+		IntrospectionCache.getBeanGetters(TestBean.class);
+		IntrospectionCache.clear();
+		assertThat(IntrospectionCache.size(), is(0));
+		assertThat(IntrospectionCache.getHitCount(), is(0l));
+		assertThat(IntrospectionCache.getMissCount(), is(0l));
+	}
+
+	@Test
+	public void shouldNotAllowCachedPropertiesToBeModified() {
+		thrown.expect(UnsupportedOperationException.class);
+		IntrospectionCache.getBeanGetters(TestBean.class).clear();
+	}
+
+	@Test
+	public void shouldReturnANewArrayFromReflectUtilBackedByTheCache() {
+		PropertyDescriptor[] first = ReflectUtil.getBeanGetters(TestBean.class);
+		PropertyDescriptor[] second = ReflectUtil.getBeanGetters(TestBean.class);
+		assertThat(second, is(not(sameInstance(first))));
+		assertThat(second.length, is(2));
+		assertThat(second[0], is(sameInstance(first[0])));
+		assertThat(IntrospectionCache.getMissCount(), is(1l));
+		assertThat(IntrospectionCache.getHitCount(), is(1l));
+	}
+
+	public static class TestBean {
+		public String getName() {
+			return "name";
+		}
+
+		public boolean isSize() {
+			return true;
+		}
+
+		public void setOnlyWriteable(String value) {
+		}
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static com.atomicleopard.expressive.Expressive.longList;
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.predicate.LongPredicate;
+
+public class LongEListTest {
+	private LongPredicate small = new LongPredicate() {
+		@Override
+		public boolean pass(long input) {
+			return input < 3;
+		}
+	};
+
+	@Test
+	public void shouldAddRemoveAndRetainItems() {
+		assertThat(longList(1L, 2L, 3L).addItems(Long.MAX_VALUE).removeItems(2L), is(longList(1L, 3L, Long.MAX_VALUE)));
+		assertThat(longList(1L, 2L, 3L).retainItems(3L, 1L), is(longList(1L, 3L)));
+		assertThat(longList(1L, 2L, 3L).removeItems(small), is(longList(3L)));
+		assertThat(longList(1L, 2L, 3L).retainItems(small), is(longList(1L, 2L)));
+	}
+
+	@Test
+	public void shouldReturnFirstLastAndAtOrDefault() {
+		LongEList list = longList(1L, 2L, 3L);
+		assertThat(list.first(0), is(1L));
+		assertThat(list.last(0), is(3L));
+		assertThat(list.at(1, 0), is(2L));
+		assertThat(list.at(5, 0), is((long) 0));
+	}
+
+	@Test
+	public void shouldSplitSortAndGetItems() {
+		Pair<LongEList, LongEList> split = longList(3L, 1L, 2L).split(small);
+		assertThat(split.getA(), is(longList(1L, 2L)));
+		assertThat(split.getB(), is(longList(3L)));
+		assertThat(longList(3L, 1L, 2L).sort(), is(longList(1L, 2L, 3L)));
+		assertThat(longList(3L, 1L, 2L).getItems(small), is(longList(1L, 2L)));
+	}
+
+	@Test
+	public void shouldTransformInPlace() {
+		LongEList list = longList(1L, 2L, 3L).transform(new LongTransformer() {
+			@Override
+			public long from(long from) {
+				return from * 2;
+			}
+		});
+		assertThat(list, is(longList(1L * 2, 2L * 2, 3L * 2)));
+	}
+
+	@Test
+	public void shouldBoxAndHashConsistentlyWithEList() {
+		LongEList list = longList(1L, 2L, 3L);
+		assertThat(list.boxed(), is(list(1L, 2L, 3L)));
+		assertThat(list.hashCode(), is(list.boxed().hashCode()));
+		assertThat(longList(list(1L, 2L, 3L)), is(list));
+		assertThat(longList(Long.MAX_VALUE).contains(Long.MAX_VALUE), is(true));
+	}
+
+	@Test
+	public void shouldRetainUntestedValuesWhenAPredicateThrows() {
+		LongEList list = longList(1L, 2L, 3L, 4L, 1L, 5L);
+		try {
+			list.removeItems(new LongPredicate() {
+				@Override
+				public boolean pass(long input) {
+					if (input == 4) {
+						throw new IllegalStateException();
+					}
+					return input < 3;
+				}
+			});
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertThat(list, is(longList(3L, 4L, 1L, 5L)));
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ParallelUtilTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldUseASingleChunkBelowSequentialThreshold() {
+		assertThat(ParallelUtil.chunkCount(0), is(1));
+		assertThat(ParallelUtil.chunkCount(ParallelUtil.SequentialThreshold - 1), is(1));
+		assertThat(ParallelUtil.chunkCount(ParallelUtil.SequentialThreshold), is(greaterThan(0)));
+		assertThat(ParallelUtil.chunkCount(ParallelUtil.SequentialThreshold * 100), is(Runtime.getRuntime().availableProcessors() * 4));
+	}
+
+	@Test
+	public void shouldProcessSmallRangesOnTheCallingThread() {
+		final Thread caller = Thread.currentThread();
+		List<Boolean> results = ParallelUtil.invokeChunks(ParallelUtil.defaultExecutor(), 10, new ParallelUtil.Chunk<Boolean>() {
+			@Override
+			public Boolean process(int from, int to) {
+				return from == 0 && to == 10 && Thread.currentThread() == caller;
+			}
+		});
+		assertThat(results, is(Collections.singletonList(true)));
+	}
+
+	@Test
+	public void shouldCoverTheWholeRangeWithContiguousChunksInOrder() {
+		int size = ParallelUtil.SequentialThreshold * 3 + 7;
+		List<int[]> ranges = ParallelUtil.invokeChunks(ParallelUtil.defaultExecutor(), size, new ParallelUtil.Chunk<int[]>() {
+			@Override
+			public int[] process(int from, int to) {
+				return new int[] { from, to };
+			}
+		});
+		assertThat(ranges.size(), is(ParallelUtil.chunkCount(size)));
+		int expectedFrom = 0;
+		for (int[] range : ranges) {
+			assertThat(range[0], is(expectedFrom));
+			assertThat(range[1], is(greaterThan(range[0])));
+			expectedFrom = range[1];
+		}
+		assertThat(expectedFrom, is(size));
+	}
+
+	@Test(timeout = 10000)
+	public void shouldNotDeadlockWhenChunksInvokeNestedParallelOperations() {
+		final int size = ParallelUtil.SequentialThreshold * 2;
+		// a single thread, so that a chunk waiting on nested chunks occupies the whole executor
+		final ExecutorService executor = Executors.newSingleThreadExecutor(ParallelUtil.daemonThreadFactory("nested-test-"));
+		try {
+			List<Integer> totals = ParallelUtil.invokeChunks(executor, size, new ParallelUtil.Chunk<Integer>() {
+				@Override
+				public Integer process(int from, int to) {
+					List<Integer> nested = ParallelUtil.invokeChunks(executor, size, new ParallelUtil.Chunk<Integer>() {
+						@Override
+						public Integer process(int from, int to) {
+							return to - from;
+						}
+					});
+					int total = 0;
+					for (Integer count : nested) {
+						total += count;
+					}
+					return total;
+				}
+			});
+			assertThat(totals.size(), is(ParallelUtil.chunkCount(size)));
+			for (Integer total : totals) {
+				assertThat(total, is(size));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRethrowRuntimeExceptionsFromChunks() {
+		thrown.expect(IllegalStateException.class);
+		thrown.expectMessage("failed");
+		ParallelUtil.invokeChunks(ParallelUtil.defaultExecutor(), ParallelUtil.SequentialThreshold * 2, new ParallelUtil.Chunk<Object>() {
+			@Override
+			public Object process(int from, int to) {
+				if (from > 0) {
+					throw new IllegalStateException("failed");
+				}
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void shouldWrapCheckedExceptionsFromChunks() {
+		try {
+			ParallelUtil.invokeChunks(ParallelUtil.defaultExecutor(), ParallelUtil.SequentialThreshold * 2, new ParallelUtil.Chunk<Object>() {
+				@Override
+				public Object process(int from, int to) throws IOException {
+					throw new IOException("failed");
+				}
+			});
+		} catch (RuntimeException e) {
+			assertThat(e.getCause(), is(instanceOf(IOException.class)));
+			return;
+		}
+		throw new AssertionError("Expected exception");
+	}
+
+	@Test
+	public void shouldProvidePresizedModifiableLists() {
+		EList<String> list = ParallelUtil.presizedList(3);
+		assertThat(list.size(), is(3));
+		assertThat(list.first(), is(nullValue()));
+		list.set(1, "b");
+		list.add("d");
+		assertThat(list, is(Arrays.asList(null, "b", null, "d")));
+	}
+
+	@Test
+	public void shouldProvideRandomAccessLists() {
+		List<String> list = Expressive.list("a", "b");
+		assertThat(ParallelUtil.randomAccess(list), is(sameInstance(list)));
+		LinkedList<String> linked = new LinkedList<String>(list);
+		assertThat(ParallelUtil.randomAccess(linked), is(list));
+		assertThat(ParallelUtil.randomAccess(linked), is(not(sameInstance((List<String>) linked))));
+		assertThat(ParallelUtil.randomAccess((List<String>) null).isEmpty(), is(true));
+	}
+}
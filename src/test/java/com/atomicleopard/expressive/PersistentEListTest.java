@@ -0,0 +1,223 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.comparator.ComparableComparator;
+import com.atomicleopard.expressive.predicate.EPredicate;
+
+public class PersistentEListTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private EPredicate<Integer> even = new EPredicate<Integer>() {
+		@Override
+		public boolean pass(Integer item) {
+			return item % 2 == 0;
+		}
+	};
+
+	@Test
+	public void shouldCreateLists() {
+		assertThat(PersistentEList.of(1, 2, 3), is(Arrays.asList(1, 2, 3)));
+		assertThat(PersistentEList.of(Arrays.asList(1, 2, 3)), is(Arrays.asList(1, 2, 3)));
+		assertThat(PersistentEList.<Integer> empty().isEmpty(), is(true));
+		assertThat(PersistentEList.<Integer> of((List<Integer>) null).isEmpty(), is(true));
+		PersistentEList<Integer> list = PersistentEList.of(1);
+		assertThat(PersistentEList.of(list), is(sameInstance(list)));
+	}
+
+	@Test
+	public void shouldHoldListsSpanningSeveralLevelsOfTheTrie() {
+		List<Integer> expected = range(0, 40000);
+		PersistentEList<Integer> list = PersistentEList.of(expected);
+		assertThat(list.size(), is(40000));
+		assertThat(list, is(expected));
+		assertThat(new ArrayList<Integer>(list), is(expected));
+		assertThat(list.get(32767), is(32767));
+		assertThat(list.get(39999), is(39999));
+	}
+
+	@Test
+	public void shouldLeaveOriginalUnchangedWhenAppending() {
+		PersistentEList<Integer> list = PersistentEList.of(range(0, 1000));
+		PersistentEList<Integer> first = list.addItems(1000, 1001);
+		PersistentEList<Integer> second = list.addItems(Arrays.asList(-1));
+
+		assertThat(list, is(range(0, 1000)));
+		assertThat(first.size(), is(1002));
+		assertThat(first.last(), is(1001));
+		assertThat(second.size(), is(1001));
+		assertThat(second.last(), is(-1));
+		assertThat(list.addItems((List<Integer>) null), is(sameInstance(list)));
+	}
+
+	@Test
+	public void shouldLeaveOriginalUnchangedWhenReplacing() {
+		PersistentEList<Integer> list = PersistentEList.of(range(0, 100));
+		PersistentEList<Integer> changed = list.with(50, -1);
+		assertThat(changed.get(50), is(-1));
+		assertThat(changed.get(49), is(49));
+		assertThat(list.get(50), is(50));
+	}
+
+	@Test
+	public void shouldThrowIndexOutOfBoundsExceptionForInvalidIndexes() {
+		thrown.expect(IndexOutOfBoundsException.class);
+		PersistentEList.of(1, 2).get(2);
+	}
+
+	@Test
+	public void shouldReturnNullFromAtForInvalidIndexes() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2);
+		assertThat(list.at(-1), is(nullValue()));
+		assertThat(list.at(2), is(nullValue()));
+		assertThat(list.first(), is(1));
+		assertThat(list.last(), is(2));
+		assertThat(PersistentEList.<Integer> empty().first(), is(nullValue()));
+	}
+
+	@Test
+	public void shouldInsertItems() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2, 3);
+		assertThat(list.insertItems(1, 7, 8), is(Arrays.asList(1, 7, 8, 2, 3)));
+		assertThat(list.insertItems(3, 7), is(Arrays.asList(1, 2, 3, 7)));
+		assertThat(list.insertItems(10, Arrays.asList(7)), is(Arrays.asList(1, 2, 3, 7)));
+		assertThat(list.insertItems(-1, Arrays.asList(7)), is(Arrays.asList(7, 1, 2, 3)));
+		assertThat(list, is(Arrays.asList(1, 2, 3)));
+	}
+
+	@Test
+	public void shouldRemoveAndRetainItems() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2, 3, 4, 2);
+		assertThat(list.removeItems(2), is(Arrays.asList(1, 3, 4)));
+		assertThat(list.removeItems(Arrays.asList(1, 4)), is(Arrays.asList(2, 3, 2)));
+		assertThat(list.removeItems(even), is(Arrays.asList(1, 3)));
+		assertThat(list.retainItems(2, 3), is(Arrays.asList(2, 3, 2)));
+		assertThat(list.retainItems(Arrays.asList(4)), is(Arrays.asList(4)));
+		assertThat(list.retainItems(even), is(Arrays.asList(2, 4, 2)));
+		assertThat(list.removeItems(9), is(sameInstance(list)));
+		assertThat(list, is(Arrays.asList(1, 2, 3, 4, 2)));
+	}
+
+	@Test
+	public void shouldReturnSlicesSharingStructure() {
+		PersistentEList<Integer> list = PersistentEList.of(range(0, 100));
+		PersistentEList<Integer> slice = list.subList(40, 70);
+		assertThat(slice, is(range(40, 70)));
+		assertThat(list.subListView(40, 70), is(range(40, 70)));
+		assertThat(list.getItems(90, 20), is(range(90, 100)));
+		assertThat(list.getItemsView(-5, 10), is(range(0, 5)));
+		assertThat(list.getItems(200, 10).isEmpty(), is(true));
+
+		PersistentEList<Integer> appended = slice.addItems(-1);
+		assertThat(appended.size(), is(31));
+		assertThat(appended.last(), is(-1));
+		assertThat(list.get(70), is(70));
+		assertThat(slice.compact(), is(range(40, 70)));
+	}
+
+	@Test
+	public void shouldThrowIndexOutOfBoundsExceptionForInvalidSubList() {
+		thrown.expect(IndexOutOfBoundsException.class);
+		PersistentEList.of(1, 2).subList(1, 3);
+	}
+
+	@Test
+	public void shouldNotSupportInPlaceModification() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2);
+		try {
+			list.add(3);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		try {
+			list.set(0, 3);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		Iterator<Integer> iterator = list.iterator();
+		iterator.next();
+		try {
+			iterator.remove();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertThat(list, is(Arrays.asList(1, 2)));
+	}
+
+	@Test
+	public void shouldReturnSelfFromDuplicate() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2);
+		assertThat(list.duplicate(), is(sameInstance(list)));
+	}
+
+	@Test
+	public void shouldSortIntoANewList() {
+		PersistentEList<Integer> list = PersistentEList.of(3, 1, 2);
+		assertThat(list.sort(new ComparableComparator<Integer>()), is(Arrays.asList(1, 2, 3)));
+		assertThat(list, is(Arrays.asList(3, 1, 2)));
+	}
+
+	@Test
+	public void shouldFilterAndSplit() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2, 3, 4);
+		assertThat(list.getItems(even), is(Arrays.asList(2, 4)));
+		Pair<EList<Integer>, EList<Integer>> split = list.split(even);
+		assertThat(split.getA(), is(Arrays.asList(2, 4)));
+		assertThat(split.getB(), is(Arrays.asList(1, 3)));
+		assertThat(list.view().filter(even).toList(), is(Arrays.asList(2, 4)));
+	}
+
+	@Test
+	public void shouldBeEqualToOtherLists() {
+		PersistentEList<Integer> list = PersistentEList.of(1, 2, 3);
+		assertThat(list.equals(new EListImpl<Integer>(1, 2, 3)), is(true));
+		assertThat(list.hashCode(), is(Arrays.asList(1, 2, 3).hashCode()));
+		assertThat(list.toString(), is("[1, 2, 3]"));
+		assertThat(list.contains(2), is(true));
+		assertThat(list.indexOf(3), is(2));
+	}
+
+	private static List<Integer> range(int from, int to) {
+		List<Integer> list = new ArrayList<Integer>();
+		for (int i = from; i < to; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+}
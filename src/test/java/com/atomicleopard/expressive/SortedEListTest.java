@@ -0,0 +1,230 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.Pair;
+import com.atomicleopard.expressive.comparator.ComparableComparator;
+import com.atomicleopard.expressive.predicate.EPredicate;
+import com.atomicleopard.expressive.transform.TestBean;
+
+public class SortedEListTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private Comparator<Integer> natural = new ComparableComparator<Integer>();
+	private Comparator<String> byLength = new Comparator<String>() {
+		@Override
+		public int compare(String o1, String o2) {
+			return o1.length() - o2.length();
+		}
+	};
+
+	@Test
+	public void shouldSortValuesOnConstruction() {
+		assertThat(new SortedEList<Integer>(natural, 5, 1, 3), is(Arrays.asList(1, 3, 5)));
+		assertThat(new SortedEList<Integer>(natural, Arrays.asList(5, 1, 3)), is(Arrays.asList(1, 3, 5)));
+		assertThat(new SortedEList<Integer>(natural, (List<Integer>) null).isEmpty(), is(true));
+		assertThat(new SortedEList<Integer>(natural).isEmpty(), is(true));
+		assertThat(new SortedEList<Integer>(natural).getComparator(), is(sameInstance(natural)));
+	}
+
+	@Test
+	public void shouldMaintainOrderOnAddAndInsert() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 2, 4, 6);
+		list.add(5);
+		list.add(0, 7);
+		list.addItems(3, 1);
+		list.addItems(Arrays.asList(0));
+		list.insertItems(0, 10, 8);
+		list.insertItems(7, Arrays.asList(9, -1));
+		list.addAll(2, Arrays.asList(11));
+
+		assertThat(list, is(Arrays.asList(-1, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11)));
+	}
+
+	@Test
+	public void shouldAddAfterElementsWhichCompareEqual() {
+		SortedEList<String> list = new SortedEList<String>(byLength, "aa", "b");
+		list.add("cc");
+		list.add("d");
+
+		assertThat(list, is(Arrays.asList("b", "d", "aa", "cc")));
+	}
+
+	@Test
+	public void shouldFindElementsUsingComparatorAndEquals() {
+		SortedEList<String> list = new SortedEList<String>(byLength, "a", "bb", "cc", "dd", "eee", "bb");
+
+		assertThat(list.contains("cc"), is(true));
+		assertThat(list.contains("zz"), is(false));
+		assertThat(list.contains("ffff"), is(false));
+		assertThat(list.contains(1), is(false));
+		assertThat(list.indexOf("bb"), is(1));
+		assertThat(list.lastIndexOf("bb"), is(4));
+		assertThat(list.indexOf("dd"), is(3));
+		assertThat(list.indexOf("zz"), is(-1));
+		assertThat(list.lastIndexOf("zz"), is(-1));
+		assertThat(list.indexOf(null), is(-1));
+	}
+
+	@Test
+	public void shouldNotFindObjectsTheComparatorCannotCompare() {
+		TestBean a = new TestBean(1, "a");
+		TestBean b = new TestBean(2, "b");
+		SortedEList<TestBean> list = new SortedEList<TestBean>(Expressive.Comparators.compare(TestBean.class).on("pk").naturally(), b, a);
+
+		assertThat(list, is(Arrays.asList(a, b)));
+		assertThat(list.contains(b), is(true));
+		assertThat(list.contains("b"), is(false));
+		assertThat(list.indexOf("b"), is(-1));
+		assertThat(list.lastIndexOf("b"), is(-1));
+		assertThat(list.indexOf(b), is(1));
+	}
+
+	@Test
+	public void shouldFindFloorCeilingLowerAndHigher() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 10, 20, 30);
+
+		assertThat(list.floor(20), is(20));
+		assertThat(list.floor(25), is(20));
+		assertThat(list.floor(5), is(nullValue()));
+		assertThat(list.ceiling(20), is(20));
+		assertThat(list.ceiling(25), is(30));
+		assertThat(list.ceiling(35), is(nullValue()));
+		assertThat(list.lower(20), is(10));
+		assertThat(list.lower(10), is(nullValue()));
+		assertThat(list.higher(20), is(30));
+		assertThat(list.higher(30), is(nullValue()));
+	}
+
+	@Test
+	public void shouldReturnRangeAsReadOnlyView() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 1, 2, 3, 4, 5, 6);
+		SortedEList<Integer> range = list.range(2, 5);
+
+		assertThat(range, is(Arrays.asList(2, 3, 4)));
+		assertThat(range.contains(3), is(true));
+		assertThat(range.indexOf(4), is(2));
+		assertThat(range.floor(10), is(4));
+		assertThat(list.range(5, 2).isEmpty(), is(true));
+		assertThat(list.range(7, 9).isEmpty(), is(true));
+		assertThat(range.duplicate().addItems(10), is(Arrays.<Integer> asList(2, 3, 4, 10)));
+
+		thrown.expect(UnsupportedOperationException.class);
+		range.add(3);
+	}
+
+	@Test
+	public void shouldProvideReadOnlySortedViews() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 4, 3, 2, 1);
+		SortedEList<Integer> view = list.getItemsView(1, 2);
+
+		assertThat(view, is(Arrays.asList(2, 3)));
+		assertThat(view.ceiling(3), is(3));
+		assertThat(list.subListView(2, 4), is(Arrays.asList(3, 4)));
+
+		thrown.expect(UnsupportedOperationException.class);
+		view.add(0);
+	}
+
+	@Test
+	public void shouldNotSupportSet() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 1, 2);
+		thrown.expect(UnsupportedOperationException.class);
+		list.set(0, 5);
+	}
+
+	@Test
+	public void shouldNotSupportSetThroughListIterator() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 1, 2);
+		ListIterator<Integer> iterator = list.listIterator();
+		iterator.next();
+		iterator.remove();
+		assertThat(list, is(Arrays.asList(2)));
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(iterator.nextIndex(), is(0));
+		iterator.next();
+
+		thrown.expect(UnsupportedOperationException.class);
+		iterator.set(5);
+	}
+
+	@Test
+	public void shouldReturnSortedListsFromFilteringOperations() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 6, 5, 4, 3, 2, 1);
+		EPredicate<Integer> even = new EPredicate<Integer>() {
+			@Override
+			public boolean pass(Integer input) {
+				return input % 2 == 0;
+			}
+		};
+
+		SortedEList<Integer> evens = list.getItems(even);
+		assertThat(evens, is(Arrays.asList(2, 4, 6)));
+		evens.add(3);
+		assertThat(evens, is(Arrays.asList(2, 3, 4, 6)));
+
+		Pair<EList<Integer>, EList<Integer>> split = list.split(even);
+		assertThat(split.getB(), is(Arrays.asList(1, 3, 5)));
+		assertThat(split.getB().addItems(2), is(Arrays.asList(1, 2, 3, 5)));
+
+		assertThat(list.subList(1, 3), is(Arrays.asList(2, 3)));
+		assertThat(list.getItems(4, 10), is(Arrays.asList(5, 6)));
+		assertThat(list.getItems(-1, 3), is(Arrays.asList(1, 2)));
+		assertThat(list.removeItems(even), is(Arrays.asList(1, 3, 5)));
+		assertThat(list.size(), is(3));
+	}
+
+	@Test
+	public void shouldAdoptComparatorGivenToSort() {
+		SortedEList<Integer> list = new SortedEList<Integer>(natural, 1, 2, 3);
+		Comparator<Integer> reverse = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return o2.compareTo(o1);
+			}
+		};
+		list.sort(reverse);
+		list.add(4);
+
+		assertThat(list, is(Arrays.asList(4, 3, 2, 1)));
+		assertThat(list.contains(2), is(true));
+		assertThat(list.getComparator(), is(reverse));
+	}
+
+	@Test
+	public void shouldThrowNPEForNullComparator() {
+		thrown.expect(NullPointerException.class);
+		new SortedEList<Integer>(null);
+	}
+}
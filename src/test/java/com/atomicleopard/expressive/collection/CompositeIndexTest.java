@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CompositeIndexTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldPutAndGetValuesByCompositeKey() {
+		CompositeIndex<String> index = new CompositeIndex<String>(2);
+		assertThat(index.put(new Object[] { "APAC", 1 }, "first"), is(nullValue()));
+		assertThat(index.put(new Object[] { "EMEA", 1 }, "second"), is(nullValue()));
+
+		assertThat(index.get("APAC", 1), is("first"));
+		assertThat(index.get("EMEA", 1), is("second"));
+		assertThat(index.get(new Object[] { "APAC", 1 }), is("first"));
+		assertThat(index.get("APAC", 2), is(nullValue()));
+		assertThat(index.size(), is(2));
+		assertThat(index.isEmpty(), is(false));
+		assertThat(index.arity(), is(2));
+	}
+
+	@Test
+	public void shouldReplaceExistingValueAndReturnPrevious() {
+		CompositeIndex<String> index = new CompositeIndex<String>(2);
+		index.put(new Object[] { "APAC", 1 }, "first");
+
+		assertThat(index.put(new Object[] { "APAC", 1 }, "replaced"), is("first"));
+		assertThat(index.get("APAC", 1), is("replaced"));
+		assertThat(index.size(), is(1));
+	}
+
+	@Test
+	public void shouldCopyKeySoCallerCanReuseArray() {
+		CompositeIndex<String> index = new CompositeIndex<String>(2);
+		Object[] key = new Object[] { "APAC", 1 };
+		index.put(key, "first");
+		key[0] = "EMEA";
+		index.put(key, "second");
+
+		assertThat(index.get("APAC", 1), is("first"));
+		assertThat(index.get("EMEA", 1), is("second"));
+		assertThat(Arrays.asList(index.keyAt(0)), is(Arrays.<Object> asList("APAC", 1)));
+	}
+
+	@Test
+	public void shouldSupportNullKeyValues() {
+		CompositeIndex<String> index = new CompositeIndex<String>(3);
+		index.put(new Object[] { null, 1, null }, "nulls");
+		index.put(new Object[] { null, 1, "x" }, "partial");
+
+		assertThat(index.get(null, 1, null), is("nulls"));
+		assertThat(index.get(null, 1, "x"), is("partial"));
+		assertThat(index.get(null, null, null), is(nullValue()));
+		assertThat(index.containsKey(null, 1, null), is(true));
+		assertThat(index.containsKey(1, 1, null), is(false));
+	}
+
+	@Test
+	public void shouldDistinguishContainsKeyFromNullValue() {
+		CompositeIndex<String> index = new CompositeIndex<String>(1);
+		index.put(new Object[] { "a" }, null);
+
+		assertThat(index.get("a"), is(nullValue()));
+		assertThat(index.containsKey("a"), is(true));
+	}
+
+	@Test
+	public void shouldGrowAndRetainInsertionOrder() {
+		CompositeIndex<Integer> index = new CompositeIndex<Integer>(2, 1);
+		for (int i = 0; i < 1000; i++) {
+			index.put(new Object[] { "key" + (i % 10), i }, i);
+		}
+
+		assertThat(index.size(), is(1000));
+		List<Integer> values = index.values();
+		for (int i = 0; i < 1000; i++) {
+			assertThat(values.get(i), is(i));
+			assertThat(index.get("key" + (i % 10), i), is(i));
+		}
+	}
+
+	@Test
+	public void shouldProbeWithGenericGetForLargerArities() {
+		CompositeIndex<String> index = new CompositeIndex<String>(4);
+		index.put(new Object[] { 1, 2, 3, 4 }, "value");
+
+		assertThat(index.get(1, 2, 3, 4), is("value"));
+		assertThat(index.get(1, 2, 4, 3), is(nullValue()));
+	}
+
+	@Test
+	public void shouldFailWhenKeyHasWrongNumberOfValues() {
+		CompositeIndex<String> index = new CompositeIndex<String>(3);
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("Expected a key of 3 values but was given 2");
+		index.get("a", "b");
+	}
+
+	@Test
+	public void shouldFailForArityLessThanOne() {
+		thrown.expect(IllegalArgumentException.class);
+		new CompositeIndex<String>(0);
+	}
+
+	@Test
+	public void shouldDescribeEntriesInToString() {
+		CompositeIndex<String> index = new CompositeIndex<String>(2);
+		index.put(new Object[] { "a", 1 }, "first");
+		index.put(new Object[] { "b", 2 }, "second");
+
+		assertThat(index.toString(), is("{[a, 1]=first, [b, 2]=second}"));
+	}
+}
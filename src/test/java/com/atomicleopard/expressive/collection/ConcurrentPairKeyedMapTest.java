@@ -0,0 +1,217 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.ConcurrentPairKeyedMap.ValueFactory;
+
+public class ConcurrentPairKeyedMapTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldPutGetAndRemoveUsingSeparateKeyValues() {
+		ConcurrentPairKeyedMap<String, Integer, String> map = new ConcurrentPairKeyedMap<String, Integer, String>();
+		assertThat(map.put("a", 1, "a1"), is(nullValue()));
+		assertThat(map.put(null, 1, "null1"), is(nullValue()));
+		assertThat(map.put("a", 1, "replaced"), is("a1"));
+
+		assertThat(map.get("a", 1), is("replaced"));
+		assertThat(map.get(null, 1), is("null1"));
+		assertThat(map.get("a", 2), is(nullValue()));
+		assertThat(map.containsKey(null, 1), is(true));
+		assertThat(map.size(), is(2));
+		assertThat(map.removeKey("a", 1), is("replaced"));
+		assertThat(map.removeKey("a", 1), is(nullValue()));
+		assertThat(map.size(), is(1));
+	}
+
+	@Test
+	public void shouldSupportConcurrentMapOperationsUsingPairs() {
+		ConcurrentPairKeyedMap<String, Integer, String> map = new ConcurrentPairKeyedMap<String, Integer, String>();
+		Pair<String, Integer> key = new Pair<String, Integer>("a", 1);
+
+		assertThat(map.putIfAbsent(key, "first"), is(nullValue()));
+		assertThat(map.putIfAbsent(key, "second"), is("first"));
+		assertThat(map.replace(key, "other", "third"), is(false));
+		assertThat(map.replace(key, "first", "third"), is(true));
+		assertThat(map.replace(key, "fourth"), is("third"));
+		assertThat(map.replace(new Pair<String, Integer>("b", 1), "fourth"), is(nullValue()));
+		assertThat(map.remove(key, "other"), is(false));
+		assertThat(map.get(key), is("fourth"));
+		assertThat(map.containsValue("fourth"), is(true));
+		assertThat(map.remove(key, "fourth"), is(true));
+		assertThat(map.isEmpty(), is(true));
+		assertThat(map.get("not a pair"), is(nullValue()));
+		assertThat(map.remove("not a pair"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldRejectNullValues() {
+		ConcurrentPairKeyedMap<String, Integer, String> map = new ConcurrentPairKeyedMap<String, Integer, String>();
+		thrown.expect(NullPointerException.class);
+		map.put("a", 1, null);
+	}
+
+	@Test
+	public void shouldComputeAbsentValuesOnce() {
+		ConcurrentPairKeyedMap<String, Integer, String> map = new ConcurrentPairKeyedMap<String, Integer, String>();
+		final AtomicInteger calls = new AtomicInteger();
+		ValueFactory<String, Integer, String> factory = new ValueFactory<String, Integer, String>() {
+			@Override
+			public String create(String k1, Integer k2) {
+				calls.incrementAndGet();
+				return k1 + k2;
+			}
+		};
+
+		assertThat(map.computeIfAbsent("a", 1, factory), is("a1"));
+		assertThat(map.computeIfAbsent("a", 1, factory), is("a1"));
+		assertThat(calls.get(), is(1));
+	}
+
+	@Test
+	public void shouldNotStoreNullFromValueFactory() {
+		ConcurrentPairKeyedMap<String, Integer, String> map = new ConcurrentPairKeyedMap<String, Integer, String>();
+		assertThat(map.computeIfAbsent("a", 1, new ValueFactory<String, Integer, String>() {
+			@Override
+			public String create(String k1, Integer k2) {
+				return null;
+			}
+		}), is(nullValue()));
+		assertThat(map.containsKey("a", 1), is(false));
+	}
+
+	@Test
+	public void shouldGrowAndIterateAllEntries() {
+		ConcurrentPairKeyedMap<Integer, Integer, Integer> map = new ConcurrentPairKeyedMap<Integer, Integer, Integer>(1, 4);
+		Map<Pair<Integer, Integer>, Integer> expected = new HashMap<Pair<Integer, Integer>, Integer>();
+		for (int i = 0; i < 1000; i++) {
+			map.put(i, i % 7, i);
+			expected.put(new Pair<Integer, Integer>(i, i % 7), i);
+		}
+
+		assertThat(map.size(), is(1000));
+		assertThat(map.equals(expected), is(true));
+		assertThat(expected.equals(map), is(true));
+		for (int i = 0; i < 1000; i += 3) {
+			map.removeKey(i, i % 7);
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertThat(map.get(i, i % 7), is(i % 3 == 0 ? null : i));
+		}
+	}
+
+	@Test
+	public void shouldRemoveAndSetValuesThroughEntrySet() {
+		ConcurrentPairKeyedMap<Integer, Integer, String> map = new ConcurrentPairKeyedMap<Integer, Integer, String>();
+		for (int i = 0; i < 10; i++) {
+			map.put(i, i, "value");
+		}
+		Iterator<Map.Entry<Pair<Integer, Integer>, String>> iterator = map.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Pair<Integer, Integer>, String> entry = iterator.next();
+			if (entry.getKey().getA() % 2 == 0) {
+				iterator.remove();
+			} else {
+				entry.setValue("odd");
+			}
+		}
+
+		assertThat(map.size(), is(5));
+		assertThat(map.get(1, 1), is("odd"));
+		assertThat(map.containsKey(2, 2), is(false));
+		map.keySet().clear();
+		assertThat(map.isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldFailForConcurrencyLevelLessThanOne() {
+		thrown.expect(IllegalArgumentException.class);
+		new ConcurrentPairKeyedMap<String, String, String>(16, 0);
+	}
+
+	@Test
+	public void shouldRemainConsistentUnderConcurrentWrites() throws Exception {
+		final ConcurrentPairKeyedMap<Integer, Integer, Integer> map = new ConcurrentPairKeyedMap<Integer, Integer, Integer>();
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicInteger created = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						for (int i = 0; i < 2000; i++) {
+							map.put(thread, i, i);
+							map.computeIfAbsent(-1, i, new ValueFactory<Integer, Integer, Integer>() {
+								@Override
+								public Integer create(Integer k1, Integer k2) {
+									created.incrementAndGet();
+									return k2;
+								}
+							});
+							if (i % 2 == 0) {
+								map.removeKey(thread, i);
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(created.get(), is(2000));
+		assertThat(map.size(), is(4 * 1000 + 2000));
+		for (int t = 0; t < 4; t++) {
+			for (int i = 0; i < 2000; i++) {
+				assertThat(map.get(t, i), is(i % 2 == 0 ? null : i));
+			}
+		}
+	}
+}
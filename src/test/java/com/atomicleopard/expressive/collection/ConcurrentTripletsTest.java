@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.ConcurrentPairKeyedMap.ValueFactory;
+
+public class ConcurrentTripletsTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldBehaveAsTriplets() {
+		Triplets<String, String, String> triplets = new ConcurrentTriplets<String, String, String>();
+		triplets.put("tenant", "resource", "policy");
+		triplets.put("tenant", "other", "policy2");
+
+		assertThat(triplets.get("tenant", "resource"), is("policy"));
+		assertThat(triplets.containsKey("tenant", "other"), is(true));
+		assertThat(triplets.containsValue("policy2"), is(true));
+		assertThat(triplets.size(), is(2));
+		assertThat(triplets.keySet(), hasItem(new Pair<String, String>("tenant", "other")));
+
+		triplets.remove("tenant", "other");
+		assertThat(triplets.get("tenant", "other"), is(nullValue()));
+		triplets.clear();
+		assertThat(triplets.isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldPutIfAbsent() {
+		ConcurrentTriplets<String, String, String> triplets = new ConcurrentTriplets<String, String, String>(16, 4);
+		assertThat(triplets.putIfAbsent("tenant", "resource", "policy"), is(nullValue()));
+		assertThat(triplets.putIfAbsent("tenant", "resource", "other"), is("policy"));
+		assertThat(triplets.get("tenant", "resource"), is("policy"));
+	}
+
+	@Test
+	public void shouldComputeIfAbsent() {
+		ConcurrentTriplets<String, String, String> triplets = new ConcurrentTriplets<String, String, String>(16);
+		ValueFactory<String, String, String> factory = new ValueFactory<String, String, String>() {
+			@Override
+			public String create(String k1, String k2) {
+				return k1 + ":" + k2;
+			}
+		};
+		assertThat(triplets.computeIfAbsent("tenant", "resource", factory), is("tenant:resource"));
+		triplets.put("tenant", "resource", "policy");
+		assertThat(triplets.computeIfAbsent("tenant", "resource", factory), is("policy"));
+	}
+
+	@Test
+	public void shouldPutAllFromOtherTriplets() {
+		Triplets<String, String, String> source = new Triplets<String, String, String>();
+		source.put("a", "b", "ab");
+		ConcurrentTriplets<String, String, String> triplets = new ConcurrentTriplets<String, String, String>();
+		triplets.putAll(source);
+
+		assertThat(triplets.get("a", "b"), is("ab"));
+	}
+
+	@Test
+	public void shouldRejectNullValues() {
+		thrown.expect(NullPointerException.class);
+		new ConcurrentTriplets<String, String, String>().put("a", "b", null);
+	}
+}
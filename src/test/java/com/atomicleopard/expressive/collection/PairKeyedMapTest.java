@@ -0,0 +1,165 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.collection;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class PairKeyedMapTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldPutAndGetUsingSeparateKeyValues() {
+		PairKeyedMap<String, Integer, String> map = new PairKeyedMap<String, Integer, String>();
+		assertThat(map.put("a", 1, "a1"), is(nullValue()));
+		assertThat(map.put("a", 2, "a2"), is(nullValue()));
+		assertThat(map.put("a", 1, "replaced"), is("a1"));
+
+		assertThat(map.get("a", 1), is("replaced"));
+		assertThat(map.get("a", 2), is("a2"));
+		assertThat(map.get("b", 1), is(nullValue()));
+		assertThat(map.containsKey("a", 2), is(true));
+		assertThat(map.containsKey("b", 2), is(false));
+		assertThat(map.size(), is(2));
+	}
+
+	@Test
+	public void shouldSupportMapOperationsUsingPairs() {
+		PairKeyedMap<String, Integer, String> map = new PairKeyedMap<String, Integer, String>();
+		map.put(new Pair<String, Integer>("a", 1), "a1");
+
+		assertThat(map.get(new Pair<String, Integer>("a", 1)), is("a1"));
+		assertThat(map.get("not a pair"), is(nullValue()));
+		assertThat(map.containsKey(new Pair<String, Integer>("a", 1)), is(true));
+		assertThat(map.containsKey("not a pair"), is(false));
+		assertThat(map.remove("not a pair"), is(nullValue()));
+		assertThat(map.remove(new Pair<String, Integer>("a", 1)), is("a1"));
+		assertThat(map.isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldSupportNullKeyValuesAndValues() {
+		PairKeyedMap<String, String, String> map = new PairKeyedMap<String, String, String>();
+		map.put(null, null, "nulls");
+		map.put("a", null, null);
+
+		assertThat(map.get(null, null), is("nulls"));
+		assertThat(map.get("a", null), is(nullValue()));
+		assertThat(map.containsKey("a", null), is(true));
+		assertThat(map.containsValue(null), is(true));
+		assertThat(map.containsValue("nulls"), is(true));
+		assertThat(map.containsValue("other"), is(false));
+	}
+
+	@Test
+	public void shouldRemoveAndReinsertEntries() {
+		PairKeyedMap<Integer, Integer, Integer> map = new PairKeyedMap<Integer, Integer, Integer>(1);
+		for (int round = 0; round < 5; round++) {
+			for (int i = 0; i < 1000; i++) {
+				map.put(i, -i, i);
+			}
+			assertThat(map.size(), is(1000));
+			for (int i = 0; i < 1000; i += 2) {
+				assertThat(map.removeKey(i, -i), is(i));
+			}
+			assertThat(map.size(), is(500));
+			for (int i = 0; i < 1000; i++) {
+				assertThat(map.get(i, -i), is(i % 2 == 0 ? null : i));
+			}
+			assertThat(map.removeKey(0, 0), is(nullValue()));
+		}
+	}
+
+	@Test
+	public void shouldBeEqualToOtherMapsWithTheSameEntries() {
+		PairKeyedMap<Integer, Integer, String> map = new PairKeyedMap<Integer, Integer, String>();
+		map.put(1, 2, "12");
+		map.put(3, 4, "34");
+		Map<Pair<Integer, Integer>, String> hashMap = new HashMap<Pair<Integer, Integer>, String>();
+		hashMap.put(new Pair<Integer, Integer>(1, 2), "12");
+		hashMap.put(new Pair<Integer, Integer>(3, 4), "34");
+
+		assertThat(map.equals(hashMap), is(true));
+		assertThat(hashMap.equals(map), is(true));
+		assertThat(map.hashCode(), is(hashMap.hashCode()));
+		assertThat(new PairKeyedMap<Integer, Integer, String>(hashMap), is(map));
+	}
+
+	@Test
+	public void shouldIterateAndRemoveAndSetValuesThroughEntrySet() {
+		PairKeyedMap<Integer, Integer, String> map = new PairKeyedMap<Integer, Integer, String>();
+		for (int i = 0; i < 10; i++) {
+			map.put(i, i, "value");
+		}
+		Iterator<Map.Entry<Pair<Integer, Integer>, String>> iterator = map.entrySet().iterator();
+		int count = 0;
+		while (iterator.hasNext()) {
+			Map.Entry<Pair<Integer, Integer>, String> entry = iterator.next();
+			count++;
+			if (entry.getKey().getA() % 2 == 0) {
+				iterator.remove();
+			} else {
+				entry.setValue("odd");
+			}
+		}
+
+		assertThat(count, is(10));
+		assertThat(map.size(), is(5));
+		assertThat(map.get(1, 1), is("odd"));
+		assertThat(map.containsKey(2, 2), is(false));
+		assertThat(map.keySet().contains(new Pair<Integer, Integer>(3, 3)), is(true));
+		assertThat(map.values().size(), is(5));
+	}
+
+	@Test
+	public void shouldFailFastWhenModifiedDuringIteration() {
+		PairKeyedMap<Integer, Integer, String> map = new PairKeyedMap<Integer, Integer, String>();
+		map.put(1, 1, "1");
+		map.put(2, 2, "2");
+		Iterator<Pair<Integer, Integer>> iterator = map.keySet().iterator();
+		iterator.next();
+		map.put(3, 3, "3");
+
+		thrown.expect(ConcurrentModificationException.class);
+		iterator.next();
+	}
+
+	@Test
+	public void shouldClearAllEntries() {
+		PairKeyedMap<Integer, Integer, String> map = new PairKeyedMap<Integer, Integer, String>();
+		map.put(1, 1, "1");
+		map.entrySet().clear();
+
+		assertThat(map.isEmpty(), is(true));
+		assertThat(map.get(1, 1), is(nullValue()));
+		assertThat(map.entrySet().iterator().hasNext(), is(false));
+	}
+}
@@ -197,6 +197,23 @@ public class TripletsTest {
 		return new Pair<A, B>(a, b);
 	}
 
+	@Test
+	public void shouldSupportNullKeysAndGrowBeyondExpectedSize() {
+		Triplets<String, Integer, String> triplets = new Triplets<String, Integer, String>(2);
+		triplets.put(null, null, "nulls");
+		for (int i = 0; i < 100; i++) {
+			triplets.put("key", i, "value" + i);
+		}
+
+		assertThat(triplets.size(), is(101));
+		assertThat(triplets.get(null, null), is("nulls"));
+		assertThat(triplets.get("key", 99), is("value99"));
+		assertThat(triplets.containsKey(null, null), is(true));
+		triplets.remove(null, null);
+		assertThat(triplets.containsKey(null, null), is(false));
+		assertThat(triplets.keySet(), hasItem(new Pair<String, Integer>("key", 0)));
+	}
+
 	@Test
 	public void shouldUseGivenMapToBackTriplets() {
 		Triplets<Integer, Integer, String> triplets = new Triplets<Integer, Integer, String>(new LinkedHashMap<Pair<Integer, Integer>, String>());
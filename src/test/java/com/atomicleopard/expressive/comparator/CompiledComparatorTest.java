@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.comparator;
+
+import static com.atomicleopard.expressive.Expressive.list;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.EList;
+
+public class CompiledComparatorTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldCompareTheSameAsTheBuilderItWasCompiledFrom() {
+		ComparatorBuilder<TestCompare> builder = new ComparatorBuilder<TestCompare>(TestCompare.class);
+		builder = builder.on("str1").naturally();
+		builder = builder.<String> on("str2").using(new CaseInsensitiveComparator());
+		builder = builder.on("int1").naturally();
+		CompiledComparator<TestCompare> compiled = builder.compile();
+
+		List<TestCompare> values = list(tc("a", "a", 0), tc("a", "A", 1), tc("a", "b", 0), tc("b", "a", 0), tc("a", "B", 0), tc("a", "a", 1));
+		for (TestCompare left : values) {
+			for (TestCompare right : values) {
+				assertThat(compiled.compare(left, right), is(builder.compare(left, right)));
+			}
+		}
+	}
+
+	@Test
+	public void shouldSortUsingPropertiesInBuildOrder() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("int1").naturally().on("str1").naturally().compile();
+		TestCompare a1 = tc("a", "z", 1);
+		TestCompare b0 = tc("b", "z", 0);
+		TestCompare a0 = tc("a", "z", 0);
+		EList<TestCompare> values = list(a1, b0, a0);
+		Collections.sort(values, compiled);
+		assertThat(values, is(list(a0, b0, a1)));
+	}
+
+	@Test
+	public void shouldCompareAsEqualWhenNoPropertiesAreSpecified() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).compile();
+		assertThat(compiled.compare(tc("a", "a", 0), tc("b", "b", 1)), is(0));
+	}
+
+	@Test
+	public void shouldNotBeAffectedByFurtherChangesToTheBuilder() {
+		ComparatorBuilder<TestCompare> builder = new ComparatorBuilder<TestCompare>(TestCompare.class).on("str1").naturally();
+		CompiledComparator<TestCompare> compiled = builder.compile();
+		builder = builder.on("int1").naturally();
+
+		assertThat(compiled.compare(tc("a", "a", 0), tc("a", "a", 1)), is(0));
+		assertThat(builder.compare(tc("a", "a", 0), tc("a", "a", 1)), is(-1));
+	}
+
+	@Test
+	public void shouldSortAListInPlaceUsingExtractedKeys() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("str1").naturally().on("int1").naturally().compile();
+		TestCompare b1 = tc("b", "z", 1);
+		TestCompare a1 = tc("a", "z", 1);
+		TestCompare b0 = tc("b", "z", 0);
+		TestCompare a0 = tc("a", "z", 0);
+		EList<TestCompare> values = list(b1, a1, b0, a0);
+		compiled.sort(values);
+		assertThat(values, is(list(a0, a1, b0, b1)));
+	}
+
+	@Test
+	public void shouldSortStablyRetainingTheOrderOfEqualElements() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("int1").naturally().compile();
+		TestCompare first = tc("a", "z", 1);
+		TestCompare second = tc("b", "z", 0);
+		TestCompare third = tc("c", "z", 1);
+		TestCompare fourth = tc("d", "z", 0);
+		EList<TestCompare> values = list(first, second, third, fourth);
+		compiled.sort(values);
+		assertThat(values, is(list(second, fourth, first, third)));
+	}
+
+	@Test
+	public void shouldReadEachPropertyOnlyOnceWhenSorting() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("counted").naturally().compile();
+		EList<TestCompare> values = list(tc("a", "z", 5), tc("b", "z", 3), tc("c", "z", 4), tc("d", "z", 1), tc("e", "z", 2));
+		compiled.sort(values);
+		for (TestCompare value : values) {
+			assertThat(value.reads, is(1));
+		}
+		assertThat(values.first().getInt1(), is(1));
+		assertThat(values.last().getInt1(), is(5));
+	}
+
+	@Test
+	public void shouldSortEmptyAndSingletonLists() {
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("exception").naturally().compile();
+		EList<TestCompare> empty = list();
+		compiled.sort(empty);
+		assertThat(empty.isEmpty(), is(true));
+
+		TestCompare only = tc("a", "a", 0);
+		EList<TestCompare> singleton = list(only);
+		compiled.sort(singleton);
+		assertThat(singleton, is(list(only)));
+	}
+
+	@Test
+	public void shouldThrowARuntimeExceptionIfAPropertyCannotBeReadWhenSorting() {
+		thrown.expect(RuntimeException.class);
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("exception").naturally().compile();
+		compiled.sort(list(tc("a", "a", 0), tc("b", "b", 1)));
+	}
+
+	@Test
+	public void shouldThrowARuntimeExceptionIfAPropertyCannotBeRead() {
+		thrown.expect(RuntimeException.class);
+		CompiledComparator<TestCompare> compiled = new ComparatorBuilder<TestCompare>(TestCompare.class).on("exception").naturally().compile();
+		compiled.compare(tc("a", "a", 0), tc("a", "a", 0));
+	}
+
+	private TestCompare tc(String str1, String str2, Integer int1) {
+		return new TestCompare(str1, str2, int1);
+	}
+
+	@SuppressWarnings("unused")
+	private static class TestCompare {
+		private String str1;
+		private String str2;
+		private Integer int1;
+		private int reads;
+
+		public TestCompare(String str1, String str2, Integer int1) {
+			super();
+			this.str1 = str1;
+			this.str2 = str2;
+			this.int1 = int1;
+		}
+
+		public String getStr1() {
+			return str1;
+		}
+
+		public String getStr2() {
+			return str2;
+		}
+
+		public Integer getInt1() {
+			return int1;
+		}
+
+		public Integer getCounted() {
+			reads++;
+			return int1;
+		}
+
+		public String getException() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+}
@@ -90,6 +90,89 @@ public class AnyOfPredicateTest {
 
 	}
 
+	@Test
+	public void shouldPassValuesInALargeValueSet() {
+		Integer[] values = new Integer[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i * 2;
+		}
+		AnyOfPredicate<Integer> predicate = Expressive.Predicate.anyOf(values);
+		assertThat(predicate.pass(0), is(true));
+		assertThat(predicate.pass(998), is(true));
+		assertThat(predicate.pass(1998), is(true));
+		assertThat(predicate.pass(1), is(false));
+		assertThat(predicate.pass(2000), is(false));
+		assertThat(predicate.pass(null), is(false));
+		assertThat(predicate.predicates.size(), is(1000));
+	}
+
+	@Test
+	public void shouldPassNullOnlyWhenNullIsOneOfTheValues() {
+		assertThat(Expressive.Predicate.anyOf("a", null).pass(null), is(true));
+		assertThat(Expressive.Predicate.anyOf("a", "b").pass(null), is(false));
+		assertThat(Expressive.Predicate.anyOf("a", "b", "c", "d", "e", "f", "g", "h", "i", null).pass(null), is(true));
+		assertThat(Expressive.Predicate.anyOf("a", "b", "c", "d", "e", "f", "g", "h", "i", "j").pass(null), is(false));
+	}
+
+	@Test
+	public void shouldPassEnumValues() {
+		AnyOfPredicate<Object> predicate = Expressive.Predicate.<Object> anyOf(TestEnum.A, TestEnum.C);
+		assertThat(predicate.pass(TestEnum.A), is(true));
+		assertThat(predicate.pass(TestEnum.B), is(false));
+		assertThat(predicate.pass(TestEnum.C), is(true));
+		assertThat(predicate.pass("A"), is(false));
+		assertThat(predicate.pass(OtherEnum.A), is(false));
+		assertThat(predicate.pass(null), is(false));
+
+		predicate = predicate.or(OtherEnum.A);
+		assertThat(predicate.pass(TestEnum.A), is(true));
+		assertThat(predicate.pass(OtherEnum.A), is(true));
+		assertThat(predicate.pass(OtherEnum.B), is(false));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void shouldPassOnEitherValuesOrOtherPredicatesInALargeValueSet() {
+		AnyOfPredicate<String> predicate = new AnyOfPredicate<String>(Predicate.<String> isNull()).or("a", "b", "c", "d", "e", "f", "g", "h", "i", "j").or(Predicate.is("z"));
+		assertThat(predicate.pass("a"), is(true));
+		assertThat(predicate.pass("j"), is(true));
+		assertThat(predicate.pass("z"), is(true));
+		assertThat(predicate.pass(null), is(true));
+		assertThat(predicate.pass("y"), is(false));
+		assertThat(predicate.toString(), is("any of [is null, is a, is b, is c, is d, is e, is f, is g, is h, is i, is j, is z]"));
+	}
+
+	@Test
+	public void shouldNotPassValuesInALargeValueSetWhenNegated() {
+		EPredicate<String> predicate = Expressive.Predicate.noneOf("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+		assertThat(predicate.pass("a"), is(false));
+		assertThat(predicate.pass("j"), is(false));
+		assertThat(predicate.pass("k"), is(true));
+		assertThat(predicate.pass(null), is(true));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void shouldEvaluateSubclassesOfEqualsPredicateUsingTheirOwnPassImplementation() {
+		EqualsPredicate<String> caseInsensitive = new EqualsPredicate<String>("a") {
+			@Override
+			public boolean pass(String input) {
+				return "a".equalsIgnoreCase(input);
+			}
+		};
+		AnyOfPredicate<String> predicate = new AnyOfPredicate<String>(caseInsensitive).or("b");
+		assertThat(predicate.pass("A"), is(true));
+		assertThat(predicate.pass("B"), is(false));
+	}
+
+	private enum TestEnum {
+		A, B, C
+	}
+
+	private enum OtherEnum {
+		A, B
+	}
+
 	private class MementoPredicate<T> extends ConstantPredicate<T> {
 		public boolean executed = false;
 
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.predicate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.Expressive.Predicate;
+
+public class CompiledPredicateTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldPassTheSameInputsAsTheBuilderItWasCompiledFrom() {
+		PredicateBuilder<TestBean> builder = new PredicateBuilder<TestBean>(TestBean.class);
+		builder = builder.where("str1").is("a", "b");
+		builder = builder.where("str2").isNot("c");
+		builder = builder.where("int1").passes(Predicate.notNull());
+		CompiledPredicate<TestBean> compiled = builder.compile();
+
+		assertThat(compiled.pass(tb("a", "b", 1)), is(true));
+		assertThat(compiled.pass(tb("b", "a", 0)), is(true));
+
+		assertThat(compiled.pass(tb("c", "b", 1)), is(false));
+		assertThat(compiled.pass(tb("a", "c", 1)), is(false));
+		assertThat(compiled.pass(tb("a", "b", null)), is(false));
+		assertThat(compiled.pass(tb(null, "b", 1)), is(false));
+	}
+
+	@Test
+	public void shouldPassAnyNonNullInputWhenNoPropertyPredicatesAreSpecified() {
+		CompiledPredicate<TestBean> compiled = new PredicateBuilder<TestBean>(TestBean.class).compile();
+		assertThat(compiled.pass(tb(null, null, null)), is(true));
+	}
+
+	@Test
+	public void shouldNotPassANullObject() {
+		CompiledPredicate<TestBean> compiled = new PredicateBuilder<TestBean>(TestBean.class).where("str1").is("a").compile();
+		assertThat(compiled.pass(null), is(false));
+	}
+
+	@Test
+	public void shouldNotBeAffectedByFurtherChangesToTheBuilder() {
+		PredicateBuilder<TestBean> builder = new PredicateBuilder<TestBean>(TestBean.class).where("str1").is("a");
+		CompiledPredicate<TestBean> compiled = builder.compile();
+		builder.where("str2").is("b");
+		builder = builder.where("str2").is("b");
+
+		assertThat(compiled.pass(tb("a", "c", 1)), is(true));
+		assertThat(builder.pass(tb("a", "c", 1)), is(false));
+	}
+
+	@Test
+	public void shouldCatchExceptionsAndRethrowAsRuntimeException() {
+		thrown.expect(RuntimeException.class);
+		CompiledPredicate<TestBean> compiled = new PredicateBuilder<TestBean>(TestBean.class).where("exception").passes(Predicate.any()).compile();
+		compiled.pass(tb("a", "b", 1));
+	}
+
+	@Test
+	public void shouldHaveTheSameToStringAsTheBuilder() {
+		PredicateBuilder<TestBean> builder = new PredicateBuilder<TestBean>(TestBean.class).where("str1").passes(Predicate.any()).where("int1").is(1);
+		assertThat(builder.compile().toString(), is(builder.toString()));
+	}
+
+	private TestBean tb(String str1, String str2, Integer int1) {
+		return new TestBean(str1, str2, int1);
+	}
+
+	@SuppressWarnings("unused")
+	private static class TestBean {
+		private String str1;
+		private String str2;
+		private Integer int1;
+
+		public TestBean(String str1, String str2, Integer int1) {
+			super();
+			this.str1 = str1;
+			this.str2 = str2;
+			this.int1 = int1;
+		}
+
+		public String getStr1() {
+			return str1;
+		}
+
+		public String getStr2() {
+			return str2;
+		}
+
+		public Integer getInt1() {
+			return int1;
+		}
+
+		public String getException() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+}
@@ -80,4 +80,17 @@ public class EqualsPredicateTest {
 		assertThat(new EqualsPredicate<Integer>(1).toString(), is("is 1"));
 		assertThat(new EqualsPredicate<URL>(new URL("http://google.com")).toString(), is("is http://google.com"));
 	}
+
+	@Test
+	public void shouldIdentifyPredicatesPassingOnEqualityAlone() {
+		assertThat(EqualsPredicate.isValuePredicate(new EqualsPredicate<String>("A")), is(true));
+		assertThat(EqualsPredicate.isValuePredicate(new NullPredicate<String>()), is(true));
+		assertThat(EqualsPredicate.isValuePredicate(null), is(false));
+		assertThat(EqualsPredicate.isValuePredicate(new EqualsPredicate<String>("A") {
+			@Override
+			public boolean pass(String input) {
+				return "A".equalsIgnoreCase(input);
+			}
+		}), is(false));
+	}
 }
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+
+public class AsyncCollectionTransformerTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void shouldTransformPreservingOrder() {
+		ETransformer<Integer, String> slow = new ETransformer<Integer, String>() {
+			public String from(Integer in) {
+				sleep((10 - in % 10) * 2);
+				return in.toString();
+			}
+		};
+		List<Integer> input = numbers(50);
+		assertThat(new AsyncCollectionTransformer<Integer, String>(slow, 8).from(input), is(new CollectionTransformer<Integer, String>(slow).from(input)));
+		assertThat(new AsyncCollectionTransformer<Integer, String>(slow, 8).from((Iterable<Integer>) null).isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldRunUpToTheConcurrencyLimitAtOnce() {
+		final CountDownLatch latch = new CountDownLatch(4);
+		ETransformer<Integer, Boolean> awaitOthers = new ETransformer<Integer, Boolean>() {
+			public Boolean from(Integer in) {
+				latch.countDown();
+				try {
+					return latch.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+		assertThat(Expressive.Transformers.transformAllAsyncUsing(awaitOthers, 4).from(1, 2, 3, 4), is(Expressive.list(true, true, true, true)));
+	}
+
+	@Test
+	public void shouldNotExceedTheConcurrencyLimit() {
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maximum = new AtomicInteger();
+		ETransformer<Integer, Integer> tracking = new ETransformer<Integer, Integer>() {
+			public Integer from(Integer in) {
+				int current = running.incrementAndGet();
+				synchronized (maximum) {
+					maximum.set(Math.max(maximum.get(), current));
+				}
+				sleep(5);
+				running.decrementAndGet();
+				return in;
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		try {
+			List<Integer> input = numbers(30);
+			assertThat(Expressive.Transformers.transformAllAsyncUsing(tracking, 3, executor).from(input), is(Expressive.list(input)));
+			assertThat(maximum.get(), is(lessThanOrEqualTo(3)));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldPropagateFailureFromTransformer() {
+		thrown.expect(IllegalStateException.class);
+		thrown.expectMessage("Cannot transform 5");
+		ETransformer<Integer, String> failing = new ETransformer<Integer, String>() {
+			public String from(Integer in) {
+				if (in == 5) {
+					throw new IllegalStateException("Cannot transform " + in);
+				}
+				return in.toString();
+			}
+		};
+		new AsyncCollectionTransformer<Integer, String>(failing, 2).from(numbers(100));
+	}
+
+	@Test
+	public void shouldRejectConcurrencyLessThanOne() {
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("must be at least 1, but was 0");
+		new AsyncCollectionTransformer<Integer, Integer>(null, 0);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private List<Integer> numbers(int size) {
+		List<Integer> numbers = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			numbers.add(i);
+		}
+		return numbers;
+	}
+}
@@ -24,6 +24,7 @@ import static com.atomicleopard.expressive.Expressive.list;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,6 +40,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.transform.BeanPropertyLookupTransformer.Grouping;
+
 public class BeanPropertyLookupTransformerTest {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
@@ -132,4 +136,35 @@ public class BeanPropertyLookupTransformerTest {
 		assertThat(map.get("three").get(0), is(testBean3));
 		assertThat(map.get("three").get(1), is(testBean3Again));
 	}
+
+	@Test
+	public void shouldGroupIntoArrayBackedListsRetainingOrder() {
+		for (Grouping grouping : new Grouping[] { Grouping.Array, Grouping.Counted }) {
+			BeanPropertyLookupTransformer<TestBean, Integer> transformer = new BeanPropertyLookupTransformer<TestBean, Integer>(TestBean.class, "pk", grouping);
+			Map<Integer, List<TestBean>> map = transformer.from(Arrays.asList(testBean3, testBean1, testBean2, testBean3Again));
+			assertThat(map.size(), is(3));
+			assertThat(new ArrayList<Integer>(map.keySet()), is(Arrays.asList(3, 1, 2)));
+			assertThat(map.get(3), is(instanceOf(ArrayList.class)));
+			assertThat(map.get(3), is(Arrays.asList(testBean3, testBean3Again)));
+			assertThat(map.get(1), is(Arrays.asList(testBean1)));
+			assertThat(map.get(2), is(Arrays.asList(testBean2)));
+		}
+	}
+
+	@Test
+	public void shouldGroupNullPropertyValues() {
+		TestBean nullNamed = new TestBean(4, null);
+		for (Grouping grouping : Grouping.values()) {
+			Map<String, List<TestBean>> map = Expressive.Transformers.<TestBean, String> toBeanLookup("named", grouping).from(Arrays.asList(nullNamed, testBean1, nullNamed));
+			assertThat(map.get(null), is(Arrays.asList(nullNamed, nullNamed)));
+			assertThat(map.get("one"), is(Arrays.asList(testBean1)));
+		}
+	}
+
+	@Test
+	public void shouldReturnEmptyMapForNullAndEmptyInputWhenCounting() {
+		BeanPropertyLookupTransformer<TestBean, String> transformer = new BeanPropertyLookupTransformer<TestBean, String>("named", Grouping.Counted);
+		assertThat(transformer.from(null).isEmpty(), is(true));
+		assertThat(transformer.from(Collections.<TestBean> emptyList()).isEmpty(), is(true));
+	}
 }
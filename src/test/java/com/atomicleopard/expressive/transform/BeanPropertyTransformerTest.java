@@ -27,6 +27,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.atomicleopard.expressive.IntrospectionCache;
+
 public class BeanPropertyTransformerTest {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
@@ -78,4 +80,72 @@ public class BeanPropertyTransformerTest {
 		thrown.expectMessage("There is no accessible property named 'somethingElse'");
 		new BeanPropertyTransformer<TestBean, Integer>(TestBean.class, "somethingElse");
 	}
+
+	@Test
+	public void shouldOnlyLookUpThePropertyOnceForRepeatedTransformationsOfTheSameType() {
+		BeanPropertyTransformer<TestBean, String> propertyTransformer = new BeanPropertyTransformer<TestBean, String>("named");
+		long lookups = IntrospectionCache.getHitCount() + IntrospectionCache.getMissCount();
+		for (int i = 0; i < 10; i++) {
+			assertThat(propertyTransformer.from(new TestBean(i, "name" + i)), is("name" + i));
+		}
+		assertThat(IntrospectionCache.getHitCount() + IntrospectionCache.getMissCount(), is(lookups + 1));
+	}
+
+	@Test
+	public void shouldTransformToPropertyValueForDifferentTypesWhenClassIsDeterminedOnTheFly() {
+		BeanPropertyTransformer<Object, String> propertyTransformer = new BeanPropertyTransformer<Object, String>("named");
+		for (int i = 0; i < 2; i++) {
+			assertThat(propertyTransformer.from(new TestBean(1, "one")), is("one"));
+			assertThat(propertyTransformer.from(new Named("a")), is("a"));
+			assertThat(propertyTransformer.from(new OtherNamed("b")), is("b:other"));
+			assertThat(propertyTransformer.from(new ThirdNamed("c")), is("c:third"));
+			assertThat(propertyTransformer.from(new FourthNamed("d")), is("d:fourth"));
+			assertThat(propertyTransformer.from(new Named("e")), is("e"));
+		}
+	}
+
+	public static class Named {
+		private String named;
+
+		public Named(String named) {
+			this.named = named;
+		}
+
+		public String getNamed() {
+			return named;
+		}
+	}
+
+	public static class OtherNamed extends Named {
+		public OtherNamed(String named) {
+			super(named);
+		}
+
+		@Override
+		public String getNamed() {
+			return super.getNamed() + ":other";
+		}
+	}
+
+	public static class ThirdNamed extends Named {
+		public ThirdNamed(String named) {
+			super(named);
+		}
+
+		@Override
+		public String getNamed() {
+			return super.getNamed() + ":third";
+		}
+	}
+
+	public static class FourthNamed extends Named {
+		public FourthNamed(String named) {
+			super(named);
+		}
+
+		@Override
+		public String getNamed() {
+			return super.getNamed() + ":fourth";
+		}
+	}
 }
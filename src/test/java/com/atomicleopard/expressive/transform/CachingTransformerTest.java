@@ -0,0 +1,196 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.transform.CachingTransformer.Policy;
+
+public class CachingTransformerTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private AtomicInteger invocations;
+	private ETransformer<Integer, String> counting;
+
+	@Before
+	public void before() {
+		invocations = new AtomicInteger();
+		counting = new ETransformer<Integer, String>() {
+			public String from(Integer in) {
+				invocations.incrementAndGet();
+				return in == null || in < 0 ? null : "v" + in;
+			}
+		};
+	}
+
+	@Test
+	public void shouldCacheResults() {
+		CachingTransformer<Integer, String> cached = Expressive.Transformers.cached(counting, 10, Policy.LRU);
+		assertThat(cached.from(1), is("v1"));
+		assertThat(cached.from(1), is("v1"));
+		assertThat(cached.from(2), is("v2"));
+		assertThat(invocations.get(), is(2));
+		assertThat(cached.getHitCount(), is(1L));
+		assertThat(cached.getMissCount(), is(2L));
+		assertThat(cached.getEvictionCount(), is(0L));
+		assertThat(cached.size(), is(2));
+	}
+
+	@Test
+	public void shouldCacheNullValuesAndResults() {
+		CachingTransformer<Integer, String> cached = Expressive.Transformers.cached(counting, 10, Policy.LFU);
+		assertThat(cached.from(null), is(nullValue()));
+		assertThat(cached.from(null), is(nullValue()));
+		assertThat(cached.from(-1), is(nullValue()));
+		assertThat(cached.from(-1), is(nullValue()));
+		assertThat(invocations.get(), is(2));
+		assertThat(cached.getHitCount(), is(2L));
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsed() {
+		CachingTransformer<Integer, String> cached = new CachingTransformer<Integer, String>(counting, 3, Policy.LRU);
+		cached.from(1);
+		cached.from(2);
+		cached.from(3);
+		cached.from(1);
+		cached.from(4); // evicts 2
+		assertThat(cached.getEvictionCount(), is(1L));
+		assertThat(cached.size(), is(3));
+		invocations.set(0);
+		cached.from(1);
+		cached.from(3);
+		cached.from(4);
+		assertThat(invocations.get(), is(0));
+		cached.from(2);
+		assertThat(invocations.get(), is(1));
+	}
+
+	@Test
+	public void shouldEvictLeastFrequentlyUsed() {
+		CachingTransformer<Integer, String> cached = new CachingTransformer<Integer, String>(counting, 3, Policy.LFU);
+		cached.from(1);
+		cached.from(1);
+		cached.from(1);
+		cached.from(2);
+		cached.from(2);
+		cached.from(3);
+		cached.from(4); // evicts 3, the only value used once
+		cached.from(5); // evicts 4
+		assertThat(cached.getEvictionCount(), is(2L));
+		assertThat(cached.size(), is(3));
+		invocations.set(0);
+		cached.from(1);
+		cached.from(2);
+		cached.from(5);
+		assertThat(invocations.get(), is(0));
+		cached.from(3);
+		assertThat(invocations.get(), is(1));
+	}
+
+	@Test
+	public void shouldNeverExceedMaximumSize() {
+		for (Policy policy : Policy.values()) {
+			CachingTransformer<Integer, String> cached = new CachingTransformer<Integer, String>(counting, 1000, policy);
+			for (int i = 0; i < 5000; i++) {
+				assertThat(cached.from(i % 2500), is("v" + (i % 2500)));
+			}
+			assertThat(cached.size(), is(1000));
+			assertThat(cached.getEvictionCount(), is(cached.getMissCount() - 1000));
+			cached.clear();
+			assertThat(cached.size(), is(0));
+		}
+	}
+
+	@Test
+	public void shouldRecomputeWeaklyHeldValuesWhichHaveBeenCollected() {
+		ETransformer<Integer, Object> creating = new ETransformer<Integer, Object>() {
+			public Object from(Integer in) {
+				invocations.incrementAndGet();
+				return new Object();
+			}
+		};
+		CachingTransformer<Integer, Object> cached = Expressive.Transformers.cached(creating, 10, Policy.LRU, true);
+		assertThat(cached.isWeakValues(), is(true));
+		Object value = cached.from(1);
+		assertThat(cached.from(1), is(sameInstance(value)));
+		assertThat(invocations.get(), is(1));
+		value = null;
+		for (int i = 0; i < 10 && invocations.get() == 1; i++) {
+			System.gc();
+			cached.from(1);
+		}
+		assertThat(invocations.get(), is(2));
+	}
+
+	@Test
+	public void shouldBeSafeForConcurrentUse() throws InterruptedException {
+		final CachingTransformer<Integer, String> cached = new CachingTransformer<Integer, String>(counting, 100, Policy.LFU);
+		final List<Throwable> failures = new ArrayList<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			Thread thread = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < 10000; i++) {
+							if (!("v" + (i % 150)).equals(cached.from(i % 150))) {
+								throw new AssertionError("Incorrect value for " + i);
+							}
+						}
+					} catch (Throwable e) {
+						synchronized (failures) {
+							failures.add(e);
+						}
+					}
+				}
+			};
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(failures.isEmpty(), is(true));
+		assertThat(cached.size(), is(lessThanOrEqualTo(100)));
+		assertThat(cached.getHitCount() + cached.getMissCount(), is(40000L));
+	}
+
+	@Test
+	public void shouldRejectMaximumSizeLessThanOne() {
+		thrown.expect(IllegalArgumentException.class);
+		thrown.expectMessage("must be at least 1, but was 0");
+		new CachingTransformer<Integer, String>(counting, 0, Policy.LRU);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.collection.CompositeIndex;
+
+public class CompositeBeanLookupTransformerTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+	private TestBean testBean1 = new TestBean(1, "one");
+	private TestBean testBean2 = new TestBean(2, "one");
+	private TestBean testBean3 = new TestBean(1, "two");
+	private TestBean testBean1Again = new TestBean(1, "one");
+
+	@Test
+	public void shouldReturnEmptyIndexForNullAndEmptyInput() {
+		CompositeKeyBeanLookupTransformer<TestBean> keyTransformer = new CompositeKeyBeanLookupTransformer<TestBean>("pk", "named");
+		CompositeBeanLookupTransformer<TestBean> transformer = new CompositeBeanLookupTransformer<TestBean>("pk", "named");
+		assertThat(keyTransformer.from(null).isEmpty(), is(true));
+		assertThat(keyTransformer.from(Collections.<TestBean> emptyList()).isEmpty(), is(true));
+		assertThat(transformer.from(null).isEmpty(), is(true));
+		assertThat(transformer.from(Collections.<TestBean> emptyList()).arity(), is(2));
+	}
+
+	@Test
+	public void shouldCreateKeyLookupFromPropertyValues() {
+		CompositeIndex<TestBean> index = new CompositeKeyBeanLookupTransformer<TestBean>("pk", "named").from(Arrays.asList(testBean1, testBean2, testBean3, testBean1Again));
+
+		assertThat(index.get(1, "one"), is(sameInstance(testBean1Again)));
+		assertThat(index.get(2, "one"), is(sameInstance(testBean2)));
+		assertThat(index.get(1, "two"), is(sameInstance(testBean3)));
+		assertThat(index.get(2, "two"), is(nullValue()));
+		assertThat(index.size(), is(3));
+	}
+
+	@Test
+	public void shouldCreateGroupedLookupFromPropertyValuesRetainingOrder() {
+		CompositeIndex<List<TestBean>> index = new CompositeBeanLookupTransformer<TestBean>(TestBean.class, "named", "pk").from(Arrays.asList(testBean1, testBean2, testBean3,
+				testBean1Again));
+
+		assertThat(index.get("one", 1), is(Arrays.asList(testBean1, testBean1Again)));
+		assertThat(index.get("one", 2), is(Arrays.asList(testBean2)));
+		assertThat(index.get("two", 1), is(Arrays.asList(testBean3)));
+		assertThat(index.values().size(), is(3));
+		assertThat(index.values().get(0).get(0), is(sameInstance(testBean1)));
+		assertThat(index.values().get(2).get(0), is(sameInstance(testBean3)));
+	}
+
+	@Test
+	public void shouldFailWhenPropertyCannotBeRead() {
+		thrown.expect(RuntimeException.class);
+		thrown.expectMessage("Failed to transform a Collection to a lookup CompositeIndex using properties [pk, anException]");
+		new CompositeKeyBeanLookupTransformer<TestBean>("pk", "anException").from(Arrays.asList(testBean1));
+	}
+
+	@Test
+	public void shouldFailWhenNoPropertyNamesAreGiven() {
+		thrown.expect(IllegalArgumentException.class);
+		new CompositeBeanLookupTransformer<TestBean>();
+	}
+}
@@ -23,8 +23,14 @@ package com.atomicleopard.expressive.transform;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+
 public class EnumFromStringTransformerTest {
 
 	@Test
@@ -37,8 +43,55 @@ public class EnumFromStringTransformerTest {
 		assertThat(transformer.from("junk"), is(nullValue()));
 	}
 
+	@Test
+	public void shouldConvertIgnoringCase() {
+		EnumFromStringTransformer<TestEnum> transformer = new EnumFromStringTransformer<TestEnum>(TestEnum.class, true);
+		assertThat(transformer.from("TestVal1"), is(TestEnum.TestVal1));
+		assertThat(transformer.from("testval2"), is(TestEnum.TestVal2));
+		assertThat(transformer.from("TESTVAL2"), is(TestEnum.TestVal2));
+		assertThat(transformer.from(null), is(nullValue()));
+		assertThat(transformer.from("junk"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldPreferExactMatchesWhenIgnoringCase() {
+		EnumFromStringTransformer<CaseEnum> transformer = new EnumFromStringTransformer<CaseEnum>(CaseEnum.class, true);
+		assertThat(transformer.from("value"), is(CaseEnum.value));
+		assertThat(transformer.from("Value"), is(CaseEnum.Value));
+		assertThat(transformer.from("VALUE"), is(CaseEnum.value));
+	}
+
+	@Test
+	public void shouldConvertAliases() {
+		Map<String, TestEnum> aliases = Expressive.map("one", TestEnum.TestVal1, "two", TestEnum.TestVal2, "TestVal2", TestEnum.TestVal1);
+		EnumFromStringTransformer<TestEnum> transformer = new EnumFromStringTransformer<TestEnum>(TestEnum.class, false, aliases);
+		assertThat(transformer.from("one"), is(TestEnum.TestVal1));
+		assertThat(transformer.from("two"), is(TestEnum.TestVal2));
+		assertThat(transformer.from("TWO"), is(nullValue()));
+		assertThat(transformer.from("TestVal2"), is(TestEnum.TestVal2));
+
+		ETransformer<String, TestEnum> ignoringCase = Expressive.Transformers.toEnum(TestEnum.class, true, aliases);
+		assertThat(ignoringCase.from("TWO"), is(TestEnum.TestVal2));
+		assertThat(ignoringCase.from("testval1"), is(TestEnum.TestVal1));
+	}
+
+	@Test
+	public void shouldConvertEnumsWithManyConstants() {
+		EnumFromStringTransformer<TimeUnit> transformer = new EnumFromStringTransformer<TimeUnit>(TimeUnit.class, true);
+		for (TimeUnit unit : TimeUnit.values()) {
+			assertThat(transformer.from(unit.name()), is(unit));
+			assertThat(transformer.from(unit.name().toLowerCase()), is(unit));
+			assertThat(transformer.from(unit.name() + "S"), is(nullValue()));
+		}
+	}
+
 	public static enum TestEnum {
 		TestVal1,
 		TestVal2;
 	}
+
+	public static enum CaseEnum {
+		value,
+		Value;
+	}
 }
@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.atomicleopard.expressive.EList;
+import com.atomicleopard.expressive.ETransformer;
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.ParallelUtil;
+
+public class ParallelCollectionTransformerTest {
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private ETransformer<Integer, String> simpleTransformer;
+
+	@Before
+	public void before() {
+		simpleTransformer = new ETransformer<Integer, String>() {
+			public String from(Integer in) {
+				return in == null ? null : in.toString();
+			}
+		};
+	}
+
+	@Test
+	public void shouldTransformSmallInputs() {
+		ParallelCollectionTransformer<Integer, String> transformer = new ParallelCollectionTransformer<Integer, String>(simpleTransformer);
+		assertThat(transformer.from(1, 1, 2, null), is(Expressive.list("1", "1", "2", null)));
+		assertThat(transformer.from((Iterable<Integer>) null).isEmpty(), is(true));
+	}
+
+	@Test
+	public void shouldTransformLargeInputsPreservingOrder() {
+		List<Integer> input = numbers(ParallelUtil.SequentialThreshold * 4 + 1);
+		EList<String> expected = new CollectionTransformer<Integer, String>(simpleTransformer).from(input);
+		assertThat(new ParallelCollectionTransformer<Integer, String>(simpleTransformer).from(input), is(expected));
+		assertThat(new ParallelCollectionTransformer<Integer, String>(simpleTransformer).from(new LinkedList<Integer>(input)), is(expected));
+	}
+
+	@Test
+	public void shouldReturnAModifiableListForLargeInputs() {
+		EList<String> result = new ParallelCollectionTransformer<Integer, String>(simpleTransformer).from(numbers(ParallelUtil.SequentialThreshold + 1));
+		result.addItems("extra");
+		assertThat(result.last(), is("extra"));
+	}
+
+	@Test
+	public void shouldTransformUsingTheGivenExecutor() {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<Integer> input = numbers(ParallelUtil.SequentialThreshold * 2);
+			CollectionTransformer<Integer, String> transformer = Expressive.Transformers.transformAllInParallelUsing(simpleTransformer, executor);
+			assertThat(transformer.from(input), is(new CollectionTransformer<Integer, String>(simpleTransformer).from(input)));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldPropagateFailureFromTransformer() {
+		thrown.expect(IllegalStateException.class);
+		thrown.expectMessage("Cannot transform 30000");
+		ETransformer<Integer, String> failing = new ETransformer<Integer, String>() {
+			public String from(Integer in) {
+				if (in == 30000) {
+					throw new IllegalStateException("Cannot transform " + in);
+				}
+				return in.toString();
+			}
+		};
+		Expressive.Transformers.transformAllInParallelUsing(failing).from(numbers(ParallelUtil.SequentialThreshold * 4));
+	}
+
+	private List<Integer> numbers(int size) {
+		List<Integer> numbers = new ArrayList<Integer>(size);
+		for (int i = 0; i < size; i++) {
+			numbers.add(i);
+		}
+		return numbers;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2012 Nicholas Okunew
+ *  All rights reserved.
+ *  
+ *  This file is part of the com.atomicleopard.expressive library
+ *  
+ *  The com.atomicleopard.expressive library is free software: you 
+ *  can redistribute it and/or modify it under the terms of the GNU
+ *  Lesser General Public License as published by the Free Software Foundation, 
+ *  either version 3 of the License, or (at your option) any later version.
+ *  
+ *  The com.atomicleopard.expressive library is distributed in the hope
+ *  that it will be useful, but WITHOUT ANY WARRANTY; without even
+ *  the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ *  See the GNU Lesser General Public License for more details.
+ *  
+ *  You should have received a copy of the GNU Lesser General Public License
+ *  along with the com.atomicleopard.expressive library.  If not, see 
+ *  http://www.gnu.org/licenses/lgpl-3.0.html.
+ */
+package com.atomicleopard.expressive.transform;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.atomicleopard.expressive.Expressive;
+import com.atomicleopard.expressive.transform.EnumFromStringTransformerTest.TestEnum;
+
+public class StringLookupTableTest {
+	@Test
+	public void shouldLookUpExactKeys() {
+		Map<String, Integer> entries = Expressive.map("a", 1, "B", 2, "b", 3);
+		StringLookupTable<Integer> table = new StringLookupTable<Integer>(entries, false);
+		assertThat(table.get("a"), is(1));
+		assertThat(table.get("B"), is(2));
+		assertThat(table.get("b"), is(3));
+		assertThat(table.get("A"), is(nullValue()));
+		assertThat(table.get(""), is(nullValue()));
+	}
+
+	@Test
+	public void shouldLookUpKeysIgnoringCaseWithFirstKeyTakingPrecedence() {
+		Map<String, Integer> entries = new LinkedHashMap<String, Integer>();
+		entries.put("a", 1);
+		entries.put("B", 2);
+		entries.put("b", 3);
+		StringLookupTable<Integer> table = new StringLookupTable<Integer>(entries, true);
+		assertThat(table.get("A"), is(1));
+		assertThat(table.get("b"), is(2));
+		assertThat(table.get("c"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldLookUpInEmptyTable() {
+		assertThat(new StringLookupTable<Integer>(Expressive.<String, Integer> map(), true).get("a"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldShareEnumTablesForEachType() {
+		StringLookupTable<TestEnum>[] tables = StringLookupTable.forEnum(TestEnum.class);
+		assertThat(StringLookupTable.forEnum(TestEnum.class), is(sameInstance(tables)));
+		assertThat(tables[0].get("TestVal1"), is(TestEnum.TestVal1));
+		assertThat(tables[0].get("testval1"), is(nullValue()));
+		assertThat(tables[1].get("testval1"), is(TestEnum.TestVal1));
+	}
+}